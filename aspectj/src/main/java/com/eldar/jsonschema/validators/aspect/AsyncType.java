@@ -0,0 +1,28 @@
+package com.eldar.jsonschema.validators.aspect;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Return types the aspect validates off the calling thread. Reactor types are matched by name,
+ * so that reactor stays an optional dependency.
+ */
+enum AsyncType {
+    NONE,
+    FUTURE,
+    MONO,
+    FLUX;
+
+    static AsyncType of(Class<?> returnType) {
+        if (returnType == CompletableFuture.class || returnType == CompletionStage.class) {
+            return FUTURE;
+        }
+        if (returnType.getName().equals("reactor.core.publisher.Mono")) {
+            return MONO;
+        }
+        if (returnType.getName().equals("reactor.core.publisher.Flux")) {
+            return FLUX;
+        }
+        return NONE;
+    }
+}
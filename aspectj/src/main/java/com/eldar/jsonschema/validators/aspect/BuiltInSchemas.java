@@ -0,0 +1,21 @@
+package com.eldar.jsonschema.validators.aspect;
+
+import com.eldar.jsonschema.validators.SchemaHandle;
+import com.eldar.jsonschema.validators.SchemaOptions;
+import com.eldar.jsonschema.validators.ValidatorService;
+
+import static com.eldar.jsonschema.ValidationSchema.*;
+
+/**
+ * The schemas {@code @ValidatedMethod} checks arguments against, loaded with the options of the annotation.
+ */
+record BuiltInSchemas(SchemaHandle notNull, SchemaHandle nonEmptyString, SchemaHandle nonEmptyArray,
+                      SchemaHandle nonEmptyObject) {
+
+    static BuiltInSchemas of(ValidatorService validatorService, SchemaOptions options) {
+        return new BuiltInSchemas(validatorService.getSchema(NOT_NULL, options),
+                validatorService.getSchema(NON_EMPTY_STRING, options),
+                validatorService.getSchema(NON_EMPTY_ARRAY, options),
+                validatorService.getSchema(NON_EMPTY_OBJECT, options));
+    }
+}
@@ -0,0 +1,27 @@
+package com.eldar.jsonschema.validators.aspect;
+
+import com.eldar.jsonschema.validators.SchemaHandle;
+import com.eldar.jsonschema.validators.overload.OverloadController;
+import com.eldar.jsonschema.validators.overload.TierSwitch;
+
+import java.lang.reflect.Method;
+
+/**
+ * What the aspect checks a method against while its {@link TierSwitch} is below
+ * {@link com.eldar.jsonschema.validators.overload.ValidationTier#FULL}. A null argument is still checked
+ * against the full parameter schema, which rejects it at no more cost than a null check.
+ *
+ * @param structural the {@link OverloadController#structural} part of each parameter schema, before any
+ *                   {@code @ValidatedMethod} check was folded into it, or null when it has none
+ */
+record DegradedChecks(TierSwitch tierSwitch, SchemaHandle[] structural) {
+
+    static DegradedChecks of(OverloadController controller, Method method,
+                             SchemaHandle[] paramSchemas) {
+        SchemaHandle[] structural = new SchemaHandle[paramSchemas.length];
+        for (int i = 0; i < paramSchemas.length; i++) {
+            structural[i] = controller.structural(paramSchemas[i]);
+        }
+        return new DegradedChecks(controller.switchFor(method), structural);
+    }
+}
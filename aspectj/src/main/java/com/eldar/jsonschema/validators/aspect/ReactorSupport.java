@@ -0,0 +1,78 @@
+package com.eldar.jsonschema.validators.aspect;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Validation for methods returning {@link Mono} or {@link Flux}. Only loaded once a validated
+ * method is known to return one of them, so reactor stays optional.
+ */
+final class ReactorSupport {
+
+    private ReactorSupport() {
+    }
+
+    /**
+     * On subscription, validate on the executor, then subscribe to what the method returns.
+     *
+     * @param args       the arguments to proceed with, or null for the original ones
+     * @param validation returns the first rejected argument, or null
+     * @param rejected   the error to signal for a rejection, or null to complete empty
+     */
+    static Object validateThenProceed(AsyncType type, Executor executor, ProceedingJoinPoint joinPoint, Object[] args,
+                                      Supplier<Rejection> validation, Function<Rejection, Throwable> rejected) {
+        Mono<Optional<Rejection>> checked = Mono.fromSupplier(() -> Optional.ofNullable(validation.get()))
+                .subscribeOn(Schedulers.fromExecutor(executor));
+        if (type == AsyncType.MONO) {
+            return checked.flatMap(rejection -> rejection.isPresent()
+                    ? errorOrEmpty(rejected.apply(rejection.get()))
+                    : Mono.from(proceed(joinPoint, args)));
+        }
+        return checked.flatMapMany(rejection -> rejection.isPresent()
+                ? errorOrEmpty(rejected.apply(rejection.get()))
+                : Flux.from(proceed(joinPoint, args)));
+    }
+
+    private static Mono<Object> errorOrEmpty(Throwable error) {
+        return error == null ? Mono.empty() : Mono.error(error);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Publisher<Object> proceed(ProceedingJoinPoint joinPoint, Object[] args) {
+        try {
+            Object result = args == null ? joinPoint.proceed() : joinPoint.proceed(args);
+            return result == null ? Mono.empty() : (Publisher<Object>) result;
+        } catch (Throwable e) {
+            return Mono.error(e);
+        }
+    }
+    /**
+     * Validate the value of a {@link Mono}, or each element of a {@link Flux}, on the executor when
+     * {@code sample} selects it.
+     *
+     * @param check returns the value, or throws when it is rejected
+     */
+    @SuppressWarnings("unchecked")
+    static Object validateEach(AsyncType type, Object publisher, Executor executor, BooleanSupplier sample,
+                               UnaryOperator<Object> check) {
+        Scheduler scheduler = Schedulers.fromExecutor(executor);
+        Function<Object, Mono<Object>> checked = value -> sample.getAsBoolean()
+                ? Mono.fromCallable(() -> check.apply(value)).subscribeOn(scheduler)
+                : Mono.just(value);
+        if (type == AsyncType.MONO) {
+            return ((Mono<Object>) publisher).flatMap(checked);
+        }
+        return ((Flux<Object>) publisher).concatMap(checked);
+    }
+}
@@ -0,0 +1,27 @@
+package com.eldar.jsonschema.validators.aspect;
+
+import com.eldar.jsonschema.validators.registry.SchemaRegistry;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A method listed in a generated {@link SchemaRegistry}, with the registry holding its schemas.
+ */
+record RegisteredMethod(SchemaRegistry registry, SchemaRegistry.MethodEntry entry) {
+
+    static Map<String, RegisteredMethod> index(List<SchemaRegistry> registries) {
+        Map<String, RegisteredMethod> methods = new HashMap<>();
+        for (SchemaRegistry registry : registries) {
+            for (SchemaRegistry.MethodEntry entry : registry.methods()) {
+                methods.put(entry.methodKey(), new RegisteredMethod(registry, entry));
+            }
+        }
+        return methods;
+    }
+
+    String schema(int param) {
+        return registry.schemas().get(entry.schemaIndexes()[param]);
+    }
+}
@@ -0,0 +1,7 @@
+package com.eldar.jsonschema.validators.aspect;
+
+/**
+ * An argument that failed validation, and whether its annotation asks for the failure to be rethrown.
+ */
+record Rejection(Exception failure, boolean rethrow) {
+}
@@ -0,0 +1,79 @@
+package com.eldar.jsonschema.validators.aspect;
+
+import com.eldar.jsonschema.exception.LoadingFailedException;
+import com.eldar.jsonschema.validators.PerSecondBudget;
+import com.eldar.jsonschema.validators.SchemaHandle;
+import com.eldar.jsonschema.validators.ValidatorService;
+import com.eldar.jsonschema.validators.annotations.ValidatedReturn;
+import lombok.Getter;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code @ValidatedReturn} of a method: its schema, which calls to sample and what was seen so far.
+ */
+final class ReturnCheck {
+
+    @Getter
+    private final SchemaHandle schema;
+    /**
+     * The failure to load {@link #schema}, reported as a failed validation of every sampled value, or null.
+     */
+    @Getter
+    private final LoadingFailedException loadFailure;
+    @Getter
+    private final boolean throwException;
+    private final int sampleEvery;
+    private final PerSecondBudget budget;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder sampled = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private ReturnCheck(SchemaHandle schema, LoadingFailedException loadFailure, ValidatedReturn annotation) {
+        this.schema = schema;
+        this.loadFailure = loadFailure;
+        this.throwException = annotation.throwException();
+        this.sampleEvery = Math.max(1, annotation.sampleEvery());
+        this.budget = annotation.maxPerSecond() > 0 ? new PerSecondBudget(annotation.maxPerSecond()) : null;
+    }
+
+    /**
+     * @return the check of the method, or null when its return value is not validated
+     */
+    static ReturnCheck of(Method method, ValidatorService validatorService) {
+        ValidatedReturn annotation = method.getAnnotation(ValidatedReturn.class);
+        if (annotation == null) {
+            return null;
+        }
+        try {
+            return new ReturnCheck(validatorService.getSchema(annotation.value()), null, annotation);
+        } catch (LoadingFailedException e) {
+            return new ReturnCheck(null, e, annotation);
+        }
+    }
+
+    /**
+     * Count a returned value and decide whether to validate it.
+     */
+    boolean sample() {
+        calls.increment();
+        if (sampleEvery > 1 && ThreadLocalRandom.current().nextInt(sampleEvery) != 0) {
+            return false;
+        }
+        if (budget != null && !budget.tryAcquire()) {
+            return false;
+        }
+        sampled.increment();
+        return true;
+    }
+
+    void failed() {
+        failed.increment();
+    }
+
+    ReturnValidationStats stats() {
+        return new ReturnValidationStats(calls.sum(), sampled.sum(), failed.sum());
+    }
+}
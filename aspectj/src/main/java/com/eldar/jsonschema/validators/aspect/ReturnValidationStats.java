@@ -0,0 +1,11 @@
+package com.eldar.jsonschema.validators.aspect;
+
+/**
+ * Counters of a {@code @ValidatedReturn} method, cumulative since its first call.
+ *
+ * @param calls   values returned
+ * @param sampled values validated
+ * @param failed  validated values that did not match
+ */
+public record ReturnValidationStats(long calls, long sampled, long failed) {
+}
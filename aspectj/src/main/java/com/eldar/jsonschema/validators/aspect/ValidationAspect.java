@@ -0,0 +1,439 @@
+package com.eldar.jsonschema.validators.aspect;
+
+
+import com.eldar.jsonschema.exception.UnProcessableObject;
+import com.eldar.jsonschema.validators.SchemaHandle;
+import com.eldar.jsonschema.validators.SchemaOptions;
+import com.eldar.jsonschema.validators.ValidationFailureLog;
+import com.eldar.jsonschema.validators.ValidatorService;
+import com.eldar.jsonschema.validators.annotations.ValidatedMethod;
+import com.eldar.jsonschema.validators.mode.ValidationModes;
+import com.eldar.jsonschema.validators.overload.OverloadController;
+import com.eldar.jsonschema.validators.overload.TierSwitch;
+import com.eldar.jsonschema.validators.overload.ValidationTier;
+import com.eldar.jsonschema.validators.registry.SchemaRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Validates the arguments and return values of annotated methods. Works as a Spring AOP aspect (see the
+ * {@code methodValidation-spring} module) and, woven by AspectJ at compile or load time, without Spring:
+ * the woven instance is {@code Aspects.aspectOf(ValidationAspect.class)}.
+ */
+@Aspect
+@Slf4j
+public class ValidationAspect {
+
+    private final ValidatorService validatorService;
+    private final Map<Method, ValidationPlan> plans = new ConcurrentHashMap<>();
+    /**
+     * Plans by woven join point; AspectJ passes the same static part on every call of a site.
+     */
+    private final Map<JoinPoint.StaticPart, ValidationPlan> sitePlans = new ConcurrentHashMap<>();
+    private final Map<String, RegisteredMethod> registeredMethods;
+    private final ValidationFailureLog failureLog =
+            new ValidationFailureLog(log, ValidationFailureLog.DEFAULT_PERMITS_PER_SECOND);
+    private final BuiltInSchemas defaultSchemas;
+    private Executor asyncExecutor = ForkJoinPool.commonPool();
+    private ValidationModes validationModes = new ValidationModes();
+    private OverloadController overloadController;
+
+    /**
+     * Used by AspectJ when the aspect is woven.
+     */
+    public ValidationAspect() {
+        this(new ValidatorService());
+    }
+
+    public ValidationAspect(ValidatorService validatorService) {
+        this.validatorService = validatorService;
+        this.defaultSchemas = BuiltInSchemas.of(validatorService, SchemaOptions.DEFAULT);
+        this.registeredMethods = RegisteredMethod.index(SchemaRegistry.loadAll(defaultClassLoader()));
+    }
+
+    /**
+     * Checks the arguments of a method annotated with {@code @ValidatedMethod} and of its {@code @ValidatedParam}
+     * parameters in one interception, see {@link ValidationPlan}.
+     */
+    @Around("execution(* *(..)) && (@annotation(com.eldar.jsonschema.validators.annotations.ValidatedMethod)"
+            + " || execution(* *(.., @com.eldar.jsonschema.validators.annotations.ValidatedParam (*), ..)))")
+    public Object validateArgs(ProceedingJoinPoint joinPoint) throws Throwable {
+        ValidationPlan plan = planFor(joinPoint);
+        if (!plan.getModeSwitch().shouldValidate()) {
+            return joinPoint.proceed();
+        }
+        Object[] args = joinPoint.getArgs();
+        if (plan.getAsyncType() != AsyncType.NONE) {
+            // the time queued for the executor counts against the overload budget
+            long submitted = System.nanoTime();
+            return validateAsync(plan, joinPoint, args, () -> checkArgs(plan, args, submitted));
+        }
+        long start = System.nanoTime();
+        Rejection rejection = checkArgs(plan, args, start);
+        if (rejection != null) {
+            return defaultValueOrThrow(plan, rejection.rethrow(), rejection.failure());
+        }
+        validatorService.getMetrics().methodValidated(plan.getMethodKey(), System.nanoTime() - start);
+        return plan.isRebindsArgs() ? joinPoint.proceed(args) : joinPoint.proceed();
+    }
+
+    @Around("execution(* *(..)) && @annotation(com.eldar.jsonschema.validators.annotations.ValidatedReturn)")
+    public Object validateReturn(ProceedingJoinPoint joinPoint) throws Throwable {
+        ValidationPlan plan = planFor(joinPoint);
+        ReturnCheck check = plan.getReturnCheck();
+        Object result = joinPoint.proceed();
+        if (check == null || result == null && plan.getAsyncType() != AsyncType.NONE) {
+            return result;
+        }
+        switch (plan.getAsyncType()) {
+            case NONE:
+                return check.sample() ? checkReturn(plan, check, result) : result;
+            case FUTURE:
+                if (!check.sample()) {
+                    return result;
+                }
+                return ((CompletionStage<?>) result).toCompletableFuture()
+                        .thenApplyAsync(value -> checkReturn(plan, check, value), asyncExecutor);
+            default:
+                return ReactorSupport.validateEach(plan.getAsyncType(), result, asyncExecutor, check::sample,
+                        value -> checkReturn(plan, check, value));
+        }
+    }
+
+    /**
+     * Counters of every {@code @ValidatedReturn} method called so far, by {@link SchemaRegistry#methodKey(Method)}.
+     */
+    public Map<String, ReturnValidationStats> getReturnValidationStats() {
+        Map<String, ReturnValidationStats> stats = new TreeMap<>();
+        plans.forEach((method, plan) -> {
+            if (plan.getReturnCheck() != null) {
+                stats.put(SchemaRegistry.methodKey(method), plan.getReturnCheck().stats());
+            }
+        });
+        return stats;
+    }
+
+    /**
+     * Executor validating the arguments of methods returning a {@link CompletableFuture}, {@code Mono} or
+     * {@code Flux}, so that the calling (possibly event loop) thread never runs a schema. Defaults to the
+     * common fork-join pool; a virtual thread executor for instance can replace it. Also splits the collections
+     * of {@code @ValidatedParam(streamItems = true, parallelAbove = N)} parameters.
+     */
+    public void setAsyncExecutor(Executor asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+        plans.clear();
+        sitePlans.clear();
+    }
+
+    /**
+     * Runtime modes (always, sampled, off) of the validated methods. Until set, every call is validated.
+     */
+    public void setValidationModes(ValidationModes validationModes) {
+        this.validationModes = validationModes;
+        plans.clear();
+        sitePlans.clear();
+    }
+
+    /**
+     * Lowers the validation of methods exceeding a latency budget to cheaper checks, see
+     * {@link OverloadController}. Until set, every call is fully validated.
+     */
+    public void setOverloadController(OverloadController overloadController) {
+        this.overloadController = overloadController;
+        plans.clear();
+        sitePlans.clear();
+    }
+
+    /**
+     * Build the validation plan of a method ahead of its first call, resolving every schema it uses.
+     *
+     * @throws com.eldar.jsonschema.exception.LoadingFailedException if one of the schemas is invalid
+     */
+    public void prepare(Method method) {
+        ValidationPlan plan = planFor(method);
+        if (plan.getLoadFailure() != null) {
+            throw (RuntimeException) plan.getLoadFailure().failure();
+        }
+        if (plan.getReturnCheck() != null && plan.getReturnCheck().getLoadFailure() != null) {
+            throw plan.getReturnCheck().getLoadFailure();
+        }
+    }
+
+    private ValidationPlan planFor(JoinPoint joinPoint) {
+        JoinPoint.StaticPart site = joinPoint.getStaticPart();
+        if (site == null || site == joinPoint) {
+            // a Spring AOP invocation, which is its own static part
+            return planFor(((MethodSignature) joinPoint.getSignature()).getMethod());
+        }
+        ValidationPlan plan = sitePlans.get(site);
+        if (plan == null) {
+            plan = planFor(((MethodSignature) site.getSignature()).getMethod());
+            sitePlans.put(site, plan);
+        }
+        return plan;
+    }
+
+    private ValidationPlan planFor(Method method) {
+        ValidationPlan plan = plans.get(method);
+        if (plan == null) {
+            plan = plans.computeIfAbsent(method, key -> ValidationPlan.of(key, validatorService,
+                    registeredMethods.get(SchemaRegistry.methodKey(key)), validationModes.switchFor(key),
+                    defaultSchemas, asyncExecutor, overloadController));
+        }
+        return plan;
+    }
+
+    private static ClassLoader defaultClassLoader() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        return classLoader != null ? classLoader : ValidationAspect.class.getClassLoader();
+    }
+
+    private Object defaultValueOrThrow(ValidationPlan plan, boolean throwException, Exception e) throws Exception {
+        plan.getModeSwitch().failed();
+        validatorService.getMetrics().rejected(plan.getMethodKey(), throwException);
+        if (throwException) {
+            throw forCaller(e);
+        }
+        failureLog.failed(plan.getMethodName(), e);
+        return plan.getDefaultValue().get();
+    }
+
+    /**
+     * A stackless rejection is only cheap while the aspect handles it; the caller gets one with a stack trace.
+     */
+    private static Exception forCaller(Exception e) {
+        return e instanceof UnProcessableObject rejected ? rejected.withStackTrace() : e;
+    }
+
+    /**
+     * Validate on {@link #asyncExecutor} and only then invoke the method. A rejected argument ends in a
+     * failed future or error signal when its annotation rethrows, otherwise in an empty result.
+     */
+    private Object validateAsync(ValidationPlan plan, ProceedingJoinPoint joinPoint, Object[] args,
+                                 Supplier<Rejection> checks) {
+        Supplier<Rejection> validation = () -> {
+            long start = System.nanoTime();
+            Rejection rejection = checks.get();
+            if (rejection == null) {
+                validatorService.getMetrics().methodValidated(plan.getMethodKey(), System.nanoTime() - start);
+            }
+            return rejection;
+        };
+        Function<Rejection, Throwable> rejected = rejection -> {
+            plan.getModeSwitch().failed();
+            validatorService.getMetrics().rejected(plan.getMethodKey(), rejection.rethrow());
+            if (rejection.rethrow()) {
+                return forCaller(rejection.failure());
+            }
+            failureLog.failed(plan.getMethodName(), rejection.failure());
+            return null;
+        };
+        // the arguments a JSON check replaced, or null to proceed with the original ones
+        Object[] rebound = plan.isRebindsArgs() ? args : null;
+        if (plan.getAsyncType() != AsyncType.FUTURE) {
+            return ReactorSupport.validateThenProceed(plan.getAsyncType(), asyncExecutor, joinPoint, rebound,
+                    validation, rejected);
+        }
+        return CompletableFuture.supplyAsync(validation, asyncExecutor).thenCompose(rejection -> {
+            if (rejection == null) {
+                return proceedAsync(joinPoint, rebound);
+            }
+            Throwable error = rejected.apply(rejection);
+            return error == null ? CompletableFuture.completedFuture(null) : CompletableFuture.failedFuture(error);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CompletableFuture<Object> proceedAsync(ProceedingJoinPoint joinPoint, Object[] args) {
+        try {
+            Object result = args == null ? joinPoint.proceed() : joinPoint.proceed(args);
+            return result == null
+                    ? CompletableFuture.completedFuture(null)
+                    : ((CompletionStage<Object>) result).toCompletableFuture();
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private Object checkReturn(ValidationPlan plan, ReturnCheck check, Object value) {
+        try {
+            if (check.getLoadFailure() != null) {
+                throw check.getLoadFailure();
+            }
+            validatorService.validate(check.getSchema(), value);
+        } catch (RuntimeException e) {
+            check.failed();
+            if (check.isThrowException()) {
+                throw e;
+            }
+            failureLog.failed(plan.getMethodName(), e);
+        }
+        return value;
+    }
+
+    /**
+     * @param since when the validation was requested, for the {@link TierSwitch} of the method
+     */
+    private Rejection checkArgs(ValidationPlan plan, Object[] args, long since) {
+        DegradedChecks degraded = plan.getDegradedChecks();
+        if (degraded == null) {
+            return checkArgs(plan, args);
+        }
+        ValidationTier tier = degraded.tierSwitch().enter();
+        try {
+            return tier == ValidationTier.FULL ? checkArgs(plan, args) : checkDegraded(plan, degraded, tier, args);
+        } finally {
+            degraded.tierSwitch().exit(tier, System.nanoTime() - since);
+        }
+    }
+
+    /**
+     * The {@code @ValidatedMethod} checks come first, so that they decide whether a failure is rethrown.
+     */
+    private Rejection checkArgs(ValidationPlan plan, Object[] args) {
+        if (plan.getLoadFailure() != null) {
+            return plan.getLoadFailure();
+        }
+        if (args == null) {
+            // no args to validate
+            return null;
+        }
+        ValidatedMethod methodValidator = plan.getMethodAnnotation();
+        for (int index : plan.getMethodCheckIndexes()) {
+            try {
+                validateMethodArg(plan.getMethodSchemas(), methodValidator.allowEmpty(), methodValidator.allowNull(),
+                        args[index]);
+            } catch (Exception e) {
+                return new Rejection(e, methodValidator.throwException());
+            }
+        }
+        int[] paramIndexes = plan.getParamIndexes();
+        for (int i = 0; i < paramIndexes.length; i++) {
+            try {
+                if (plan.getJsonArgs()[i]) {
+                    args[paramIndexes[i]] = validatorService.validateJson(plan.getParamSchemas()[i],
+                            args[paramIndexes[i]]);
+                    continue;
+                }
+                validateParamAt(plan, i, args[paramIndexes[i]]);
+            } catch (Exception e) {
+                return paramRejection(plan, args, plan.getThrowExceptions()[i], e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Same as {@link #checkArgs(ValidationPlan, Object[])} at a lower tier: the {@code @ValidatedMethod}
+     * checks apply to every argument, since the structural schemas do not include them, and only to null
+     * arguments at {@link ValidationTier#NULL_CHECKS}.
+     */
+    private Rejection checkDegraded(ValidationPlan plan, DegradedChecks degraded, ValidationTier tier,
+                                    Object[] args) {
+        if (args == null) {
+            return null;
+        }
+        ValidatedMethod methodValidator = plan.getMethodAnnotation();
+        if (methodValidator != null && !(methodValidator.allowEmpty() && methodValidator.allowNull())) {
+            for (Object arg : args) {
+                if (arg == null || tier == ValidationTier.STRUCTURAL) {
+                    try {
+                        validateMethodArg(plan.getMethodSchemas(), methodValidator.allowEmpty(),
+                                methodValidator.allowNull(), arg);
+                    } catch (Exception e) {
+                        return new Rejection(e, methodValidator.throwException());
+                    }
+                }
+            }
+        }
+        int[] paramIndexes = plan.getParamIndexes();
+        for (int i = 0; i < paramIndexes.length; i++) {
+            Object arg = args[paramIndexes[i]];
+            SchemaHandle structural = degraded.structural()[i];
+            try {
+                if (arg == null) {
+                    validatorService.validate(plan.getParamSchemas()[i], null);
+                } else if (tier == ValidationTier.STRUCTURAL && structural != null) {
+                    if (plan.getJsonArgs()[i]) {
+                        args[paramIndexes[i]] = validatorService.validateJson(structural, arg);
+                    } else {
+                        validatorService.validate(structural, arg);
+                    }
+                }
+            } catch (Exception e) {
+                return paramRejection(plan, args, plan.getThrowExceptions()[i], e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A parameter schema rejected an argument. When the method check folded into one of the schemas fails too,
+     * the method annotation decides whether to rethrow.
+     */
+    private Rejection paramRejection(ValidationPlan plan, Object[] args, boolean rethrow, Exception e) {
+        ValidatedMethod methodValidator = plan.getMethodAnnotation();
+        if (methodValidator == null || methodValidator.throwException() == rethrow) {
+            return new Rejection(e, rethrow);
+        }
+        SchemaHandle[] methodChecks = plan.getMethodChecks();
+        for (int i = 0; i < methodChecks.length; i++) {
+            if (methodChecks[i] != null) {
+                try {
+                    validatorService.validate(methodChecks[i], args[plan.getParamIndexes()[i]]);
+                } catch (Exception methodFailure) {
+                    return new Rejection(methodFailure, methodValidator.throwException());
+                }
+            }
+        }
+        return new Rejection(e, rethrow);
+    }
+
+    private void validateParamAt(ValidationPlan plan, int i, Object param) {
+        if (plan.getCacheResults()[i]) {
+            validatorService.validateCached(plan.getParamSchemas()[i], param);
+        } else if (plan.getCollectionOptions()[i] != null) {
+            validatorService.validateCollection(plan.getParamSchemas()[i], param, plan.getCollectionOptions()[i]);
+        } else {
+            validatorService.validate(plan.getParamSchemas()[i], param);
+        }
+    }
+
+    private void validateMethodArg(BuiltInSchemas schemas, boolean isAllowEmpty, boolean isAllowNull, Object obj) {
+        if (!isAllowEmpty) {
+            validateEmptyObject(schemas, obj);
+        } else if (!isAllowNull) {
+            validatorService.validate(schemas.notNull(), obj);
+        }
+    }
+
+    private void validateEmptyObject(BuiltInSchemas schemas, Object obj) {
+        if (obj instanceof String) {
+            validatorService.validate(schemas.nonEmptyString(), obj);
+        } else if (obj instanceof List || obj instanceof Set || obj instanceof Object[]) {
+            validatorService.validate(schemas.nonEmptyArray(), obj);
+        } else if (obj instanceof Map) {
+            validatorService.validate(schemas.nonEmptyObject(), obj);
+        } else {
+            validatorService.validate(schemas.notNull(), obj);
+        }
+    }
+
+}
@@ -0,0 +1,336 @@
+package com.eldar.jsonschema.validators.aspect;
+
+import com.eldar.jsonschema.exception.LoadingFailedException;
+import com.eldar.jsonschema.validators.SchemaHandle;
+import com.eldar.jsonschema.validators.SchemaOptions;
+import com.eldar.jsonschema.validators.ValidatorService;
+import com.eldar.jsonschema.validators.annotations.ValidatedMethod;
+import com.eldar.jsonschema.validators.annotations.ValidatedParam;
+import com.eldar.jsonschema.validators.collection.CollectionOptions;
+import com.eldar.jsonschema.validators.mode.ModeSwitch;
+import com.eldar.jsonschema.validators.overload.OverloadController;
+import com.eldar.jsonschema.validators.providers.DefaultValueProvider;
+import com.eldar.jsonschema.validators.registry.SchemaRegistry;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Everything the aspect needs to know about a validated method, resolved once
+ * on first invocation so that the per-call path is a plain array walk.
+ * Methods listed in a generated {@link SchemaRegistry} are resolved from it instead of their annotations.
+ * <p>
+ * The {@code @ValidatedMethod} check of an argument which also has a {@code @ValidatedParam} schema is folded
+ * into that schema whenever the parameter type tells which check applies, so the argument is evaluated once.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+final class ValidationPlan {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final String methodName;
+    /**
+     * {@link SchemaRegistry#methodKey(Method)}, naming the method in metrics.
+     */
+    private final String methodKey;
+    private final ValidatedMethod methodAnnotation;
+    /**
+     * The schemas of {@link #methodAnnotation}, with its options, or null without one.
+     */
+    private final BuiltInSchemas methodSchemas;
+    /**
+     * Arguments {@link #methodAnnotation} is checked on by itself, ahead of the parameter schemas.
+     */
+    private final int[] methodCheckIndexes;
+    private final int[] paramIndexes;
+    private final SchemaHandle[] paramSchemas;
+    /**
+     * The {@link #methodAnnotation} check folded into each parameter schema, or null for none; only evaluated
+     * on its own to tell which annotation rejected an argument.
+     */
+    private final SchemaHandle[] methodChecks;
+    private final boolean[] throwExceptions;
+    private final boolean[] cacheResults;
+    /**
+     * How each {@code streamItems} parameter is validated element by element, or null.
+     */
+    private final CollectionOptions[] collectionOptions;
+    /**
+     * Whether each parameter is a raw JSON document, see {@link ValidatedParam#json()}.
+     */
+    private final boolean[] jsonArgs;
+    /**
+     * True when an argument may be replaced before the method is invoked.
+     */
+    private final boolean rebindsArgs;
+    private final Supplier<Object> defaultValue;
+    private final AsyncType asyncType;
+    /**
+     * The {@code @ValidatedReturn} check, or null.
+     */
+    private final ReturnCheck returnCheck;
+    private final ModeSwitch modeSwitch;
+    /**
+     * The cheaper checks of the method under overload, or null without an {@link OverloadController}.
+     */
+    private final DegradedChecks degradedChecks;
+    /**
+     * A parameter schema which failed to load, reported on every call through the {@code throwException} of
+     * its annotation, or null. The plan is still cached so that the schema is not loaded again.
+     */
+    private final Rejection loadFailure;
+
+    static ValidationPlan of(Method method, ValidatorService validatorService, RegisteredMethod registered,
+                             ModeSwitch modeSwitch, BuiltInSchemas defaultSchemas, Executor executor,
+                             OverloadController overloadController) {
+        ValidatedMethod methodAnnotation = method.getAnnotation(ValidatedMethod.class);
+        BuiltInSchemas methodSchemas = methodSchemas(methodAnnotation, validatorService, defaultSchemas);
+        if (registered != null && fits(method, registered.entry())) {
+            return fromRegistry(method, validatorService, registered, modeSwitch, methodAnnotation, methodSchemas,
+                    overloadController);
+        }
+        Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+        int[] indexes = new int[parameterAnnotations.length];
+        SchemaHandle[] schemas = new SchemaHandle[parameterAnnotations.length];
+        boolean[] throwExceptions = new boolean[parameterAnnotations.length];
+        boolean[] cacheResults = new boolean[parameterAnnotations.length];
+        CollectionOptions[] collectionOptions = new CollectionOptions[parameterAnnotations.length];
+        boolean[] jsonArgs = new boolean[parameterAnnotations.length];
+        int count = 0;
+        for (int i = 0; i < parameterAnnotations.length; i++) {
+            ValidatedParam validatedParam = findAnnotation(parameterAnnotations[i], ValidatedParam.class);
+            if (validatedParam == null) {
+                continue;
+            }
+            indexes[count] = i;
+            try {
+                schemas[count] = validatedParam.ref().isEmpty()
+                        ? validatorService.getSchema(validatedParam.value(), SchemaOptions.of(validatedParam))
+                        : validatorService.getSchemaRef(validatedParam.ref(), SchemaOptions.of(validatedParam));
+            } catch (LoadingFailedException e) {
+                return failed(method, validatorService, modeSwitch, new Rejection(e, validatedParam.throwException()));
+            }
+            throwExceptions[count] = validatedParam.throwException();
+            cacheResults[count] = validatedParam.cacheResult();
+            if (validatedParam.streamItems()) {
+                collectionOptions[count] = CollectionOptions.sequential().withExecutor(executor)
+                        .withParallelThreshold(validatedParam.parallelAbove());
+            }
+            jsonArgs[count] = validatedParam.json();
+            count++;
+        }
+        return withMethodChecks(method, validatorService, methodAnnotation, methodSchemas,
+                Arrays.copyOf(indexes, count),
+                Arrays.copyOf(schemas, count),
+                Arrays.copyOf(throwExceptions, count),
+                Arrays.copyOf(cacheResults, count),
+                Arrays.copyOf(collectionOptions, count),
+                Arrays.copyOf(jsonArgs, count),
+                modeSwitch,
+                overloadController);
+    }
+
+    /**
+     * Build the plan from the table generated at compile time, without reading parameter annotations.
+     * Parameters with non-default schema options are left out of the table by the processor.
+     */
+    private static ValidationPlan fromRegistry(Method method, ValidatorService validatorService,
+                                               RegisteredMethod registered, ModeSwitch modeSwitch,
+                                               ValidatedMethod methodAnnotation, BuiltInSchemas methodSchemas,
+                                               OverloadController overloadController) {
+        SchemaRegistry.MethodEntry entry = registered.entry();
+        SchemaHandle[] schemas = new SchemaHandle[entry.paramIndexes().length];
+        for (int i = 0; i < schemas.length; i++) {
+            try {
+                schemas[i] = validatorService.getSchema(registered.schema(i));
+            } catch (LoadingFailedException e) {
+                return failed(method, validatorService, modeSwitch, new Rejection(e, entry.throwExceptions()[i]));
+            }
+        }
+        return withMethodChecks(method, validatorService, methodAnnotation, methodSchemas,
+                entry.paramIndexes().clone(),
+                schemas,
+                entry.throwExceptions().clone(),
+                entry.cacheResults().clone(),
+                new CollectionOptions[schemas.length],
+                new boolean[schemas.length],
+                modeSwitch,
+                overloadController);
+    }
+
+    private static ValidationPlan withMethodChecks(Method method, ValidatorService validatorService,
+                                                   ValidatedMethod methodAnnotation, BuiltInSchemas methodSchemas,
+                                                   int[] paramIndexes, SchemaHandle[] paramSchemas,
+                                                   boolean[] throwExceptions, boolean[] cacheResults,
+                                                   CollectionOptions[] collectionOptions, boolean[] jsonArgs,
+                                                   ModeSwitch modeSwitch, OverloadController overloadController) {
+        // derived from the parameter schemas alone, the method checks run separately when degraded
+        DegradedChecks degradedChecks = overloadController == null || methodAnnotation == null && paramSchemas.length == 0
+                ? null : DegradedChecks.of(overloadController, method, paramSchemas);
+        SchemaHandle[] methodChecks = new SchemaHandle[paramSchemas.length];
+        int[] methodCheckIndexes = new int[0];
+        if (methodAnnotation != null && !(methodAnnotation.allowEmpty() && methodAnnotation.allowNull())) {
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            boolean[] folded = new boolean[parameterTypes.length];
+            for (int i = 0; i < paramIndexes.length; i++) {
+                SchemaHandle check = methodCheck(methodAnnotation, methodSchemas, parameterTypes[paramIndexes[i]]);
+                // a built-in parameter schema is checked without converting the argument anyway, a streamed
+                // one would no longer split into its items, and the method check applies to the raw JSON itself
+                if (check != null && paramSchemas[i].getFastCheck() == null && collectionOptions[i] == null
+                        && !jsonArgs[i]) {
+                    methodChecks[i] = check;
+                    paramSchemas[i] = validatorService.getSchema(fold(paramSchemas[i].getSchemaText(),
+                            check.getSchemaText()), paramSchemas[i].getOptions());
+                    folded[paramIndexes[i]] = true;
+                }
+            }
+            methodCheckIndexes = new int[parameterTypes.length];
+            int count = 0;
+            for (int i = 0; i < parameterTypes.length; i++) {
+                if (!folded[i]) {
+                    methodCheckIndexes[count++] = i;
+                }
+            }
+            methodCheckIndexes = Arrays.copyOf(methodCheckIndexes, count);
+        }
+        return new ValidationPlan(method.getName(),
+                SchemaRegistry.methodKey(method),
+                methodAnnotation,
+                methodSchemas,
+                methodCheckIndexes,
+                paramIndexes,
+                paramSchemas,
+                methodChecks,
+                throwExceptions,
+                cacheResults,
+                collectionOptions,
+                jsonArgs,
+                rebindsArgs(jsonArgs),
+                DefaultValueProvider.factoryFor(method.getReturnType()),
+                AsyncType.of(method.getReturnType()),
+                ReturnCheck.of(method, validatorService),
+                modeSwitch,
+                degradedChecks,
+                null);
+    }
+
+    /**
+     * A plan rejecting every call with the failure to load one of its schemas.
+     */
+    private static ValidationPlan failed(Method method, ValidatorService validatorService, ModeSwitch modeSwitch,
+                                         Rejection loadFailure) {
+        return new ValidationPlan(method.getName(),
+                SchemaRegistry.methodKey(method),
+                null,
+                null,
+                new int[0],
+                new int[0],
+                new SchemaHandle[0],
+                new SchemaHandle[0],
+                new boolean[0],
+                new boolean[0],
+                new CollectionOptions[0],
+                new boolean[0],
+                false,
+                DefaultValueProvider.factoryFor(method.getReturnType()),
+                AsyncType.of(method.getReturnType()),
+                ReturnCheck.of(method, validatorService),
+                modeSwitch,
+                null,
+                loadFailure);
+    }
+
+    /**
+     * @return the schema the aspect checks arguments of this type against, or null when it depends on the
+     * runtime class of the argument.
+     */
+    private static SchemaHandle methodCheck(ValidatedMethod methodAnnotation, BuiltInSchemas schemas, Class<?> type) {
+        if (methodAnnotation.allowEmpty()) {
+            return schemas.notNull();
+        }
+        if (type == String.class) {
+            return schemas.nonEmptyString();
+        }
+        if (List.class.isAssignableFrom(type) || Set.class.isAssignableFrom(type)
+                || type.isArray() && !type.getComponentType().isPrimitive()) {
+            return schemas.nonEmptyArray();
+        }
+        if (Map.class.isAssignableFrom(type)) {
+            return schemas.nonEmptyObject();
+        }
+        // no subclass of these can be a string, a collection or a map
+        if (type.isPrimitive() || type.isArray() || !type.isInterface() && Modifier.isFinal(type.getModifiers())) {
+            return schemas.notNull();
+        }
+        return null;
+    }
+
+    /**
+     * @return the parameter schema, also requiring the method check through {@code allOf}; added at the root so
+     * that the references within the parameter schema still resolve.
+     */
+    private static String fold(String paramSchema, String methodCheck) {
+        try {
+            ObjectNode schema = (ObjectNode) objectMapper.readTree(paramSchema);
+            JsonNode allOf = schema.get("allOf");
+            ArrayNode checks = allOf instanceof ArrayNode array ? array : schema.putArray("allOf");
+            checks.insert(0, objectMapper.readTree(methodCheck));
+            return objectMapper.writeValueAsString(schema);
+        } catch (JsonProcessingException e) {
+            throw new LoadingFailedException("Failed to load schema: " + paramSchema, e);
+        }
+    }
+
+    private static boolean rebindsArgs(boolean[] jsonArgs) {
+        for (boolean json : jsonArgs) {
+            if (json) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static BuiltInSchemas methodSchemas(ValidatedMethod methodAnnotation, ValidatorService validatorService,
+                                                BuiltInSchemas defaultSchemas) {
+        if (methodAnnotation == null) {
+            return null;
+        }
+        SchemaOptions options = SchemaOptions.of(methodAnnotation);
+        return options.equals(SchemaOptions.DEFAULT) ? defaultSchemas : BuiltInSchemas.of(validatorService, options);
+    }
+
+    private static boolean fits(Method method, SchemaRegistry.MethodEntry entry) {
+        for (int index : entry.paramIndexes()) {
+            if (index >= method.getParameterCount()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    private static <T extends Annotation> T findAnnotation(Annotation[] annotations, Class<T> annotationClass) {
+        for (Annotation annotation : annotations) {
+            if (annotation.annotationType() == annotationClass) {
+                return annotationClass.cast(annotation);
+            }
+        }
+        return null;
+    }
+}
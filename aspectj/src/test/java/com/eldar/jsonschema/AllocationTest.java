@@ -0,0 +1,262 @@
+package com.eldar.jsonschema;
+
+import com.eldar.jsonschema.validators.SchemaHandle;
+import com.eldar.jsonschema.validators.ValidatorService;
+import com.eldar.jsonschema.validators.annotations.ValidatedMethod;
+import com.eldar.jsonschema.validators.annotations.ValidatedParam;
+import com.eldar.jsonschema.validators.aspect.ValidationAspect;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.aspectj.lang.reflect.SourceLocation;
+import org.aspectj.runtime.internal.AroundClosure;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Bytes allocated by a call whose arguments pass validation, measured with
+ * {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}. A budget above zero is only there for
+ * measurement noise; a regression allocating one object per call exceeds it.
+ */
+@Tag("unit_test")
+class AllocationTest {
+    private static final int WARM_UP_CALLS = 50_000;
+    private static final int MEASURED_CALLS = 100_000;
+    private static final double BYTES_PER_CALL_BUDGET = 1.0;
+
+    private static final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final ValidatorService validatorService = new ValidatorService();
+    private final ValidationAspect validationAspect = new ValidationAspect(validatorService);
+
+    @BeforeAll
+    static void requireAllocationCounting() {
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    void testValidate_BuiltInSchemas_NoAllocation() {
+        SchemaHandle nonEmptyString = validatorService.getSchema(ValidationSchema.NON_EMPTY_STRING);
+        SchemaHandle notNull = validatorService.getSchema(ValidationSchema.NOT_NULL);
+        SchemaHandle nonEmptyArray = validatorService.getSchema(ValidationSchema.NON_EMPTY_ARRAY);
+        List<String> list = List.of("a");
+        Integer number = 42;
+
+        assertWithinBudget(() -> {
+            validatorService.validate(nonEmptyString, "abc");
+            validatorService.validate(notNull, number);
+            validatorService.validate(nonEmptyArray, list);
+        });
+    }
+
+    @Test
+    void testValidate_ConstantSchemaText_NoAllocation() {
+        // the debug message is only built when debug logging is on
+        assumeFalse(LoggerFactory.getLogger(ValidatorService.class).isDebugEnabled());
+
+        assertWithinBudget(() -> validatorService.validate(ValidationSchema.NON_EMPTY_STRING, "abc"));
+    }
+
+    @Test
+    void testValidate_ScalarsAgainstCompiledSchema_NoAllocation() {
+        SchemaHandle code = validatorService.getSchema("{\"type\":\"string\",\"minLength\":2,\"maxLength\":8}");
+        SchemaHandle count = validatorService.getSchema("{\"type\":\"integer\",\"minimum\":0,\"maximum\":100}");
+        Integer number = 42;
+
+        assertWithinBudget(() -> {
+            validatorService.validate(code, "abc");
+            validatorService.validate(count, number);
+        });
+    }
+
+    @Test
+    void testValidateArgs_MethodAndParamAnnotations_NoAllocation() throws Throwable {
+        FixedJoinPoint methodCheck = new FixedJoinPoint(Api.class.getMethod("find", String.class, int.class),
+                "abc", 7);
+        FixedJoinPoint paramCheck = new FixedJoinPoint(Api.class.getMethod("rename", String.class, Integer.class),
+                "abc", 7);
+
+        assertWithinBudget(() -> {
+            validationAspect.validateArgs(methodCheck);
+            validationAspect.validateArgs(paramCheck);
+        });
+    }
+
+    private static void assertWithinBudget(ThrowingRunnable call) {
+        try {
+            for (int i = 0; i < WARM_UP_CALLS; i++) {
+                call.run();
+            }
+            long thread = Thread.currentThread().getId();
+            long before = threads.getThreadAllocatedBytes(thread);
+            for (int i = 0; i < MEASURED_CALLS; i++) {
+                call.run();
+            }
+            double perCall = (double) (threads.getThreadAllocatedBytes(thread) - before) / MEASURED_CALLS;
+            assertTrue(perCall <= BYTES_PER_CALL_BUDGET, "allocated " + perCall + " bytes per call");
+        } catch (Throwable e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Throwable;
+    }
+
+    public static class Api {
+        @ValidatedMethod(allowNull = false, allowEmpty = false, throwException = true)
+        public String find(String name, int limit) {
+            return name;
+        }
+
+        public String rename(@ValidatedParam(value = ValidationSchema.NON_EMPTY_STRING, throwException = true) String name,
+                             @ValidatedParam(value = "{\"type\":\"integer\",\"minimum\":0}", throwException = true)
+                             Integer version) {
+            return name;
+        }
+    }
+
+    /**
+     * A join point handing out the same arguments and signature on every call, and not invoking the method,
+     * so that only the aspect allocates. It is its own static part, as a Spring AOP invocation is.
+     */
+    private static final class FixedJoinPoint implements ProceedingJoinPoint, ProceedingJoinPoint.StaticPart {
+        private final Object[] args;
+        private final MethodSignature signature;
+
+        private FixedJoinPoint(Method method, Object... args) {
+            this.args = args;
+            this.signature = new FixedSignature(method);
+        }
+
+        @Override
+        public void set$AroundClosure(AroundClosure arc) {
+        }
+
+        @Override
+        public Object proceed() {
+            return args[0];
+        }
+
+        @Override
+        public Object proceed(Object[] args) {
+            return args[0];
+        }
+
+        @Override
+        public Object getThis() {
+            return null;
+        }
+
+        @Override
+        public Object getTarget() {
+            return null;
+        }
+
+        @Override
+        public Object[] getArgs() {
+            return args;
+        }
+
+        @Override
+        public Signature getSignature() {
+            return signature;
+        }
+
+        @Override
+        public SourceLocation getSourceLocation() {
+            return null;
+        }
+
+        @Override
+        public String getKind() {
+            return METHOD_EXECUTION;
+        }
+
+        @Override
+        public int getId() {
+            return 0;
+        }
+
+        @Override
+        public StaticPart getStaticPart() {
+            return this;
+        }
+
+        @Override
+        public String toShortString() {
+            return signature.toShortString();
+        }
+
+        @Override
+        public String toLongString() {
+            return signature.toLongString();
+        }
+    }
+
+    private record FixedSignature(Method getMethod) implements MethodSignature {
+
+        @Override
+        public Class<?> getReturnType() {
+            return getMethod.getReturnType();
+        }
+
+        @Override
+        public Class<?>[] getParameterTypes() {
+            return getMethod.getParameterTypes();
+        }
+
+        @Override
+        public String[] getParameterNames() {
+            return new String[0];
+        }
+
+        @Override
+        public Class<?>[] getExceptionTypes() {
+            return getMethod.getExceptionTypes();
+        }
+
+        @Override
+        public String toShortString() {
+            return getMethod.getName();
+        }
+
+        @Override
+        public String toLongString() {
+            return getMethod.toString();
+        }
+
+        @Override
+        public String getName() {
+            return getMethod.getName();
+        }
+
+        @Override
+        public int getModifiers() {
+            return getMethod.getModifiers();
+        }
+
+        @Override
+        public Class<?> getDeclaringType() {
+            return getMethod.getDeclaringClass();
+        }
+
+        @Override
+        public String getDeclaringTypeName() {
+            return getMethod.getDeclaringClass().getName();
+        }
+    }
+}
@@ -0,0 +1,650 @@
+package com.eldar.jsonschema;
+
+import com.eldar.jsonschema.exception.LoadingFailedException;
+import com.eldar.jsonschema.exception.UnProcessableObject;
+import com.eldar.jsonschema.validators.ValidatorService;
+import com.eldar.jsonschema.validators.aspect.ValidationAspect;
+import com.eldar.jsonschema.validators.annotations.ValidatedMethod;
+import com.eldar.jsonschema.validators.annotations.ValidatedParam;
+import com.eldar.jsonschema.validators.annotations.ValidatedReturn;
+import com.eldar.jsonschema.validators.aspect.ReturnValidationStats;
+import com.eldar.jsonschema.validators.metrics.InMemoryValidationMetrics;
+import com.eldar.jsonschema.validators.mode.ValidationModes;
+import com.eldar.jsonschema.validators.overload.OverloadController;
+import com.eldar.jsonschema.validators.overload.OverloadPolicy;
+import com.eldar.jsonschema.validators.overload.ValidationTier;
+import com.eldar.jsonschema.validators.registry.SchemaRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.aspectj.lang.reflect.SourceLocation;
+import org.aspectj.runtime.internal.AroundClosure;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+@Tag("unit_test")
+class ValidationAspectTest {
+    private static ValidationAspect plainValidationAspect;
+
+    @BeforeAll
+    static void init() {
+        ValidatorService validatorService = new ValidatorService();
+        plainValidationAspect = new ValidationAspect(validatorService);
+    }
+
+    @ParameterizedTest
+    @MethodSource("getValidatedMethodStringParameters")
+    void testValidateMethod_AllParametersValid_emptyStringAllowButNotNull(String arg, String expectedResult) throws Throwable {
+        ProceedingJoinPoint joinPoint = createJoinPoint(TestClass.class.getMethod("validMethodAllowEmptyButNotNull",
+                String.class, int.class), arg, 42);
+        Object result = plainValidationAspect.validateArgs(joinPoint);
+        assertEquals(expectedResult, result);
+    }
+
+    @Test
+    void testValidateMethod_NullParameter_ThrowException() throws Throwable {
+        ProceedingJoinPoint joinPoint = createJoinPoint(TestClass.class.getMethod(
+                "validaMethodNoNullAndEmptyThrowException", String.class), (String) null);
+
+        assertThrows(UnProcessableObject.class, () -> plainValidationAspect.validateArgs(joinPoint));
+    }
+
+    @Test
+    void testValidateMethod_NullParameter_NoThrowException() throws Throwable {
+        ProceedingJoinPoint joinPoint = createJoinPoint(TestClass.class.getMethod("validMethodAllowNullAndEmpty",
+                String.class), (Object) null);
+
+        Object result = plainValidationAspect.validateArgs(joinPoint);
+        assertNull(result);
+
+    }
+
+    @Test
+    void testValidateMethod_NullListParameter_ReturnEmptyList() throws Throwable {
+        ProceedingJoinPoint joinPoint = createJoinPoint(TestClass.class.getMethod("validMethodAllowNullAndEmpty",
+                List.class), (List) null);
+        assertEquals(List.of(), plainValidationAspect.validateArgs(joinPoint));
+    }
+
+    @Test
+    void testValidateMethod_NullListParameter_ThrowException() throws Throwable {
+        ProceedingJoinPoint joinPoint = createJoinPoint(TestClass.class.getMethod(
+                "validaMethodNoNullAndEmptyThrowException", List.class), (List) null);
+
+        assertThrows(UnProcessableObject.class, () -> plainValidationAspect.validateArgs(joinPoint));
+    }
+
+    @Test
+    void testValidateMethod_EmptyParameter_NoThrowException_ReturnEmptyString() throws Throwable {
+        ProceedingJoinPoint joinPoint = createJoinPoint(TestClass.class.getMethod("validMethodAllowNullAndEmpty",
+                String.class), "");
+
+        Object result = plainValidationAspect.validateArgs(joinPoint);
+        assertEquals("", result);
+
+    }
+
+    @Test
+    void testValidateMethod_NoValidation() throws Throwable {
+        ProceedingJoinPoint joinPoint = createJoinPoint(TestClass.class.getMethod("noValidation", String.class),
+                "arg1");
+        Object result = plainValidationAspect.validateArgs(joinPoint);
+        assertEquals("arg1", result);
+
+    }
+
+    @Test
+    void testValidateParam_ValidParameter() throws Throwable {
+        ProceedingJoinPoint joinPoint = createJoinPoint(TestClass.class.getMethod("nonEmptyStringValidation",
+                String.class), "arg1");
+        Object result = plainValidationAspect.validateArgs(joinPoint);
+        assertEquals("arg1", result);
+
+    }
+
+    @Test
+    void testValidateParam_NullParameter_ThrowException() throws Throwable {
+        ProceedingJoinPoint joinPoint = createJoinPoint(TestClass.class.getMethod("nonEmptyStringValidationThrows",
+                String.class), (Object) null);
+
+        assertThrows(UnProcessableObject.class, () -> plainValidationAspect.validateArgs(joinPoint));
+    }
+
+    @Test
+    void testValidateParam_NullParameter_NoThrowException() throws Throwable {
+        ProceedingJoinPoint joinPoint = createJoinPoint(TestClass.class.getMethod("nonEmptyStringValidation",
+                String.class), (Object) null);
+
+        Object result = plainValidationAspect.validateArgs(joinPoint);
+        assertEquals("", result, "expected empty string as default value for return type String");
+
+    }
+
+    @Test
+    void testValidateParam_EmptyString_ThrowException() throws Throwable {
+        ProceedingJoinPoint joinPoint = createJoinPoint(TestClass.class.getMethod("nonEmptyStringValidationThrows",
+                String.class), "");
+
+        assertThrows(UnProcessableObject.class, () -> plainValidationAspect.validateArgs(joinPoint));
+    }
+
+    @Test
+    void testValidateParam_MethodWithNoValidation() throws Throwable {
+        ProceedingJoinPoint joinPoint = createJoinPoint(TestClass.class.getMethod("noValidation", String.class),
+                "arg1");
+        Object result = plainValidationAspect.validateArgs(joinPoint);
+        assertEquals("arg1", result);
+
+    }
+
+    @Test
+    void testValidateParam_CustomSchema_NotThrows() throws Throwable {
+        ProceedingJoinPoint joinPoint = createJoinPoint(TestClass.class.getMethod("stringMinLengthOf2ValidationThrows"
+                        , String.class),
+                "arg1");
+        Object result = plainValidationAspect.validateArgs(joinPoint);
+        assertEquals("arg1", result);
+
+    }
+
+    @Test
+    void testValidateParam_CustomSchema_Throws() throws Throwable {
+        ProceedingJoinPoint joinPoint = createJoinPoint(TestClass.class.getMethod("stringMinLengthOf2ValidationThrows"
+                        , String.class),
+                "a");
+        assertThrows(UnProcessableObject.class, () -> plainValidationAspect.validateArgs(joinPoint));
+
+    }
+
+    @Test
+    void testValidateParam_ObjectReturnType_ShouldReturnNewObject() throws Throwable {
+        ProceedingJoinPoint joinPoint = createJoinPoint(TestClass.class.getMethod("testClassObjectReturnTypeWhenNull"
+                        , String.class),
+                (String) null);
+        TestClass result = (TestClass) plainValidationAspect.validateArgs(joinPoint);
+        assertEquals("default", result.name);
+    }
+
+    @Test
+    void testValidateParam_VoidMethod_ShouldReturnNull() throws Throwable {
+        ProceedingJoinPoint joinPoint = createJoinPoint(TestClass.class.getMethod("voidMethod", Object.class),
+                (String) null);
+        TestClass result = (TestClass) plainValidationAspect.validateArgs(joinPoint);
+        assertNull(result);
+    }
+
+    /* Helper test methods and classes */
+
+    @Test
+    void testValidateParam_CompletableFuture_ValidatedBeforeInvocation() throws Throwable {
+        Method method = TestClass.class.getMethod("futureValidation", String.class);
+
+        Object valid = plainValidationAspect.validateArgs(createJoinPoint(method, "value"));
+        Object invalid = plainValidationAspect.validateArgs(createJoinPoint(method, ""));
+
+        assertEquals("value", ((CompletableFuture<?>) valid).get(5, TimeUnit.SECONDS));
+        assertNull(((CompletableFuture<?>) invalid).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testValidateMethod_CompletableFuture_InvalidParameter_FailedFuture() throws Throwable {
+        ProceedingJoinPoint joinPoint = createJoinPoint(TestClass.class.getMethod("futureMethodThrows", String.class),
+                (Object) null);
+
+        CompletableFuture<?> result = (CompletableFuture<?>) plainValidationAspect.validateArgs(joinPoint);
+        ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(UnProcessableObject.class, e.getCause());
+    }
+
+    @Test
+    void testValidateParam_Mono_InvalidParameter_EmptyOrError() throws Throwable {
+        Mono<?> valid = (Mono<?>) plainValidationAspect.validateArgs(
+                createJoinPoint(TestClass.class.getMethod("monoValidation", String.class), "value"));
+        Mono<?> empty = (Mono<?>) plainValidationAspect.validateArgs(
+                createJoinPoint(TestClass.class.getMethod("monoValidation", String.class), ""));
+        Flux<?> error = (Flux<?>) plainValidationAspect.validateArgs(
+                createJoinPoint(TestClass.class.getMethod("fluxValidationThrows", String.class), ""));
+
+        assertEquals("value", valid.block(Duration.ofSeconds(5)));
+        assertNull(empty.block(Duration.ofSeconds(5)));
+        assertThrows(UnProcessableObject.class, () -> error.blockFirst(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void testValidateReturn_InvalidResult_CountedAndReturnedOrThrown() throws Throwable {
+        ValidationAspect validationAspect = new ValidationAspect(new ValidatorService());
+        Method logged = TestClass.class.getMethod("returnValidation", String.class);
+        Method throwing = TestClass.class.getMethod("returnValidationThrows", String.class);
+
+        assertEquals("", validationAspect.validateReturn(createJoinPoint(logged, "")));
+        assertEquals("ok", validationAspect.validateReturn(createJoinPoint(logged, "ok")));
+        assertThrows(UnProcessableObject.class, () -> validationAspect.validateReturn(createJoinPoint(throwing, "")));
+
+        ReturnValidationStats stats = validationAspect.getReturnValidationStats()
+                .get(SchemaRegistry.methodKey(logged));
+        assertEquals(new ReturnValidationStats(2, 2, 1), stats);
+    }
+
+    @Test
+    void testValidateReturn_SampledAndBudgeted() throws Throwable {
+        ValidationAspect validationAspect = new ValidationAspect(new ValidatorService());
+        Method method = TestClass.class.getMethod("returnValidationSampled", String.class);
+        for (int i = 0; i < 1000; i++) {
+            validationAspect.validateReturn(createJoinPoint(method, ""));
+        }
+
+        ReturnValidationStats stats = validationAspect.getReturnValidationStats().get(SchemaRegistry.methodKey(method));
+        assertEquals(1000, stats.calls());
+        assertTrue(stats.sampled() <= 20, "sampled " + stats.sampled());
+        assertEquals(stats.sampled(), stats.failed());
+    }
+
+    @Test
+    void testValidateReturn_Flux_EachElementValidated() throws Throwable {
+        Flux<?> result = (Flux<?>) plainValidationAspect.validateReturn(
+                createJoinPoint(TestClass.class.getMethod("fluxReturnValidationThrows", String.class), ""));
+
+        assertThrows(UnProcessableObject.class, () -> result.collectList().block(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void testValidateParam_ModeOff_NotValidated() throws Throwable {
+        ValidationAspect validationAspect = new ValidationAspect(new ValidatorService());
+        ValidationModes modes = new ValidationModes();
+        modes.setMode(TestClass.class.getName(), "off");
+        validationAspect.setValidationModes(modes);
+
+        ProceedingJoinPoint joinPoint = createJoinPoint(TestClass.class.getMethod("nonEmptyStringValidationThrows",
+                String.class), "");
+        assertEquals("", validationAspect.validateArgs(joinPoint));
+    }
+
+    @Test
+    void testValidateParam_Metrics_RejectionsByOutcome() throws Throwable {
+        ValidatorService validatorService = new ValidatorService();
+        InMemoryValidationMetrics metrics = new InMemoryValidationMetrics();
+        validatorService.setMetrics(metrics);
+        ValidationAspect validationAspect = new ValidationAspect(validatorService);
+        Method method = TestClass.class.getMethod("nonEmptyStringValidation", String.class);
+
+        validationAspect.validateArgs(createJoinPoint(method, "value"));
+        validationAspect.validateArgs(createJoinPoint(method, ""));
+
+        InMemoryValidationMetrics.MethodMetrics methodMetrics = metrics.method(SchemaRegistry.methodKey(method));
+        assertEquals(1, methodMetrics.validation().count());
+        assertEquals(1, methodMetrics.defaultReturned());
+        assertEquals(0, methodMetrics.thrown());
+    }
+
+    @Test
+    void testValidateArgs_MethodAndParamAnnotations_EvaluatedOncePerArgument() throws Throwable {
+        ValidatorService validatorService = new ValidatorService();
+        InMemoryValidationMetrics metrics = new InMemoryValidationMetrics();
+        validatorService.setMetrics(metrics);
+        ValidationAspect validationAspect = new ValidationAspect(validatorService);
+        Method method = TestClass.class.getMethod("combinedValidation", String.class, int.class);
+
+        assertEquals("abc", validationAspect.validateArgs(createJoinPoint(method, "abc", 1)));
+        assertEquals("", validationAspect.validateArgs(createJoinPoint(method, "abcd", 1)));
+        assertThrows(UnProcessableObject.class, () -> validationAspect.validateArgs(createJoinPoint(method, "", 1)));
+
+        // the method check alone only runs on the two rejected calls, to tell which annotation rejected them
+        assertEquals(2, metrics.schema(ValidationSchema.NON_EMPTY_STRING).validation().count());
+        assertEquals(1, metrics.method(SchemaRegistry.methodKey(method)).validation().count());
+        assertEquals(1, metrics.method(SchemaRegistry.methodKey(method)).thrown());
+    }
+
+    @Test
+    void testValidateArgs_JsonStream_ValidatedAndReplayedToMethod() throws Throwable {
+        Method method = TestClass.class.getMethod("readBody", InputStream.class);
+        String body = "{\"id\":1,\"name\":\"" + "x".repeat(10_000) + "\"}";
+
+        assertEquals(body, plainValidationAspect.validateArgs(createJoinPoint(method,
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)))));
+        assertThrows(UnProcessableObject.class, () -> plainValidationAspect.validateArgs(createJoinPoint(method,
+                new ByteArrayInputStream("{\"name\":\"x\"}".getBytes(StandardCharsets.UTF_8)))));
+        assertThrows(UnProcessableObject.class, () -> plainValidationAspect.validateArgs(createJoinPoint(method,
+                new ByteArrayInputStream("{\"id\":".getBytes(StandardCharsets.UTF_8)))));
+    }
+
+    @Test
+    void testValidateParam_OverBudget_DegradedTiers() throws Throwable {
+        ValidatorService validatorService = new ValidatorService();
+        ValidationAspect validationAspect = new ValidationAspect(validatorService);
+        // any call exceeds the budget, so each one lowers the tier of the next
+        OverloadController controller = new OverloadController(OverloadPolicy.of(Duration.ofNanos(1))
+                .withDegradeInterval(Duration.ZERO).withRestoreAfter(Duration.ofHours(1)), validatorService);
+        validationAspect.setOverloadController(controller);
+        Method method = TestClass.class.getMethod("stringMinLengthOf2ValidationThrows", String.class);
+
+        assertThrows(UnProcessableObject.class, () -> validationAspect.validateArgs(createJoinPoint(method, "a")));
+        assertEquals(ValidationTier.STRUCTURAL, controller.getTiers().get(SchemaRegistry.methodKey(method)));
+        // only the type is checked, then only null
+        assertEquals("a", validationAspect.validateArgs(createJoinPoint(method, "a")));
+        assertEquals(ValidationTier.NULL_CHECKS, controller.getTiers().get(SchemaRegistry.methodKey(method)));
+        assertEquals("a", validationAspect.validateArgs(createJoinPoint(method, "a")));
+        assertThrows(UnProcessableObject.class, () -> validationAspect.validateArgs(createJoinPoint(method,
+                (Object) null)));
+    }
+
+    @Test
+    void testValidateParam_InvalidSchema_ReportedThroughThrowException() throws Throwable {
+        Method lenient = TestClass.class.getMethod("invalidSchemaNoThrowException", String.class);
+        Method strict = TestClass.class.getMethod("invalidSchemaThrowException", String.class);
+
+        assertEquals("", plainValidationAspect.validateArgs(createJoinPoint(lenient, "a")));
+        assertEquals("", plainValidationAspect.validateArgs(createJoinPoint(lenient, "a")));
+        assertThrows(LoadingFailedException.class, () -> plainValidationAspect.validateArgs(createJoinPoint(strict,
+                "a")));
+        assertThrows(LoadingFailedException.class, () -> plainValidationAspect.prepare(lenient));
+    }
+
+    private ProceedingJoinPoint createJoinPoint(Method method, Object... args) {
+        return new ProceedingJoinPoint() {
+            @Override
+            public void set$AroundClosure(AroundClosure aroundClosure) {
+            }
+
+            @Override
+            public Object proceed() throws Throwable {
+                return method.invoke(method.getDeclaringClass().getDeclaredConstructor().newInstance(), args);
+            }
+
+            @Override
+            public Object proceed(Object[] objects) throws Throwable {
+                return method.invoke(method.getDeclaringClass().getDeclaredConstructor().newInstance(), objects);
+            }
+
+            @Override
+            public Object getThis() {
+                return null;
+            }
+
+            @Override
+            public Object getTarget() {
+                return null;
+            }
+
+            @Override
+            public Object[] getArgs() {
+                return args;
+            }
+
+            @Override
+            public Signature getSignature() {
+                return new MethodSignature() {
+                    @Override
+                    public String getName() {
+                        return method.getName();
+                    }
+
+                    @Override
+                    public int getModifiers() {
+                        return method.getModifiers();
+                    }
+
+                    @Override
+                    public Class<?> getDeclaringType() {
+                        return method.getDeclaringClass();
+                    }
+
+                    @Override
+                    public String getDeclaringTypeName() {
+                        return method.getDeclaringClass().getName();
+                    }
+
+                    @Override
+                    public Class<?> getReturnType() {
+                        return method.getReturnType();
+                    }
+
+                    @Override
+                    public Method getMethod() {
+                        return method;
+                    }
+
+                    @Override
+                    public String[] getParameterNames() {
+                        return new String[0];
+                    }
+
+                    @Override
+                    public Class<?>[] getParameterTypes() {
+                        return method.getParameterTypes();
+                    }
+
+                    @Override
+                    public Class<?>[] getExceptionTypes() {
+                        return new Class[0];
+                    }
+
+                    @Override
+                    public String toShortString() {
+                        return null;
+                    }
+
+                    @Override
+                    public String toLongString() {
+                        return null;
+                    }
+
+                    @Override
+                    public String toString() {
+                        return null;
+                    }
+
+                    @Override
+                    public boolean equals(Object o) {
+                        return false;
+                    }
+
+                    @Override
+                    public int hashCode() {
+                        return 0;
+                    }
+                };
+            }
+
+            @Override
+            public SourceLocation getSourceLocation() {
+                return null;
+            }
+
+            @Override
+            public String getKind() {
+                return null;
+            }
+
+            @Override
+            public StaticPart getStaticPart() {
+                return null;
+            }
+
+            @Override
+            public String toShortString() {
+                return null;
+            }
+
+            @Override
+            public String toLongString() {
+                return null;
+            }
+
+            @Override
+            public String toString() {
+                return null;
+            }
+        };
+    }
+
+    public static class TestClass {
+        private String name;
+
+        public TestClass() {
+            name = "default";
+        }
+
+        public TestClass(String name) {
+            this.name = name;
+        }
+
+        @ValidatedMethod(allowNull = false, allowEmpty = false, throwException = true)
+        public String combinedValidation(@ValidatedParam("{\"maxLength\":3}") String code, int count) {
+            return code;
+        }
+
+        public String readBody(@ValidatedParam(value = "{\"type\":\"object\",\"required\":[\"id\"]}", json = true,
+                throwException = true) InputStream body) throws IOException {
+            return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        @ValidatedMethod(allowNull = true, allowEmpty = true, throwException = false)
+        public String validMethodAllowNullAndEmpty(String arg1) {
+            return arg1;
+        }
+
+        @ValidatedMethod(allowNull = false, allowEmpty = false, throwException = true)
+        public String validaMethodNoNullAndEmptyThrowException(String arg1) {
+            return arg1;
+        }
+
+        @ValidatedMethod(allowNull = false, allowEmpty = false, throwException = true)
+        public List validaMethodNoNullAndEmptyThrowException(List arg1) {
+            return arg1;
+        }
+
+        @ValidatedMethod(allowNull = false, allowEmpty = false, throwException = false)
+        public List<?> validMethodAllowNullAndEmpty(List<?> arg1) {
+            return arg1;
+        }
+
+        @ValidatedMethod(allowNull = true, allowEmpty = true, throwException = false)
+        public String validMethodAllowNullAndEmpty(String arg1, int arg2) {
+            return arg1;
+        }
+
+        @ValidatedMethod(allowNull = false, allowEmpty = true, throwException = false)
+        public String validMethodAllowEmptyButNotNull(String arg1, int arg2) {
+            return arg1;
+        }
+
+        public String noValidation(String arg1) {
+            return arg1;
+        }
+
+        @SuppressWarnings("unused")
+        @ValidatedMethod(allowNull = false, allowEmpty = true, throwException = false)
+        public void voidMethod(Object obj1) {
+        }
+
+        @SuppressWarnings("unused")
+        public int primitiveMethod(int arg1) {
+            return arg1;
+        }
+
+        @SuppressWarnings("unused")
+        public List<String> genericMethod(List<String> arg1) {
+            return arg1;
+        }
+
+        @SuppressWarnings("unused")
+        public Map<String, Integer> mapMethod(Map<String, Integer> arg1) {
+            return arg1;
+        }
+
+        public String nonEmptyStringValidation(@ValidatedParam(ValidationSchema.NON_EMPTY_STRING) String arg1) {
+            return arg1;
+        }
+
+        public String nonEmptyStringValidationThrows(@ValidatedParam(value = ValidationSchema.NON_EMPTY_STRING,
+                throwException = true) String arg1) {
+            return arg1;
+        }
+
+        public String invalidSchemaNoThrowException(@ValidatedParam("{\"type\":") String arg1) {
+            return arg1;
+        }
+
+        public String invalidSchemaThrowException(@ValidatedParam(value = "{\"type\":",
+                throwException = true) String arg1) {
+            return arg1;
+        }
+
+        public String stringMinLengthOf2ValidationThrows(@ValidatedParam(value = "{\"type\":\"string\"," +
+                "\"minLength\":2}",
+                throwException = true) String arg1) {
+            return arg1;
+        }
+
+        public TestClass testClassObjectReturnTypeWhenNull(@ValidatedParam(value = ValidationSchema.NOT_NULL) String arg1) {
+            return new TestClass("test");
+        }
+
+        public CompletableFuture<String> futureValidation(@ValidatedParam(ValidationSchema.NON_EMPTY_STRING) String arg1) {
+            return CompletableFuture.completedFuture(arg1);
+        }
+
+        @ValidatedMethod(allowNull = false, allowEmpty = false, throwException = true)
+        public CompletableFuture<String> futureMethodThrows(String arg1) {
+            return CompletableFuture.completedFuture(arg1);
+        }
+
+        public Mono<String> monoValidation(@ValidatedParam(ValidationSchema.NON_EMPTY_STRING) String arg1) {
+            return Mono.just(arg1);
+        }
+
+        @ValidatedReturn(ValidationSchema.NON_EMPTY_STRING)
+        public String returnValidation(String arg1) {
+            return arg1;
+        }
+
+        @ValidatedReturn(value = ValidationSchema.NON_EMPTY_STRING, throwException = true)
+        public String returnValidationThrows(String arg1) {
+            return arg1;
+        }
+
+        @ValidatedReturn(value = ValidationSchema.NON_EMPTY_STRING, sampleEvery = 10, maxPerSecond = 5)
+        public String returnValidationSampled(String arg1) {
+            return arg1;
+        }
+
+        @ValidatedReturn(value = ValidationSchema.NON_EMPTY_STRING, throwException = true)
+        public Flux<String> fluxReturnValidationThrows(String arg1) {
+            return Flux.just("ok", arg1);
+        }
+
+        public Flux<String> fluxValidationThrows(@ValidatedParam(value = ValidationSchema.NON_EMPTY_STRING,
+                throwException = true) String arg1) {
+            return Flux.just(arg1, arg1);
+        }
+    }
+
+    private static Stream<Arguments> getValidatedMethodStringParameters() {
+        return Stream.of(
+                Arguments.of("", ""),
+                Arguments.of("value", "value"),
+                Arguments.of(null, "")
+        );
+    }
+}
+
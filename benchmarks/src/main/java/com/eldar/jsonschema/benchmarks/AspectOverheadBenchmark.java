@@ -0,0 +1,100 @@
+package com.eldar.jsonschema.benchmarks;
+
+import com.eldar.jsonschema.ValidationSchema;
+import com.eldar.jsonschema.validators.ValidatorService;
+import com.eldar.jsonschema.validators.annotations.ValidatedMethod;
+import com.eldar.jsonschema.validators.annotations.ValidatedParam;
+import com.eldar.jsonschema.validators.aspect.ValidationAspect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the validation advice compared with a direct call and with an unadvised proxy call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AspectOverheadBenchmark {
+
+    public static class Api {
+        public String direct(String id) {
+            return id;
+        }
+
+        @ValidatedMethod
+        public String validatedMethod(String id) {
+            return id;
+        }
+
+        public String validatedParam(@ValidatedParam(ValidationSchema.NON_EMPTY_STRING) String id) {
+            return id;
+        }
+
+        public Payloads.Order validatedOrder(@ValidatedParam(Payloads.ORDER_SCHEMA) Payloads.Order order) {
+            return order;
+        }
+
+        @ValidatedMethod
+        public Payloads.Order validatedMethodAndOrder(@ValidatedParam(Payloads.ORDER_SCHEMA) Payloads.Order order) {
+            return order;
+        }
+    }
+
+    private Api target;
+    private Api proxy;
+    private Payloads.Order order;
+
+    @Setup
+    public void setUp() {
+        target = new Api();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Api());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ValidationAspect(new ValidatorService()));
+        proxy = factory.getProxy();
+        order = Payloads.order(5);
+    }
+
+    @Benchmark
+    public String directCall() {
+        return target.direct("id");
+    }
+
+    @Benchmark
+    public String proxiedWithoutValidation() {
+        return proxy.direct("id");
+    }
+
+    @Benchmark
+    public String validateMethod() {
+        return proxy.validatedMethod("id");
+    }
+
+    @Benchmark
+    public String validateParam() {
+        return proxy.validatedParam("id");
+    }
+
+    @Benchmark
+    public Payloads.Order validateParamOrder() {
+        return proxy.validatedOrder(order);
+    }
+
+    @Benchmark
+    public Payloads.Order validateMethodAndParamOrder() {
+        return proxy.validatedMethodAndOrder(order);
+    }
+}
@@ -0,0 +1,54 @@
+package com.eldar.jsonschema.benchmarks;
+
+import com.eldar.jsonschema.validators.SchemaHandle;
+import com.eldar.jsonschema.validators.ValidatorService;
+import com.eldar.jsonschema.validators.engine.ValidationEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling with payload size: orders of 1 to 100 000 lines, i.e. from about a hundred bytes to about
+ * five megabytes of JSON.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class PayloadSizeBenchmark {
+
+    @Param({"1", "100", "10000", "100000"})
+    public int lines;
+
+    @Param({"TREE", "COMPILED", "POJO"})
+    public ValidationEngine engine;
+
+    private ValidatorService validatorService;
+    private SchemaHandle handle;
+    private Payloads.Order order;
+
+    @Setup
+    public void setUp() {
+        validatorService = new ValidatorService();
+        validatorService.setEngine(engine);
+        handle = validatorService.getSchema(Payloads.ORDER_SCHEMA);
+        order = Payloads.order(lines);
+    }
+
+    @Benchmark
+    public void validate() {
+        validatorService.validate(handle, order);
+    }
+}
@@ -0,0 +1,95 @@
+package com.eldar.jsonschema.benchmarks;
+
+import com.eldar.jsonschema.ValidationSchema;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Schemas and payloads shared by the benchmarks: the built-in schemas and a nested order DTO.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class Payloads {
+
+    public static final String ORDER_SCHEMA = """
+            {
+              "type": "object",
+              "required": ["id", "customer", "lines"],
+              "properties": {
+                "id": {"type": "string", "minLength": 1, "maxLength": 64},
+                "customer": {
+                  "type": "object",
+                  "required": ["name", "email"],
+                  "properties": {
+                    "name": {"type": "string", "minLength": 1},
+                    "email": {"type": "string", "pattern": "^[^@]+@[^@]+$"},
+                    "vip": {"type": "boolean"}
+                  }
+                },
+                "lines": {
+                  "type": "array",
+                  "minItems": 1,
+                  "items": {
+                    "type": "object",
+                    "required": ["sku", "quantity", "price"],
+                    "properties": {
+                      "sku": {"type": "string", "minLength": 3},
+                      "quantity": {"type": "integer", "minimum": 1, "maximum": 1000},
+                      "price": {"type": "number", "exclusiveMinimum": 0}
+                    },
+                    "additionalProperties": false
+                  }
+                },
+                "status": {"enum": ["NEW", "PAID", "SHIPPED"]}
+              }
+            }
+            """;
+
+    public record Customer(String name, String email, boolean vip) {
+    }
+
+    public record Line(String sku, int quantity, BigDecimal price) {
+    }
+
+    public record Order(String id, Customer customer, List<Line> lines, String status) {
+    }
+
+    /**
+     * @param lines about 50 bytes of JSON each
+     */
+    public static Order order(int lines) {
+        List<Line> orderLines = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            orderLines.add(new Line("SKU-" + i, 1 + i % 10, new BigDecimal("9.99")));
+        }
+        return new Order("order-1", new Customer("Jane Doe", "jane@example.com", false), orderLines, "NEW");
+    }
+
+    public static String schema(String name) {
+        return switch (name) {
+            case "NOT_NULL" -> ValidationSchema.NOT_NULL;
+            case "NON_EMPTY_STRING" -> ValidationSchema.NON_EMPTY_STRING;
+            case "NON_EMPTY_ARRAY" -> ValidationSchema.NON_EMPTY_ARRAY;
+            case "NON_EMPTY_OBJECT" -> ValidationSchema.NON_EMPTY_OBJECT;
+            case "ORDER" -> ORDER_SCHEMA;
+            default -> throw new IllegalArgumentException(name);
+        };
+    }
+
+    /**
+     * A payload accepted by the named schema.
+     */
+    public static Object validPayload(String name) {
+        return switch (name) {
+            case "NOT_NULL", "NON_EMPTY_STRING" -> "value";
+            case "NON_EMPTY_ARRAY" -> List.of(1, 2, 3);
+            case "NON_EMPTY_OBJECT" -> Map.of("key", "value");
+            case "ORDER" -> order(5);
+            default -> throw new IllegalArgumentException(name);
+        };
+    }
+}
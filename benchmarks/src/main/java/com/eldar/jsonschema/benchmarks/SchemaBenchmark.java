@@ -0,0 +1,64 @@
+package com.eldar.jsonschema.benchmarks;
+
+import com.eldar.jsonschema.validators.SchemaHandle;
+import com.eldar.jsonschema.validators.ValidatorService;
+import com.eldar.jsonschema.validators.engine.ValidationEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ValidatorService#validate} of a valid payload, for every built-in schema and a nested DTO,
+ * on each engine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchemaBenchmark {
+
+    @Param({"NOT_NULL", "NON_EMPTY_STRING", "NON_EMPTY_ARRAY", "NON_EMPTY_OBJECT", "ORDER"})
+    public String schema;
+
+    @Param({"TREE", "COMPILED", "POJO"})
+    public ValidationEngine engine;
+
+    private ValidatorService validatorService;
+    private SchemaHandle handle;
+    private String schemaText;
+    private Object payload;
+
+    @Setup
+    public void setUp() {
+        validatorService = new ValidatorService();
+        validatorService.setEngine(engine);
+        schemaText = Payloads.schema(schema);
+        handle = validatorService.getSchema(schemaText);
+        payload = Payloads.validPayload(schema);
+    }
+
+    @Benchmark
+    public void validateHandle() {
+        validatorService.validate(handle, payload);
+    }
+
+    /**
+     * Includes the schema cache lookup by text.
+     */
+    @Benchmark
+    public void validateText() {
+        validatorService.validate(schemaText, payload);
+    }
+}
@@ -0,0 +1,48 @@
+package com.eldar.jsonschema.benchmarks;
+
+import com.eldar.jsonschema.validators.SchemaHandle;
+import com.eldar.jsonschema.validators.ValidatorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schema resolution on a warm cache (lookup only) and a cold one (every call parses and compiles a
+ * schema never seen before).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchemaCacheBenchmark {
+
+    private ValidatorService validatorService;
+    private long sequence;
+
+    @Setup
+    public void setUp() {
+        validatorService = new ValidatorService();
+        validatorService.getSchema(Payloads.ORDER_SCHEMA);
+    }
+
+    @Benchmark
+    public SchemaHandle warm() {
+        return validatorService.getSchema(Payloads.ORDER_SCHEMA);
+    }
+
+    @Benchmark
+    public SchemaHandle cold() {
+        return validatorService.getSchema("{\"title\":\"" + sequence++ + "\"," + Payloads.ORDER_SCHEMA.substring(1));
+    }
+}
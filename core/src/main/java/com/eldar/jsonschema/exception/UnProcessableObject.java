@@ -0,0 +1,51 @@
+package com.eldar.jsonschema.exception;
+
+import com.networknt.schema.ValidationMessage;
+
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Thrown when a payload does not match its schema. Its messages are only produced when read.
+ * A stackless instance skips capturing the stack trace, for rejections that are part of normal traffic;
+ * see {@link #withStackTrace()} before handing one to the caller.
+ */
+public class UnProcessableObject extends RuntimeException {
+    private final Supplier<Set<ValidationMessage>> validationsSupplier;
+    private final boolean stackless;
+    private volatile Set<ValidationMessage> validations;
+
+    public UnProcessableObject(Set<ValidationMessage> validations, String message) {
+        this(() -> validations, message, false);
+    }
+
+    /**
+     * @param validations computes the validation messages on first access
+     * @param stackless   true to neither capture a stack trace nor record suppressed exceptions
+     */
+    public UnProcessableObject(Supplier<Set<ValidationMessage>> validations, String message, boolean stackless) {
+        super(message, null, !stackless, !stackless);
+        this.validationsSupplier = validations;
+        this.stackless = stackless;
+    }
+
+    public Set<ValidationMessage> getValidations() {
+        Set<ValidationMessage> result = validations;
+        if (result == null) {
+            result = validationsSupplier.get();
+            validations = result;
+        }
+        return result;
+    }
+
+    public boolean isStackless() {
+        return stackless;
+    }
+
+    /**
+     * This rejection, or a copy of a stackless one with the stack trace of the current thread.
+     */
+    public UnProcessableObject withStackTrace() {
+        return stackless ? new UnProcessableObject(this::getValidations, getMessage(), false) : this;
+    }
+}
@@ -0,0 +1,28 @@
+package com.eldar.jsonschema.validators;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Grants at most {@code permitsPerSecond} permits in each wall-clock second. Approximate under
+ * contention: a few extra permits may be granted when the second rolls over.
+ */
+public class PerSecondBudget {
+
+    private final int permitsPerSecond;
+    private final AtomicLong currentSecond = new AtomicLong();
+    private final AtomicInteger grantedThisSecond = new AtomicInteger();
+
+    public PerSecondBudget(int permitsPerSecond) {
+        this.permitsPerSecond = permitsPerSecond;
+    }
+
+    public boolean tryAcquire() {
+        long second = System.currentTimeMillis() / 1000;
+        long current = currentSecond.get();
+        if (second != current && currentSecond.compareAndSet(current, second)) {
+            grantedThisSecond.set(0);
+        }
+        return grantedThisSecond.incrementAndGet() <= permitsPerSecond;
+    }
+}
@@ -0,0 +1,32 @@
+package com.eldar.jsonschema.validators;
+
+import com.networknt.schema.JsonMetaSchema;
+import com.networknt.schema.JsonSchemaFactory;
+import com.networknt.schema.SchemaValidatorsConfig;
+import com.networknt.schema.SpecVersion;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The networknt setup schemas are loaded with, shared by {@link ValidatorService} and the annotation processor
+ * checking the schemas at compile time.
+ */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public final class SchemaFactories {
+
+    public static final List<JsonMetaSchema> META_SCHEMAS = List.of(JsonMetaSchema.getV4(),
+            JsonMetaSchema.getV6(), JsonMetaSchema.getV7(), JsonMetaSchema.getV201909());
+
+    public static final JsonSchemaFactory FACTORY = JsonSchemaFactory
+            .builder(JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V201909))
+            .addMetaSchemas(META_SCHEMAS)
+            .build();
+
+    public static SchemaValidatorsConfig newConfig(boolean failFast, boolean typeLoose) {
+        SchemaValidatorsConfig config = new SchemaValidatorsConfig();
+        config.setTypeLoose(typeLoose);
+        config.setFailFast(failFast);
+        return config;
+    }
+}
@@ -0,0 +1,36 @@
+package com.eldar.jsonschema.validators;
+
+import com.eldar.jsonschema.validators.collection.ItemsSchema;
+import com.eldar.jsonschema.validators.engine.CompiledSchema;
+import com.networknt.schema.JsonSchema;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.function.Predicate;
+
+/**
+ * A compiled schema as handed out by {@link ValidatorService#getSchema(String)}.
+ * Hold on to it to validate without looking the schema up again.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public final class SchemaHandle {
+
+    private final String schemaText;
+    private final JsonSchema schema;
+    /**
+     * Constant time check for the built-in schemas, or null. It is only trusted when it
+     * accepts a payload; a rejected payload still goes through the JSON schema engine.
+     */
+    private final Predicate<Object> fastCheck;
+    /**
+     * The schema compiled to Java checks, or null when it can only be validated by networknt.
+     */
+    private final CompiledSchema compiled;
+    private final SchemaOptions options;
+    /**
+     * The array schema split for {@link ValidatorService#validateCollection}, or null when it cannot be.
+     */
+    private final ItemsSchema items;
+}
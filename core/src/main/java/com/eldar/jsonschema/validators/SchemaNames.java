@@ -0,0 +1,35 @@
+package com.eldar.jsonschema.validators;
+
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Names a schema the same way on every JVM, for metrics and reports to be followed over restarts and
+ * combined across instances: the catalog URI of a {@link ValidatorService#getSchemaRef} schema, otherwise
+ * a prefix of the SHA-256 of its text.
+ */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public final class SchemaNames {
+
+    private static final Pattern CATALOG_REF = Pattern.compile("\\{\"\\$ref\":\"([^\"\\\\]+)\"}");
+
+    public static String of(String schemaText) {
+        Matcher ref = CATALOG_REF.matcher(schemaText);
+        if (ref.matches()) {
+            return ref.group(1);
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(schemaText.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform provides SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
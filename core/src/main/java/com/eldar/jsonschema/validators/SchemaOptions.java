@@ -0,0 +1,45 @@
+package com.eldar.jsonschema.validators;
+
+import com.eldar.jsonschema.validators.annotations.ValidatedMethod;
+import com.eldar.jsonschema.validators.annotations.ValidatedParam;
+
+/**
+ * How a schema evaluates a payload. Each combination is loaded and cached as its own variant of the schema.
+ *
+ * @param failFast  stop at the first error instead of collecting all of them
+ * @param typeLoose accept strings holding numbers or booleans where those are expected
+ * @param maxErrors the most errors reported for a rejected payload, 0 for all of them. With 1 the
+ *                  evaluation stops at the first error, like {@code failFast}
+ */
+public record SchemaOptions(boolean failFast, boolean typeLoose, int maxErrors) {
+
+    public static final SchemaOptions DEFAULT = new SchemaOptions(false, true, 0);
+
+    public SchemaOptions {
+        if (maxErrors < 0) {
+            throw new IllegalArgumentException("maxErrors must not be negative: " + maxErrors);
+        }
+    }
+
+    public static SchemaOptions of(ValidatedParam annotation) {
+        return new SchemaOptions(annotation.failFast(), annotation.typeLoose(), annotation.maxErrors());
+    }
+
+    public static SchemaOptions of(ValidatedMethod annotation) {
+        return new SchemaOptions(annotation.failFast(), annotation.typeLoose(), annotation.maxErrors());
+    }
+
+    /**
+     * Whether the engine may stop at the first error.
+     */
+    public boolean stopsAtFirstError() {
+        return failFast || maxErrors == 1;
+    }
+
+    /**
+     * Distinguishes the cache keys of the variants of one schema text, 0 for {@link #DEFAULT}.
+     */
+    long variant() {
+        return (failFast ? 1L : 0L) | (typeLoose ? 0L : 2L) | (long) maxErrors << 2;
+    }
+}
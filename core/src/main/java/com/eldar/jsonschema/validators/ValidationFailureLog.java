@@ -0,0 +1,50 @@
+package com.eldar.jsonschema.validators;
+
+import com.eldar.jsonschema.exception.UnProcessableObject;
+import org.slf4j.Logger;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logs validation failures as structured warnings, at most {@code permitsPerSecond} a second.
+ * Failures over the limit are only counted and reported with the next one that is logged.
+ * Rejected payloads are logged without a stack trace; unexpected errors keep theirs.
+ */
+public class ValidationFailureLog {
+
+    public static final int DEFAULT_PERMITS_PER_SECOND = 10;
+
+    private final Logger logger;
+    private final PerSecondBudget budget;
+    private final LongAdder suppressed = new LongAdder();
+
+    public ValidationFailureLog(Logger logger, int permitsPerSecond) {
+        this.logger = logger;
+        this.budget = new PerSecondBudget(permitsPerSecond);
+    }
+
+    public void failed(String methodName, Exception failure) {
+        if (!logger.isWarnEnabled()) {
+            return;
+        }
+        if (!budget.tryAcquire()) {
+            suppressed.increment();
+            return;
+        }
+        long suppressedCount = suppressed.sumThenReset();
+        if (failure instanceof UnProcessableObject rejected) {
+            logger.atWarn()
+                    .addKeyValue("method", methodName)
+                    .addKeyValue("errors", rejected.getValidations().size())
+                    .addKeyValue("suppressed", suppressedCount)
+                    .log("Validation failed for method: {}: {}{}", methodName, rejected.getMessage(),
+                            rejected.getValidations());
+        } else {
+            logger.atWarn()
+                    .addKeyValue("method", methodName)
+                    .addKeyValue("suppressed", suppressedCount)
+                    .setCause(failure)
+                    .log("Validation failed for method: {}", methodName);
+        }
+    }
+}
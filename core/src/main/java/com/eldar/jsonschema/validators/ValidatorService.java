@@ -0,0 +1,406 @@
+package com.eldar.jsonschema.validators;
+
+import com.eldar.jsonschema.exception.UnProcessableObject;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.networknt.schema.*;
+import com.eldar.jsonschema.exception.LoadingFailedException;
+import com.eldar.jsonschema.validators.batch.BatchOptions;
+import com.eldar.jsonschema.validators.batch.BatchResult;
+import com.eldar.jsonschema.validators.batch.BatchValidation;
+import com.eldar.jsonschema.validators.cache.CaffeineSchemaCache;
+import com.eldar.jsonschema.validators.cache.ResultCacheStats;
+import com.eldar.jsonschema.validators.cache.SchemaCache;
+import com.eldar.jsonschema.validators.cache.SchemaCacheStats;
+import com.eldar.jsonschema.validators.cache.SchemaKey;
+import com.eldar.jsonschema.validators.cache.ValidationResultCache;
+import com.eldar.jsonschema.validators.catalog.SchemaCatalog;
+import com.eldar.jsonschema.validators.checks.BuiltInChecks;
+import com.eldar.jsonschema.validators.checks.TokenCheck;
+import com.eldar.jsonschema.validators.collection.CollectionOptions;
+import com.eldar.jsonschema.validators.collection.CollectionValidation;
+import com.eldar.jsonschema.validators.collection.ItemsSchema;
+import com.eldar.jsonschema.validators.engine.CompiledSchema;
+import com.eldar.jsonschema.validators.engine.PojoValueModel;
+import com.eldar.jsonschema.validators.engine.SchemaCompiler;
+import com.eldar.jsonschema.validators.engine.TreeValueModel;
+import com.eldar.jsonschema.validators.engine.ValidationEngine;
+import com.eldar.jsonschema.validators.engine.ValueModel;
+import com.eldar.jsonschema.validators.json.RawJson;
+import com.eldar.jsonschema.validators.metrics.ValidationMetrics;
+import com.eldar.jsonschema.validators.profile.KeywordProfiler;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+@Slf4j
+public class ValidatorService {
+    protected static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final int RECENT_SCHEMAS = 64;
+
+    protected static final JsonSchemaFactory FACTORY = SchemaFactories.FACTORY;
+
+    private final SchemaCache schemaCache;
+    private final ValidationResultCache resultCache;
+    private final SchemaCatalog catalog;
+    /**
+     * Factories reading {@code $ref}s from the catalog, one per options variant since networknt shares each
+     * referenced document, with its config, across the schemas of a factory.
+     */
+    private final Map<SchemaOptions, JsonSchemaFactory> factories = new ConcurrentHashMap<>();
+    /**
+     * Same as {@link #factories}, loading the copies of the schemas the {@link #profiler} times.
+     */
+    private final Map<SchemaOptions, JsonSchemaFactory> profiledFactories = new ConcurrentHashMap<>();
+    private final ValueModel pojoModel;
+    private final ValueModel treeModel;
+    /**
+     * The schemas last validated by text, by identity of the text: a constant schema is looked up without
+     * fingerprinting it again on every call.
+     */
+    private final RecentSchema[] recentSchemas = new RecentSchema[RECENT_SCHEMAS];
+    /**
+     * Selects how payloads are evaluated, see {@link ValidationEngine}.
+     */
+    @Getter
+    @Setter
+    private volatile ValidationEngine engine = ValidationEngine.TREE;
+    /**
+     * Instrumentation hooks, see {@link ValidationMetrics}.
+     */
+    @Getter
+    @Setter
+    private volatile ValidationMetrics metrics = ValidationMetrics.NOOP;
+    /**
+     * Whether rejections are thrown without a stack trace, for callers which expect failures as part of normal
+     * traffic. Off by default; the aspect still hands its callers rejections with a stack trace.
+     */
+    @Getter
+    @Setter
+    private volatile boolean stacklessRejections;
+    /**
+     * Per-keyword timings of the JSON schema engine, off until started.
+     */
+    @Getter
+    private final KeywordProfiler profiler = new KeywordProfiler();
+
+    public ValidatorService() {
+        this(new CaffeineSchemaCache());
+    }
+
+    public ValidatorService(SchemaCache schemaCache) {
+        this(schemaCache, new ValidationResultCache());
+    }
+
+    public ValidatorService(SchemaCache schemaCache, ValidationResultCache resultCache) {
+        this(schemaCache, resultCache, SchemaCatalog.EMPTY);
+    }
+
+    public ValidatorService(SchemaCache schemaCache, ValidationResultCache resultCache, SchemaCatalog catalog) {
+        this.schemaCache = schemaCache;
+        this.resultCache = resultCache;
+        this.catalog = catalog;
+        pojoModel = new PojoValueModel(objectMapper);
+        treeModel = new TreeValueModel();
+    }
+
+    public void validate(String schemaAsString, Object payload) throws JsonSchemaException {
+        log.debug("Validating using schema: {}", schemaAsString);
+
+        validate(recentSchema(schemaAsString), payload);
+    }
+
+    private SchemaHandle recentSchema(String schemaAsString) {
+        int slot = System.identityHashCode(schemaAsString) & (RECENT_SCHEMAS - 1);
+        RecentSchema recent = recentSchemas[slot];
+        if (recent == null || recent.text() != schemaAsString) {
+            recent = new RecentSchema(schemaAsString, SchemaKey.of(schemaAsString),
+                    newKey -> buildSchemaFromString(schemaAsString, SchemaOptions.DEFAULT));
+            recentSchemas[slot] = recent;
+        }
+        return schemaCache.get(recent.key(), recent.loader());
+    }
+
+    /**
+     * Validate a payload against a schema previously resolved with {@link #getSchema(String)}.
+     */
+    public void validate(SchemaHandle handle, Object payload) throws JsonSchemaException {
+        ValidationMetrics currentMetrics = metrics;
+        long start = System.nanoTime();
+        boolean passed = false;
+        try {
+            validate(handle, payload, currentMetrics, start);
+            passed = true;
+        } finally {
+            currentMetrics.validated(handle, System.nanoTime() - start, passed);
+        }
+    }
+
+    private void validate(SchemaHandle handle, Object payload, ValidationMetrics currentMetrics, long start) {
+        Predicate<Object> fastCheck = handle.getFastCheck();
+        if (fastCheck != null && fastCheck.test(payload)) {
+            return;
+        }
+        // the profiler times the keywords of the JSON schema engine, so compiled checks are skipped meanwhile
+        CompiledSchema compiled = profiler.isEnabled() ? null : handle.getCompiled();
+        ValidationEngine current = engine;
+        if (compiled != null && (current == ValidationEngine.POJO || isScalar(payload))) {
+            boolean valid = compiled.isValid(pojoModel, payload);
+            currentMetrics.evaluated(handle, System.nanoTime() - start);
+            if (valid) {
+                return;
+            }
+            throw rejected(handle, payload instanceof JsonNode node ? node.deepCopy()
+                    : objectMapper.valueToTree(payload));
+        }
+        long converting = System.nanoTime();
+        JsonNode tree = payload instanceof JsonNode node ? node : objectMapper.valueToTree(payload);
+        long evaluating = System.nanoTime();
+        currentMetrics.converted(handle, evaluating - converting);
+        try {
+            if (compiled != null && current == ValidationEngine.COMPILED) {
+                if (compiled.isValid(treeModel, tree)) {
+                    return;
+                }
+                // a tree of the caller may still change, the one converted above is only ours
+                throw rejected(handle, tree == payload ? tree.deepCopy() : tree);
+            }
+            validateTree(handle, tree);
+        } finally {
+            currentMetrics.evaluated(handle, System.nanoTime() - evaluating);
+        }
+    }
+
+    /**
+     * Values a tree would only wrap, so the compiled checks read them in place whatever the engine.
+     */
+    private static boolean isScalar(Object payload) {
+        return payload instanceof String || payload instanceof Integer || payload instanceof Long
+                || payload instanceof Boolean || payload instanceof Double || payload instanceof Short
+                || payload instanceof Byte || payload instanceof Float;
+    }
+
+    /**
+     * Resolve (and cache) the compiled form of a schema so callers can hold on to it.
+     */
+    public SchemaHandle getSchema(String schemaAsString) {
+        return getSchema(SchemaKey.of(schemaAsString), schemaAsString);
+    }
+
+    /**
+     * Same as {@link #getSchema(String)} with a key the caller computed once for that text.
+     */
+    public SchemaHandle getSchema(SchemaKey key, String schemaAsString) {
+        return schemaCache.get(key, newKey -> buildSchemaFromString(schemaAsString, SchemaOptions.DEFAULT));
+    }
+
+    /**
+     * Resolve (and cache) the variant of a schema evaluated with the given options.
+     */
+    public SchemaHandle getSchema(String schemaAsString, SchemaOptions options) {
+        if (options.equals(SchemaOptions.DEFAULT)) {
+            return getSchema(schemaAsString);
+        }
+        return schemaCache.get(SchemaKey.of(schemaAsString, options.variant()),
+                newKey -> buildSchemaFromString(schemaAsString, options));
+    }
+
+    /**
+     * Resolve (and cache) a schema of the {@link SchemaCatalog} by its {@code $id}, its path in the catalog
+     * or its classpath resource, optionally followed by a JSON pointer fragment.
+     * Every schema referencing the same document shares one instance of it.
+     */
+    public SchemaHandle getSchemaRef(String ref) {
+        return getSchemaRef(ref, SchemaOptions.DEFAULT);
+    }
+
+    public SchemaHandle getSchemaRef(String ref, SchemaOptions options) {
+        URI uri = catalog.resolve(ref);
+        if (catalog.text(uri) == null) {
+            throw new LoadingFailedException("Schema " + ref + " is not in the catalog", null);
+        }
+        return getSchema(objectMapper.createObjectNode().put("$ref", uri.toString()).toString(), options);
+    }
+
+    public SchemaCatalog getCatalog() {
+        return catalog;
+    }
+
+    /**
+     * Same as {@link #validate(SchemaHandle, Object)}, remembering the outcome for immutable payloads
+     * so that repeated values are validated once.
+     */
+    public void validateCached(SchemaHandle handle, Object payload) throws JsonSchemaException {
+        resultCache.validate(handle, payload, this::validate);
+    }
+
+    /**
+     * Same as {@link #validate(SchemaHandle, Object)} for a collection or object array, validated one element at
+     * a time when the array schema allows it (see {@link SchemaHandle#getItems()}): only the tree of one element
+     * is held, and a fail-fast schema stops at the first rejected element.
+     */
+    public void validateCollection(SchemaHandle handle, Object payload, CollectionOptions options)
+            throws JsonSchemaException {
+        if (handle.getItems() == null || !CollectionValidation.supports(payload)) {
+            validate(handle, payload);
+            return;
+        }
+        CollectionValidation.run(handle, payload, options, this::validate, objectMapper::valueToTree);
+    }
+
+    /**
+     * Validate a JSON document given as a {@code String}, {@code byte[]}, {@code ByteBuffer} or
+     * {@code InputStream}, parsed once rather than converted as a Java value; other payloads are validated
+     * as by {@link #validate(SchemaHandle, Object)}. The built-in schemas are evaluated on the first tokens
+     * of the document only.
+     *
+     * @return the payload to use instead of the given one: a stream is replaced by one replaying what was read
+     * @throws UnProcessableObject also when the payload is not JSON
+     */
+    public Object validateJson(SchemaHandle handle, Object payload) throws JsonSchemaException {
+        if (!RawJson.supports(payload)) {
+            validate(handle, payload);
+            return payload;
+        }
+        RawJson json = RawJson.of(payload);
+        try {
+            TokenCheck check = BuiltInChecks.forTokens(handle.getFastCheck());
+            if (check == null || !json.accepts(check)) {
+                validate(handle, json.tree(objectMapper));
+            }
+        } catch (IOException e) {
+            throw RawJson.malformed(e);
+        }
+        return json.argument();
+    }
+
+    /**
+     * Validate every payload against one schema, in parallel chunks, without throwing for the ones that
+     * do not match.
+     */
+    public BatchResult validateAll(String schemaAsString, Collection<?> payloads, BatchOptions options) {
+        return validateAll(getSchema(schemaAsString), payloads.iterator(), options);
+    }
+
+    public BatchResult validateAll(SchemaHandle handle, Stream<?> payloads, BatchOptions options) {
+        return validateAll(handle, payloads.iterator(), options);
+    }
+
+    public BatchResult validateAll(SchemaHandle handle, Iterator<?> payloads, BatchOptions options) {
+        return BatchValidation.run(handle, payloads, options, this::validate);
+    }
+
+    public SchemaCacheStats getSchemaCacheStats() {
+        return schemaCache.stats();
+    }
+
+    public ResultCacheStats getResultCacheStats() {
+        return resultCache.stats();
+    }
+
+    private void validateTree(SchemaHandle handle, JsonNode payload) {
+        Set<ValidationMessage> validationResults = evaluate(handle, payload);
+        if (validationResults == null || validationResults.isEmpty()) {
+            return;
+        }
+        throw new UnProcessableObject(() -> validationResults, "Validation Error: ", stacklessRejections);
+    }
+
+    /**
+     * A compiled schema rejects exactly what networknt rejects, so its messages are only computed if someone
+     * reads them, from a snapshot of the payload taken now so that changing the payload afterwards cannot
+     * alter them.
+     */
+    private UnProcessableObject rejected(SchemaHandle handle, JsonNode snapshot) {
+        JsonNode tree = snapshot == null ? NullNode.getInstance() : snapshot;
+        return new UnProcessableObject(() -> evaluate(handle, tree), "Validation Error: ", stacklessRejections);
+    }
+
+    /**
+     * @return at most {@link SchemaOptions#maxErrors()} messages; a fail-fast schema reports its first error
+     * by throwing.
+     */
+    private Set<ValidationMessage> evaluate(SchemaHandle handle, JsonNode payload) {
+        Set<ValidationMessage> messages;
+        try {
+            JsonSchema schema = profiler.isEnabled() ? profiler.schemaFor(handle, this::buildProfiledSchema)
+                    : handle.getSchema();
+            messages = schema.validate(payload);
+        } catch (JsonSchemaException e) {
+            if (!handle.getOptions().stopsAtFirstError() || e.getValidationMessages().isEmpty()) {
+                throw e;
+            }
+            messages = e.getValidationMessages();
+        }
+        int maxErrors = handle.getOptions().maxErrors();
+        if (maxErrors == 0 || messages.size() <= maxErrors) {
+            return messages;
+        }
+        Set<ValidationMessage> limited = new LinkedHashSet<>();
+        for (ValidationMessage message : messages) {
+            if (limited.size() == maxErrors) {
+                break;
+            }
+            limited.add(message);
+        }
+        return limited;
+    }
+
+    private SchemaHandle buildSchemaFromString(String schemaAsString, SchemaOptions options) {
+        long start = System.nanoTime();
+        try {
+            JsonSchemaFactory factory = factory(options);
+            JsonSchema schema = factory.getSchema(schemaAsString,
+                    SchemaFactories.newConfig(options.stopsAtFirstError(), options.typeLoose()));
+            // resolves every $ref now rather than on the first validation
+            schema.initializeValidators();
+            // sub-schemas left to networknt keep the options of the schema: stopping at the first error would
+            // change the outcome of applicators such as anyOf
+            SchemaCompiler compiler = new SchemaCompiler(options.typeLoose(), options.stopsAtFirstError(),
+                    schemaNode -> factory.getSchema(schemaNode,
+                            SchemaFactories.newConfig(options.stopsAtFirstError(), options.typeLoose())));
+            SchemaHandle handle = new SchemaHandle(schemaAsString, schema, BuiltInChecks.forSchema(schemaAsString),
+                    compiler.compile(schema.getSchemaNode()), options,
+                    ItemsSchema.of(schema.getSchemaNode(), items -> buildSchemaFromString(items, options)));
+            metrics.schemaLoaded(System.nanoTime() - start, true);
+            return handle;
+        } catch (Exception e) {
+            metrics.schemaLoaded(System.nanoTime() - start, false);
+            log.warn("Failed to load schema: {}", schemaAsString, e);
+            throw new LoadingFailedException("Failed to load schema: " + schemaAsString, e);
+        }
+    }
+
+    private JsonSchema buildProfiledSchema(SchemaHandle handle) {
+        SchemaOptions options = handle.getOptions();
+        JsonSchemaFactory factory = profiledFactories.computeIfAbsent(options, newOptions -> {
+            JsonSchemaFactory.Builder builder = JsonSchemaFactory.builder(FACTORY);
+            SchemaFactories.META_SCHEMAS.forEach(metaSchema -> builder.addMetaSchema(profiler.instrument(metaSchema)));
+            return (catalog.isEmpty() ? builder : catalog.configure(builder)).build();
+        });
+        JsonSchema schema = factory.getSchema(handle.getSchemaText(),
+                SchemaFactories.newConfig(options.stopsAtFirstError(), options.typeLoose()));
+        schema.initializeValidators();
+        return schema;
+    }
+
+    private JsonSchemaFactory factory(SchemaOptions options) {
+        if (catalog.isEmpty()) {
+            return FACTORY;
+        }
+        return factories.computeIfAbsent(options,
+                newOptions -> catalog.configure(JsonSchemaFactory.builder(FACTORY)).build());
+    }
+
+    private record RecentSchema(String text, SchemaKey key, Function<SchemaKey, SchemaHandle> loader) {
+    }
+}
@@ -15,5 +15,12 @@ public @interface ValidatedMethod {
     boolean allowNull() default false;
     boolean allowEmpty() default false;
     boolean throwException() default false;
+    /**
+     * Same as {@link ValidatedParam#failFast()}, {@link ValidatedParam#typeLoose()} and
+     * {@link ValidatedParam#maxErrors()}, for every parameter.
+     */
+    boolean failFast() default false;
+    boolean typeLoose() default true;
+    int maxErrors() default 0;
 
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.eldar.jsonschema.validators.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target({ElementType.PARAMETER})
+@Retention(value = RetentionPolicy.RUNTIME)
+/**
+ * Validate a method parameter using a given JSON Schema.
+ * for example @ValidParam(ValidationSchema.NON_EMPTY_STRING)
+ */
+public @interface ValidatedParam {
+    /**
+     Provide an explicit JSON Schema validation.
+     **/
+    String value() default "";
+    /**
+     Validate against a schema of the SchemaCatalog instead, by $id, path in the catalog or classpath resource
+     (classpath:schemas/order.json), optionally with a JSON pointer fragment (#/$defs/address).
+     **/
+    String ref() default "";
+    boolean throwException() default false;
+    /**
+     Remember the outcome for arguments of immutable types (strings, boxed numbers, enums, records of those,
+     List.of/Set.of/Map.of of those) so that the same value is only validated once. Other arguments are always validated.
+     **/
+    boolean cacheResult() default false;
+    /**
+     Stop evaluating at the first error, e.g. when a rejected argument only leads to the default value.
+     **/
+    boolean failFast() default false;
+    /**
+     Accept strings holding numbers or booleans where those are expected.
+     **/
+    boolean typeLoose() default true;
+    /**
+     Report at most this many errors, 0 for all of them; 1 stops at the first error.
+     **/
+    int maxErrors() default 0;
+    /**
+     Validate a List, Set or object array one element at a time against the items of an array schema, without
+     converting the whole collection at once; failFast stops at the first rejected element.
+     **/
+    boolean streamItems() default false;
+    /**
+     With streamItems, split collections with more elements than this across the validation executor;
+     0 to validate on the calling thread.
+     **/
+    int parallelAbove() default 0;
+    /**
+     The argument is a JSON document given as a String, byte[], ByteBuffer or InputStream: it is parsed and
+     validated as such instead of as a Java value. An InputStream is passed on replaying the bytes read.
+     **/
+    boolean json() default false;
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.eldar.jsonschema.validators.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target({ElementType.METHOD})
+@Retention(value = RetentionPolicy.RUNTIME)
+/**
+ * Validate the value returned by the method using a given JSON Schema.
+ * For CompletableFuture, Mono and Flux the completed value (each element for Flux) is validated.
+ * for example @ValidatedReturn(value = ValidationSchema.NON_EMPTY_OBJECT, sampleEvery = 100)
+ */
+public @interface ValidatedReturn {
+    /**
+     Provide an explicit JSON Schema validation.
+     **/
+    String value();
+    /**
+     Validate about one call in sampleEvery, chosen at random. 1 validates every call.
+     **/
+    int sampleEvery() default 1;
+    /**
+     Validate at most this many calls per second, 0 for no limit.
+     **/
+    int maxPerSecond() default 0;
+    /**
+     Throw when the returned value does not match; otherwise the failure is only logged and counted
+     and the value is returned as is.
+     **/
+    boolean throwException() default false;
+}
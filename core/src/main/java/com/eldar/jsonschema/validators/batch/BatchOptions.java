@@ -0,0 +1,48 @@
+package com.eldar.jsonschema.validators.batch;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * How a batch is validated.
+ *
+ * @param executor  runs the chunks; the common fork-join pool by default
+ * @param chunkSize payloads validated together by one task
+ * @param maxErrors validation stops once this many payloads failed
+ */
+public record BatchOptions(Executor executor, int chunkSize, int maxErrors) {
+
+    public static final int DEFAULT_CHUNK_SIZE = 256;
+
+    public BatchOptions {
+        if (executor == null) {
+            throw new IllegalArgumentException("executor must not be null");
+        }
+        if (chunkSize < 1 || maxErrors < 1) {
+            throw new IllegalArgumentException("chunkSize and maxErrors must be positive");
+        }
+    }
+
+    public static BatchOptions defaults() {
+        return new BatchOptions(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE, Integer.MAX_VALUE);
+    }
+
+    public BatchOptions withExecutor(Executor executor) {
+        return new BatchOptions(executor, chunkSize, maxErrors);
+    }
+
+    public BatchOptions withChunkSize(int chunkSize) {
+        return new BatchOptions(executor, chunkSize, maxErrors);
+    }
+
+    public BatchOptions withMaxErrors(int maxErrors) {
+        return new BatchOptions(executor, chunkSize, maxErrors);
+    }
+
+    /**
+     * Stop at the first failure.
+     */
+    public BatchOptions failFast() {
+        return withMaxErrors(1);
+    }
+}
@@ -0,0 +1,78 @@
+package com.eldar.jsonschema.validators.batch;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.NavigableMap;
+import java.util.stream.IntStream;
+
+/**
+ * Outcome of a batch, by position of the payload in its source. Passing payloads cost one bit;
+ * only failures keep their exception, whose messages are formatted when read.
+ * When a cut-off stopped the batch, some payloads may not have been validated at all.
+ */
+public final class BatchResult {
+
+    private final int size;
+    private final BitSet validated;
+    private final NavigableMap<Integer, RuntimeException> failures;
+
+    BatchResult(int size, BitSet validated, NavigableMap<Integer, RuntimeException> failures) {
+        this.size = size;
+        this.validated = validated;
+        this.failures = Collections.unmodifiableNavigableMap(failures);
+    }
+
+    /**
+     * @return how many payloads were read from the source
+     */
+    public int size() {
+        return size;
+    }
+
+    public int validatedCount() {
+        return validated.cardinality();
+    }
+
+    public int errorCount() {
+        return failures.size();
+    }
+
+    /**
+     * @return whether every payload read was validated, i.e. no cut-off was reached
+     */
+    public boolean isComplete() {
+        return validatedCount() == size;
+    }
+
+    /**
+     * @return whether every payload was validated and passed
+     */
+    public boolean isValid() {
+        return failures.isEmpty() && isComplete();
+    }
+
+    public boolean isValidated(int index) {
+        return validated.get(index);
+    }
+
+    public boolean isValid(int index) {
+        return validated.get(index) && !failures.containsKey(index);
+    }
+
+    /**
+     * @return the exception the payload at this position failed with, usually an
+     * {@link com.eldar.jsonschema.exception.UnProcessableObject}, or null
+     */
+    public RuntimeException failure(int index) {
+        return failures.get(index);
+    }
+
+    public IntStream failedIndexes() {
+        return failures.keySet().stream().mapToInt(Integer::intValue);
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult{size=" + size + ", validated=" + validatedCount() + ", errors=" + errorCount() + "}";
+    }
+}
@@ -0,0 +1,184 @@
+package com.eldar.jsonschema.validators.batch;
+
+import com.eldar.jsonschema.validators.SchemaHandle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Validates payloads in chunks on an executor. The source is read by the calling thread, with a
+ * bounded number of chunks in flight so that it is read no faster than it is validated; a chunk drops its
+ * payloads once validated. A caller running on a fork-join pool, such as a chunk of an enclosing batch,
+ * waits for a free slot as a managed blocker, so the pool can compensate instead of starving.
+ */
+public final class BatchValidation {
+
+    private final SchemaHandle handle;
+    private final BatchOptions options;
+    private final BiConsumer<SchemaHandle, Object> validation;
+    private final AtomicInteger errors = new AtomicInteger();
+    private volatile boolean stopped;
+
+    private BatchValidation(SchemaHandle handle, BatchOptions options, BiConsumer<SchemaHandle, Object> validation) {
+        this.handle = handle;
+        this.options = options;
+        this.validation = validation;
+    }
+
+    /**
+     * @param validation validates one payload, throwing when it does not match
+     */
+    public static BatchResult run(SchemaHandle handle, Iterator<?> payloads, BatchOptions options,
+                                  BiConsumer<SchemaHandle, Object> validation) {
+        return new BatchValidation(handle, options, validation).run(payloads);
+    }
+
+    private BatchResult run(Iterator<?> payloads) {
+        Semaphore inFlight = new Semaphore(maxInFlight(options.executor()));
+        List<Chunk> chunks = new ArrayList<>();
+        int size = 0;
+        while (!stopped && payloads.hasNext()) {
+            Object[] items = new Object[options.chunkSize()];
+            int count = 0;
+            while (count < items.length && payloads.hasNext()) {
+                items[count++] = payloads.next();
+            }
+            Chunk chunk = new Chunk(size, items, count);
+            size += count;
+            acquire(inFlight);
+            try {
+                chunk.future = CompletableFuture.runAsync(chunk::validate, options.executor())
+                        .whenComplete((ignored, failure) -> inFlight.release());
+            } catch (RuntimeException e) {
+                inFlight.release();
+                throw e;
+            }
+            chunks.add(chunk);
+        }
+        BitSet validated = new BitSet(size);
+        NavigableMap<Integer, RuntimeException> failures = new TreeMap<>();
+        for (Chunk chunk : chunks) {
+            join(chunk.future);
+            validated.set(chunk.start, chunk.start + chunk.validated);
+            for (int i = 0; i < chunk.failureCount; i++) {
+                failures.put(chunk.start + chunk.failedOffsets[i], chunk.failures[i]);
+            }
+        }
+        return new BatchResult(size, validated, failures);
+    }
+
+    private static void acquire(Semaphore semaphore) {
+        if (semaphore.tryAcquire()) {
+            return;
+        }
+        try {
+            ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+                @Override
+                public boolean block() {
+                    semaphore.acquireUninterruptibly();
+                    return true;
+                }
+
+                @Override
+                public boolean isReleasable() {
+                    return semaphore.tryAcquire();
+                }
+            });
+        } catch (InterruptedException e) {
+            // block() waits uninterruptibly, so this is never thrown
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static int maxInFlight(Executor executor) {
+        int parallelism = executor instanceof ForkJoinPool pool
+                ? pool.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        return Math.max(2, parallelism * 2);
+    }
+
+    private static void join(CompletableFuture<Void> future) {
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private final class Chunk {
+        private final int start;
+        private Object[] items;
+        private final int count;
+        private int validated;
+        private int failureCount;
+        private int[] failedOffsets;
+        private RuntimeException[] failures;
+        private CompletableFuture<Void> future;
+
+        private Chunk(int start, Object[] items, int count) {
+            this.start = start;
+            this.items = items;
+            this.count = count;
+        }
+
+        private void validate() {
+            try {
+                validateItems();
+            } finally {
+                items = null;
+            }
+        }
+
+        private void validateItems() {
+            for (int i = 0; i < count && !stopped; i++) {
+                try {
+                    validation.accept(handle, items[i]);
+                } catch (RuntimeException e) {
+                    int errorCount = errors.incrementAndGet();
+                    if (errorCount > options.maxErrors()) {
+                        // another chunk reached the cut-off first; this payload is reported as not validated
+                        stopped = true;
+                        return;
+                    }
+                    addFailure(i, e);
+                    if (errorCount == options.maxErrors()) {
+                        stopped = true;
+                    }
+                } finally {
+                    items[i] = null;
+                }
+                validated = i + 1;
+            }
+        }
+
+        private void addFailure(int offset, RuntimeException failure) {
+            if (failures == null) {
+                failedOffsets = new int[4];
+                failures = new RuntimeException[4];
+            } else if (failureCount == failures.length) {
+                failedOffsets = Arrays.copyOf(failedOffsets, failureCount * 2);
+                failures = Arrays.copyOf(failures, failureCount * 2);
+            }
+            failedOffsets[failureCount] = offset;
+            failures[failureCount++] = failure;
+        }
+    }
+}
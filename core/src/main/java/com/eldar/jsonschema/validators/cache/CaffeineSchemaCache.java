@@ -0,0 +1,52 @@
+package com.eldar.jsonschema.validators.cache;
+
+import com.eldar.jsonschema.validators.SchemaHandle;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.util.function.Function;
+
+/**
+ * {@link SchemaCache} bounded by the total length of the cached schema texts, evicting with
+ * Caffeine's frequency aware W-TinyLFU policy so that a stream of one-off schemas cannot push
+ * out the ones used on every request.
+ */
+public class CaffeineSchemaCache implements SchemaCache {
+
+    /**
+     * Total schema text, in chars, kept by default.
+     */
+    public static final long DEFAULT_MAXIMUM_WEIGHT = 8L * 1024 * 1024;
+
+    private final Cache<SchemaKey, SchemaHandle> cache;
+
+    public CaffeineSchemaCache() {
+        this(DEFAULT_MAXIMUM_WEIGHT);
+    }
+
+    public CaffeineSchemaCache(long maximumWeight) {
+        cache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((SchemaKey key, SchemaHandle handle) -> handle.getSchemaText().length())
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public SchemaHandle get(SchemaKey key, Function<SchemaKey, SchemaHandle> loader) {
+        return cache.get(key, loader);
+    }
+
+    @Override
+    public SchemaCacheStats stats() {
+        CacheStats stats = cache.stats();
+        return new SchemaCacheStats(stats.hitCount(), stats.missCount(), stats.loadFailureCount(),
+                stats.evictionCount(), stats.totalLoadTime(), cache.estimatedSize());
+    }
+
+    @Override
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
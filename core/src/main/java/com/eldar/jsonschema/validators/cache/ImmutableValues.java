@@ -0,0 +1,127 @@
+package com.eldar.jsonschema.validators.cache;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Tells which values cannot change once created, so that their validation outcome can be remembered.
+ * Classes are inspected once; immutable JDK collections ({@code List.of}, {@code Set.of}, {@code Map.of})
+ * additionally have their elements checked on every call.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ImmutableValues {
+
+    /**
+     * Larger collections cost about as much to hash as to validate.
+     */
+    private static final int MAX_COLLECTION_SIZE = 32;
+    private static final int MAX_DEPTH = 4;
+    private static final String IMMUTABLE_COLLECTIONS = "java.util.ImmutableCollections$";
+    private static final Set<Class<?>> VALUE_TYPES = Set.of(String.class, Boolean.class, Character.class,
+            Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class, BigInteger.class,
+            BigDecimal.class, UUID.class, LocalDate.class, LocalTime.class, LocalDateTime.class, Instant.class,
+            OffsetDateTime.class, ZonedDateTime.class, Duration.class);
+
+    private enum Kind {IMMUTABLE, COLLECTION, MAP, MUTABLE}
+
+    private static final ClassValue<Kind> KINDS = new ClassValue<>() {
+        @Override
+        protected Kind computeValue(Class<?> type) {
+            if (VALUE_TYPES.contains(type) || type.isEnum() || isEnumConstantBody(type)) {
+                return Kind.IMMUTABLE;
+            }
+            if (type.isRecord()) {
+                return componentsImmutable(type, new HashSet<>()) ? Kind.IMMUTABLE : Kind.MUTABLE;
+            }
+            if (type.getName().startsWith(IMMUTABLE_COLLECTIONS)) {
+                if (Map.class.isAssignableFrom(type)) {
+                    return Kind.MAP;
+                }
+                return Collection.class.isAssignableFrom(type) ? Kind.COLLECTION : Kind.MUTABLE;
+            }
+            return Kind.MUTABLE;
+        }
+    };
+
+    public static boolean isImmutable(Object value) {
+        return isImmutable(value, 0);
+    }
+
+    private static boolean isImmutable(Object value, int depth) {
+        if (value == null) {
+            return true;
+        }
+        switch (KINDS.get(value.getClass())) {
+            case IMMUTABLE:
+                return true;
+            case COLLECTION:
+                Collection<?> collection = (Collection<?>) value;
+                if (depth >= MAX_DEPTH || collection.size() > MAX_COLLECTION_SIZE) {
+                    return false;
+                }
+                for (Object element : collection) {
+                    if (!isImmutable(element, depth + 1)) {
+                        return false;
+                    }
+                }
+                return true;
+            case MAP:
+                Map<?, ?> map = (Map<?, ?>) value;
+                if (depth >= MAX_DEPTH || map.size() > MAX_COLLECTION_SIZE) {
+                    return false;
+                }
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    if (!isImmutable(entry.getKey(), depth + 1) || !isImmutable(entry.getValue(), depth + 1)) {
+                        return false;
+                    }
+                }
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * A record is immutable when the declared type of each component is; a non final declared type
+     * could hold a mutable subclass.
+     */
+    private static boolean componentsImmutable(Class<?> record, Set<Class<?>> visiting) {
+        visiting.add(record);
+        for (RecordComponent component : record.getRecordComponents()) {
+            Class<?> type = component.getType();
+            if (type.isPrimitive() || type.isEnum()) {
+                continue;
+            }
+            if (VALUE_TYPES.contains(type) && Modifier.isFinal(type.getModifiers())) {
+                continue;
+            }
+            if (type.isRecord() && (visiting.contains(type) || componentsImmutable(type, visiting))) {
+                continue;
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean isEnumConstantBody(Class<?> type) {
+        Class<?> superclass = type.getSuperclass();
+        return superclass != null && superclass.isEnum();
+    }
+}
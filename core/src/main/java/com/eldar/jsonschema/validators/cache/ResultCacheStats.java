@@ -0,0 +1,15 @@
+package com.eldar.jsonschema.validators.cache;
+
+/**
+ * Point-in-time counters of a {@link ValidationResultCache}, cumulative since it was created.
+ *
+ * @param skippedCount payloads validated without the cache because they may be mutable
+ */
+public record ResultCacheStats(long hitCount, long missCount, long evictionCount, long skippedCount,
+                               long estimatedSize) {
+
+    public double hitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+}
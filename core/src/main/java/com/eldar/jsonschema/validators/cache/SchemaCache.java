@@ -0,0 +1,21 @@
+package com.eldar.jsonschema.validators.cache;
+
+import com.eldar.jsonschema.validators.SchemaHandle;
+
+import java.util.function.Function;
+
+/**
+ * Holds the schemas resolved by {@link com.eldar.jsonschema.validators.ValidatorService}.
+ * Implementations must be thread safe and load a missing key at most once at a time.
+ */
+public interface SchemaCache {
+
+    /**
+     * @return the cached schema, loading it with {@code loader} when absent.
+     */
+    SchemaHandle get(SchemaKey key, Function<SchemaKey, SchemaHandle> loader);
+
+    SchemaCacheStats stats();
+
+    void invalidateAll();
+}
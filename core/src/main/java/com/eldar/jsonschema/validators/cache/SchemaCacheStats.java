@@ -0,0 +1,13 @@
+package com.eldar.jsonschema.validators.cache;
+
+/**
+ * Point-in-time counters of a {@link SchemaCache}, cumulative since it was created.
+ */
+public record SchemaCacheStats(long hitCount, long missCount, long loadFailureCount, long evictionCount,
+                               long totalLoadTimeNanos, long estimatedSize) {
+
+    public double hitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+}
@@ -0,0 +1,114 @@
+package com.eldar.jsonschema.validators.cache;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+import java.security.SecureRandom;
+
+/**
+ * Cache key of a schema text: a 128-bit fingerprint used for bucketing, and the text itself, compared
+ * whenever two fingerprints match so that a collision never returns another schema.
+ * The fingerprint is MurmurHash3 (x64, 128-bit) over the UTF-16 chars, seeded per JVM.
+ * Compute it once and reuse it for repeated lookups.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class SchemaKey {
+
+    private static final long SEED = new SecureRandom().nextLong();
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5c2c9127f3305L;
+
+    private final long high;
+    private final long low;
+    private final long variant;
+    private final String text;
+
+    public static SchemaKey of(String schemaText) {
+        return of(schemaText, 0);
+    }
+
+    /**
+     * Key of one variant of a schema text, e.g. the same schema loaded with other options.
+     * Variant 0 is {@link #of(String)}.
+     */
+    public static SchemaKey of(String schemaText, long variant) {
+        int length = schemaText.length();
+        long h1 = SEED ^ variant;
+        long h2 = SEED;
+        int index = 0;
+        for (; index + 8 <= length; index += 8) {
+            h1 ^= mixK1(pack(schemaText, index, 4));
+            h1 = Long.rotateLeft(h1, 27) + h2;
+            h1 = h1 * 5 + 0x52dce729;
+            h2 ^= mixK2(pack(schemaText, index + 4, 4));
+            h2 = Long.rotateLeft(h2, 31) + h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+        int remaining = length - index;
+        if (remaining > 4) {
+            h2 ^= mixK2(pack(schemaText, index + 4, remaining - 4));
+        }
+        if (remaining > 0) {
+            h1 ^= mixK1(pack(schemaText, index, Math.min(remaining, 4)));
+        }
+        h1 ^= 2L * length;
+        h2 ^= 2L * length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix(h1);
+        h2 = fmix(h2);
+        h1 += h2;
+        h2 += h1;
+        return new SchemaKey(h1, h2, variant, schemaText);
+    }
+
+    private static long pack(String text, int from, int count) {
+        long packed = 0;
+        for (int i = 0; i < count; i++) {
+            packed |= (long) text.charAt(from + i) << (16 * i);
+        }
+        return packed;
+    }
+
+    private static long mixK1(long k1) {
+        return Long.rotateLeft(k1 * C1, 31) * C2;
+    }
+
+    private static long mixK2(long k2) {
+        return Long.rotateLeft(k2 * C2, 33) * C1;
+    }
+
+    private static long fmix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SchemaKey other)) {
+            return false;
+        }
+        return high == other.high && low == other.low && variant == other.variant && text.equals(other.text);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(high);
+    }
+
+    /**
+     * The fingerprint alone. It is seeded per JVM, see {@link com.eldar.jsonschema.validators.SchemaNames}
+     * for a name that stays the same across runs.
+     */
+    @Override
+    public String toString() {
+        return String.format("%016x%016x", high, low);
+    }
+}
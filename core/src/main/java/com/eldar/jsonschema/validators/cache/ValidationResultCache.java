@@ -0,0 +1,82 @@
+package com.eldar.jsonschema.validators.cache;
+
+import com.eldar.jsonschema.exception.UnProcessableObject;
+import com.eldar.jsonschema.validators.SchemaHandle;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.networknt.schema.ValidationMessage;
+
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * Bounded memo of validation outcomes, keyed by schema handle and argument value. Only values
+ * {@link ImmutableValues#isImmutable(Object) known to be immutable} are remembered; the others are
+ * validated every time and counted as skipped. A failure is remembered as its messages, and each later
+ * lookup throws a new exception with them.
+ */
+public class ValidationResultCache {
+
+    public static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    private static final Object PASSED = new Object();
+
+    private final Cache<Key, Object> cache;
+    private final LongAdder skipped = new LongAdder();
+
+    private record Key(SchemaHandle handle, Object value) {
+    }
+
+    private record Failure(Set<ValidationMessage> validations, String message, boolean stackless) {
+
+        UnProcessableObject rejection() {
+            return new UnProcessableObject(() -> validations, message, stackless);
+        }
+    }
+
+    public ValidationResultCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public ValidationResultCache(long maximumSize) {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @param validation validates a payload, throwing {@link UnProcessableObject} when it does not match.
+     *                   Any other exception is passed on and not remembered.
+     */
+    public void validate(SchemaHandle handle, Object payload, BiConsumer<SchemaHandle, Object> validation) {
+        if (!ImmutableValues.isImmutable(payload)) {
+            skipped.increment();
+            validation.accept(handle, payload);
+            return;
+        }
+        Object outcome = cache.get(new Key(handle, payload), key -> {
+            try {
+                validation.accept(handle, payload);
+                return PASSED;
+            } catch (UnProcessableObject e) {
+                return new Failure(e.getValidations(), e.getMessage(), e.isStackless());
+            }
+        });
+        if (outcome != PASSED) {
+            throw ((Failure) outcome).rejection();
+        }
+    }
+
+    public ResultCacheStats stats() {
+        CacheStats stats = cache.stats();
+        return new ResultCacheStats(stats.hitCount(), stats.missCount(), stats.evictionCount(),
+                skipped.sum(), cache.estimatedSize());
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
@@ -0,0 +1,300 @@
+package com.eldar.jsonschema.validators.catalog;
+
+import com.eldar.jsonschema.exception.LoadingFailedException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.networknt.schema.JsonSchemaFactory;
+import com.networknt.schema.uri.URIFactory;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * JSON schema documents loaded up front from the classpath or a directory, which {@code $ref}s are resolved
+ * against without going to the network. Each {@code .json} file is known as {@code catalog:/<path>}, its
+ * classpath resource or its path in the directory, and by its {@code $id} ({@code id} for draft-04) when it
+ * declares one. Relative references resolve against either, so {@code "$ref": "address.json#/$defs/zip"} in
+ * {@code catalog:/dto/order.json} reads {@code catalog:/dto/address.json}.
+ * <p>
+ * Schemas loaded through a catalog share one instance of each referenced document, see
+ * {@link com.eldar.jsonschema.validators.ValidatorService#getSchemaRef(String)}.
+ */
+@Slf4j
+public final class SchemaCatalog {
+
+    public static final String SCHEME = "catalog";
+    public static final String CLASSPATH_PREFIX = "classpath:";
+    public static final String FILE_PREFIX = "file:";
+    public static final SchemaCatalog EMPTY = new SchemaCatalog(Map.of(), Map.of());
+
+    private static final URI ROOT = URI.create(SCHEME + ":/");
+    /**
+     * Schemes answered from the catalog, so that nothing is fetched remotely.
+     */
+    private static final List<String> FETCHED_SCHEMES = List.of(SCHEME, "http", "https", "file", "jar",
+            "classpath", "resource");
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<URI, byte[]> documents;
+    /**
+     * Declared {@code $id}s, by which networknt is told to load the document under its catalog name.
+     */
+    private final Map<URI, URI> aliases;
+
+    private SchemaCatalog(Map<URI, byte[]> documents, Map<URI, URI> aliases) {
+        this.documents = documents;
+        this.aliases = aliases;
+    }
+
+    /**
+     * @param locations {@code classpath:<resource directory>} or {@code file:<directory>}; a location
+     *                  without prefix is a classpath resource directory
+     */
+    public static SchemaCatalog load(ClassLoader classLoader, List<String> locations) {
+        SchemaCatalog catalog = EMPTY;
+        for (String location : locations) {
+            catalog = catalog.merge(location.startsWith(FILE_PREFIX)
+                    ? fromDirectory(Path.of(location.substring(FILE_PREFIX.length())))
+                    : fromClasspath(classLoader, location.startsWith(CLASSPATH_PREFIX)
+                    ? location.substring(CLASSPATH_PREFIX.length())
+                    : location));
+        }
+        return catalog;
+    }
+
+    /**
+     * Every {@code .json} resource under a classpath directory, in directories and jars alike.
+     */
+    public static SchemaCatalog fromClasspath(ClassLoader classLoader, String location) {
+        String prefix = trimSlashes(location);
+        Map<URI, byte[]> documents = new LinkedHashMap<>();
+        Map<URI, URI> aliases = new LinkedHashMap<>();
+        try {
+            Enumeration<URL> roots = classLoader.getResources(prefix);
+            while (roots.hasMoreElements()) {
+                URL root = roots.nextElement();
+                if ("file".equals(root.getProtocol())) {
+                    addDirectory(documents, aliases, Path.of(root.toURI()), prefix.isEmpty() ? "" : prefix + "/");
+                } else if ("jar".equals(root.getProtocol())) {
+                    addJar(documents, aliases, root, prefix.isEmpty() ? "" : prefix + "/");
+                } else {
+                    throw new LoadingFailedException("Cannot list schemas in " + root, null);
+                }
+            }
+        } catch (IOException | URISyntaxException | UncheckedIOException e) {
+            throw new LoadingFailedException("Failed to load schemas from classpath:" + location, e);
+        }
+        log.info("Loaded {} schemas from classpath:{}", documents.size(), location);
+        return new SchemaCatalog(Collections.unmodifiableMap(documents), Collections.unmodifiableMap(aliases));
+    }
+
+    /**
+     * Every {@code .json} file under a directory.
+     */
+    public static SchemaCatalog fromDirectory(Path directory) {
+        Map<URI, byte[]> documents = new LinkedHashMap<>();
+        Map<URI, URI> aliases = new LinkedHashMap<>();
+        try {
+            addDirectory(documents, aliases, directory, "");
+        } catch (IOException | UncheckedIOException e) {
+            throw new LoadingFailedException("Failed to load schemas from " + directory, e);
+        }
+        log.info("Loaded {} schemas from {}", documents.size(), directory);
+        return new SchemaCatalog(Collections.unmodifiableMap(documents), Collections.unmodifiableMap(aliases));
+    }
+
+    /**
+     * @throws LoadingFailedException if both catalogs know a document by the same name
+     */
+    public SchemaCatalog merge(SchemaCatalog other) {
+        if (other.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return other;
+        }
+        Map<URI, byte[]> merged = new LinkedHashMap<>(documents);
+        Map<URI, URI> mergedAliases = new LinkedHashMap<>(aliases);
+        other.documents.forEach((uri, document) -> put(merged, mergedAliases, uri, document));
+        other.aliases.forEach((alias, uri) -> put(merged, mergedAliases, alias, uri));
+        return new SchemaCatalog(Collections.unmodifiableMap(merged), Collections.unmodifiableMap(mergedAliases));
+    }
+
+    public boolean isEmpty() {
+        return documents.isEmpty();
+    }
+
+    /**
+     * @return the catalog name of every document.
+     */
+    public Set<URI> ids() {
+        return documents.keySet();
+    }
+
+    /**
+     * @param ref an {@code $id}, a path in the catalog, or a classpath resource prefixed with {@code classpath:},
+     *            optionally followed by a fragment
+     * @return the catalog name of the document, with the fragment of the reference.
+     */
+    public URI resolve(String ref) {
+        String path = ref.startsWith(CLASSPATH_PREFIX) ? ref.substring(CLASSPATH_PREFIX.length()) : ref;
+        URI uri = URI.create(path);
+        if (!uri.isAbsolute()) {
+            uri = ROOT.resolve(trimSlashes(path));
+        }
+        URI document = aliases.get(withoutFragment(uri));
+        if (document == null) {
+            return uri;
+        }
+        return uri.getRawFragment() == null ? document : URI.create(document + "#" + uri.getRawFragment());
+    }
+
+    /**
+     * @return the text of a document, or null when the catalog does not have it.
+     */
+    public String text(URI uri) {
+        URI name = withoutFragment(uri);
+        byte[] document = documents.get(aliases.getOrDefault(name, name));
+        return document == null ? null : new String(document, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Have a schema factory read every referenced document from this catalog.
+     */
+    public JsonSchemaFactory.Builder configure(JsonSchemaFactory.Builder builder) {
+        return builder
+                .uriFactory(new URIFactory() {
+                    @Override
+                    public URI create(String uri) {
+                        return URI.create(uri);
+                    }
+
+                    @Override
+                    public URI create(URI baseURI, String segment) {
+                        return baseURI.resolve(segment);
+                    }
+                }, SCHEME)
+                .uriFetcher(this::open, FETCHED_SCHEMES)
+                .addUriMappings(aliases.entrySet().stream()
+                        .collect(Collectors.toMap(alias -> alias.getKey().toString(), alias -> alias.getValue().toString())));
+    }
+
+    private InputStream open(URI uri) throws IOException {
+        URI name = withoutFragment(uri);
+        byte[] document = documents.get(aliases.getOrDefault(name, name));
+        if (document == null) {
+            throw new IOException("Schema " + uri + " is not in the catalog, remote schemas are not fetched");
+        }
+        return new ByteArrayInputStream(document);
+    }
+
+    private static void addDirectory(Map<URI, byte[]> documents, Map<URI, URI> aliases, Path directory, String prefix)
+            throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.filter(file -> Files.isRegularFile(file) && file.toString().endsWith(".json"))
+                    .sorted()
+                    .forEach(file -> {
+                        String name = prefix + directory.relativize(file).toString().replace('\\', '/');
+                        try {
+                            add(documents, aliases, name, Files.readAllBytes(file));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        }
+    }
+
+    private static void addJar(Map<URI, byte[]> documents, Map<URI, URI> aliases, URL root, String prefix)
+            throws IOException {
+        URLConnection connection = root.openConnection();
+        connection.setUseCaches(false);
+        try (JarFile jar = ((JarURLConnection) connection).getJarFile()) {
+            Enumeration<JarEntry> entries = jar.entries();
+            while (entries.hasMoreElements()) {
+                JarEntry entry = entries.nextElement();
+                if (!entry.isDirectory() && entry.getName().startsWith(prefix) && entry.getName().endsWith(".json")) {
+                    try (InputStream in = jar.getInputStream(entry)) {
+                        add(documents, aliases, entry.getName(), in.readAllBytes());
+                    }
+                }
+            }
+        }
+    }
+
+    private static void add(Map<URI, byte[]> documents, Map<URI, URI> aliases, String name, byte[] document)
+            throws IOException {
+        URI uri = ROOT.resolve(name);
+        JsonNode schemaNode = objectMapper.readTree(document);
+        if (schemaNode == null || !schemaNode.isObject()) {
+            throw new LoadingFailedException("JSON schema must be a JSON object: " + uri, null);
+        }
+        put(documents, aliases, uri, document);
+        JsonNode id = schemaNode.has("$id") ? schemaNode.get("$id") : schemaNode.get("id");
+        if (id != null && id.isTextual()) {
+            URI declared = withoutFragment(uri.resolve(id.asText()));
+            if (!declared.equals(uri)) {
+                put(documents, aliases, declared, uri);
+            }
+        }
+    }
+
+    private static void put(Map<URI, byte[]> documents, Map<URI, URI> aliases, URI uri, byte[] document) {
+        checkUnique(documents, aliases, uri);
+        documents.put(uri, document);
+    }
+
+    private static void put(Map<URI, byte[]> documents, Map<URI, URI> aliases, URI alias, URI uri) {
+        checkUnique(documents, aliases, alias);
+        aliases.put(alias, uri);
+    }
+
+    private static void checkUnique(Map<URI, byte[]> documents, Map<URI, URI> aliases, URI uri) {
+        if (documents.containsKey(uri) || aliases.containsKey(uri)) {
+            throw new LoadingFailedException("Duplicate schema " + uri, null);
+        }
+    }
+
+    private static URI withoutFragment(URI uri) {
+        if (uri.getFragment() == null && !uri.toString().endsWith("#")) {
+            return uri;
+        }
+        try {
+            return new URI(uri.getScheme(), uri.getSchemeSpecificPart(), null);
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private static String trimSlashes(String path) {
+        int start = 0;
+        int end = path.length();
+        while (start < end && path.charAt(start) == '/') {
+            start++;
+        }
+        while (end > start && path.charAt(end - 1) == '/') {
+            end--;
+        }
+        return path.substring(start, end);
+    }
+}
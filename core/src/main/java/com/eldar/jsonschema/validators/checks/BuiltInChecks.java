@@ -0,0 +1,99 @@
+package com.eldar.jsonschema.validators.checks;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.NoArgsConstructor;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static com.eldar.jsonschema.ValidationSchema.*;
+
+/**
+ * Plain Java equivalents of the {@link com.eldar.jsonschema.ValidationSchema} constants.
+ * Each predicate only returns true for payloads the schema is guaranteed to accept,
+ * without converting the payload to a JSON tree.
+ */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public final class BuiltInChecks {
+
+    private static final Map<String, Predicate<Object>> CHECKS = Map.of(
+            NOT_NULL, BuiltInChecks::isNotNull,
+            NON_EMPTY_STRING, BuiltInChecks::isNonEmptyString,
+            NON_EMPTY_ARRAY, BuiltInChecks::isNonEmptyArray,
+            NON_EMPTY_OBJECT, BuiltInChecks::isNonEmptyObject
+    );
+
+    /**
+     * The same checks on a JSON document, by fast check; they decide on one or two tokens whatever the size
+     * of the document, which {@link com.eldar.jsonschema.validators.json.RawJson#accepts} then reads to its end.
+     */
+    private static final Map<Predicate<Object>, TokenCheck> TOKEN_CHECKS = Map.of(
+            CHECKS.get(NOT_NULL), parser -> {
+                JsonToken token = parser.nextToken();
+                return token != null && token != JsonToken.VALUE_NULL;
+            },
+            CHECKS.get(NON_EMPTY_STRING), parser ->
+                    parser.nextToken() == JsonToken.VALUE_STRING && parser.getTextLength() > 0,
+            CHECKS.get(NON_EMPTY_ARRAY), parser ->
+                    parser.nextToken() == JsonToken.START_ARRAY && parser.nextToken() != JsonToken.END_ARRAY,
+            CHECKS.get(NON_EMPTY_OBJECT), parser ->
+                    parser.nextToken() == JsonToken.START_OBJECT && parser.nextToken() == JsonToken.FIELD_NAME
+    );
+
+    /**
+     * @return the fast check for a built-in schema, or null when the schema has none.
+     * The schemas are also recognized in the compact form the schema registry stores them in.
+     */
+    public static Predicate<Object> forSchema(String schemaAsString) {
+        Predicate<Object> check = CHECKS.get(schemaAsString);
+        if (check != null) {
+            return check;
+        }
+        for (Map.Entry<String, Predicate<Object>> entry : CHECKS.entrySet()) {
+            if (compact(entry.getKey()).equals(schemaAsString)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param fastCheck the {@link com.eldar.jsonschema.validators.SchemaHandle#getFastCheck()} of a schema
+     * @return the check of the same built-in schema on a raw JSON document, or null.
+     */
+    public static TokenCheck forTokens(Predicate<Object> fastCheck) {
+        return fastCheck == null ? null : TOKEN_CHECKS.get(fastCheck);
+    }
+
+    private static String compact(String schema) {
+        return schema.replaceAll("\\s", "");
+    }
+
+    public static boolean isNotNull(Object payload) {
+        return payload != null && !(payload instanceof JsonNode node && node.isNull());
+    }
+
+    public static boolean isNonEmptyString(Object payload) {
+        return payload instanceof String string && !string.isEmpty();
+    }
+
+    public static boolean isNonEmptyArray(Object payload) {
+        if (payload instanceof Collection<?> collection) {
+            return !collection.isEmpty();
+        }
+        if (payload instanceof Object[] array) {
+            return array.length > 0;
+        }
+        // byte[] and char[] are written as strings, leave those to the schema engine
+        return payload != null && payload.getClass().isArray()
+                && !(payload instanceof byte[]) && !(payload instanceof char[])
+                && Array.getLength(payload) > 0;
+    }
+
+    public static boolean isNonEmptyObject(Object payload) {
+        return payload instanceof Map<?, ?> map && !map.isEmpty();
+    }
+}
@@ -0,0 +1,19 @@
+package com.eldar.jsonschema.validators.checks;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+
+/**
+ * A built-in check evaluated on the first tokens of a JSON document, see {@link BuiltInChecks#forTokens}.
+ */
+@FunctionalInterface
+public interface TokenCheck {
+
+    /**
+     * @param parser positioned before the first token of the document
+     * @return true only when the schema is guaranteed to accept the document, provided the rest of it is
+     * well-formed
+     */
+    boolean accepts(JsonParser parser) throws IOException;
+}
@@ -0,0 +1,46 @@
+package com.eldar.jsonschema.validators.collection;
+
+import com.eldar.jsonschema.validators.batch.BatchOptions;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * How a collection is validated element by element.
+ *
+ * @param executor          validates the chunks of collections split across threads
+ * @param parallelThreshold collections with more elements than this are split across {@code executor},
+ *                          0 to always validate on the calling thread
+ * @param chunkSize         elements validated together by one task
+ */
+public record CollectionOptions(Executor executor, int parallelThreshold, int chunkSize) {
+
+    public CollectionOptions {
+        if (executor == null) {
+            throw new IllegalArgumentException("executor must not be null");
+        }
+        if (parallelThreshold < 0 || chunkSize < 1) {
+            throw new IllegalArgumentException("parallelThreshold must not be negative and chunkSize must be positive");
+        }
+    }
+
+    public static CollectionOptions sequential() {
+        return new CollectionOptions(ForkJoinPool.commonPool(), 0, BatchOptions.DEFAULT_CHUNK_SIZE);
+    }
+
+    public CollectionOptions withExecutor(Executor executor) {
+        return new CollectionOptions(executor, parallelThreshold, chunkSize);
+    }
+
+    public CollectionOptions withParallelThreshold(int parallelThreshold) {
+        return new CollectionOptions(executor, parallelThreshold, chunkSize);
+    }
+
+    public CollectionOptions withChunkSize(int chunkSize) {
+        return new CollectionOptions(executor, parallelThreshold, chunkSize);
+    }
+
+    boolean splits(int size) {
+        return parallelThreshold > 0 && size > parallelThreshold;
+    }
+}
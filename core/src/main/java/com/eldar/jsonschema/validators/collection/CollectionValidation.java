@@ -0,0 +1,307 @@
+package com.eldar.jsonschema.validators.collection;
+
+import com.eldar.jsonschema.exception.UnProcessableObject;
+import com.eldar.jsonschema.validators.SchemaHandle;
+import com.eldar.jsonschema.validators.SchemaOptions;
+import com.eldar.jsonschema.validators.batch.BatchOptions;
+import com.eldar.jsonschema.validators.batch.BatchResult;
+import com.eldar.jsonschema.validators.batch.BatchValidation;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.networknt.schema.ValidationMessage;
+import com.networknt.schema.ValidatorTypeCode;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Validates a collection or object array against an array schema one element at a time, so that only the
+ * JSON tree of the element being validated is held, and a fail-fast schema stops at the first rejected
+ * element. {@code minItems} and {@code maxItems} are checked against the size before any element;
+ * {@code uniqueItems} keeps a 64-bit fingerprint per element, and only the elements sharing a repeated
+ * fingerprint are checked by the schema engine, as an array of their own, to tell a duplicate from a collision.
+ * <p>
+ * Error paths are those of the whole array, e.g. {@code $[3].zip}.
+ */
+public final class CollectionValidation {
+
+    private final ItemsSchema schema;
+    private final SchemaOptions schemaOptions;
+    private final BiConsumer<SchemaHandle, Object> validation;
+    private final Function<Object, JsonNode> toTree;
+    /**
+     * The index of the first element seen with each fingerprint, with {@code uniqueItems} only.
+     */
+    private final FingerprintIndex seen;
+    /**
+     * The indexes of the elements of each repeated fingerprint, guarded by {@link #seen}.
+     */
+    private final Map<Long, List<Integer>> repeated = new HashMap<>();
+    private volatile boolean suspectedDuplicate;
+    private Set<ValidationMessage> messages;
+
+    private CollectionValidation(ItemsSchema schema, SchemaOptions schemaOptions,
+                                 BiConsumer<SchemaHandle, Object> validation, Function<Object, JsonNode> toTree,
+                                 int size) {
+        this.schema = schema;
+        this.schemaOptions = schemaOptions;
+        this.validation = validation;
+        this.toTree = toTree;
+        this.seen = schema.unique() != null ? new FingerprintIndex(size) : null;
+    }
+
+    /**
+     * Payloads {@link #run} validates element by element.
+     */
+    public static boolean supports(Object payload) {
+        return payload instanceof Collection<?> || payload instanceof Object[];
+    }
+
+    /**
+     * @param handle     an array schema split into {@link SchemaHandle#getItems()}
+     * @param validation validates one payload, throwing when it does not match
+     * @param toTree     converts an element to its JSON tree, for its {@code uniqueItems} fingerprint
+     * @throws UnProcessableObject with the errors of the rejected elements
+     */
+    public static void run(SchemaHandle handle, Object payload, CollectionOptions options,
+                           BiConsumer<SchemaHandle, Object> validation, Function<Object, JsonNode> toTree) {
+        Collection<?> elements = payload instanceof Object[] array ? Arrays.asList(array) : (Collection<?>) payload;
+        new CollectionValidation(handle.getItems(), handle.getOptions(), validation, toTree, elements.size())
+                .run(elements, options);
+    }
+
+    private void run(Collection<?> elements, CollectionOptions options) {
+        int size = elements.size();
+        if (size < schema.minItems()) {
+            reject(ValidationMessage.of(ValidatorTypeCode.MIN_ITEMS.getValue(), ValidatorTypeCode.MIN_ITEMS, "$",
+                    "#/minItems", String.valueOf(schema.minItems())));
+        }
+        if (schema.maxItems() >= 0 && size > schema.maxItems()) {
+            reject(ValidationMessage.of(ValidatorTypeCode.MAX_ITEMS.getValue(), ValidatorTypeCode.MAX_ITEMS, "$",
+                    "#/maxItems", String.valueOf(schema.maxItems())));
+        }
+        if (options.splits(size)) {
+            runSplit(elements, options);
+        } else {
+            int index = 0;
+            for (Object element : elements) {
+                try {
+                    validateElement(schema.items(), element, index);
+                } catch (UnProcessableObject e) {
+                    reject(e, index);
+                }
+                if (suspectedDuplicate && schemaOptions.stopsAtFirstError()) {
+                    checkUnique(elements);
+                }
+                index++;
+            }
+        }
+        if (suspectedDuplicate) {
+            checkUnique(elements);
+        }
+        if (messages != null) {
+            throw new UnProcessableObject(messages, "Validation Error: ");
+        }
+    }
+
+    private void runSplit(Collection<?> elements, CollectionOptions options) {
+        int maxErrors = schemaOptions.stopsAtFirstError() ? 1
+                : schemaOptions.maxErrors() > 0 ? schemaOptions.maxErrors() : Integer.MAX_VALUE;
+        Iterator<?> source = elements.iterator();
+        // each element carries its index to the batch, for its fingerprint
+        Iterator<Indexed> indexed = new Iterator<>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return source.hasNext();
+            }
+
+            @Override
+            public Indexed next() {
+                return new Indexed(index++, source.next());
+            }
+        };
+        BatchResult result = BatchValidation.run(schema.items(), indexed,
+                new BatchOptions(options.executor(), options.chunkSize(), maxErrors),
+                (items, payload) -> validateElement(items, ((Indexed) payload).element(), ((Indexed) payload).index()));
+        result.failedIndexes().forEach(index -> {
+            RuntimeException failure = result.failure(index);
+            if (!(failure instanceof UnProcessableObject rejection)) {
+                throw failure;
+            }
+            reject(rejection, index);
+        });
+    }
+
+    private void validateElement(SchemaHandle items, Object element, int index) {
+        if (seen == null || seen.disabled) {
+            validation.accept(items, element);
+            return;
+        }
+        // the tree the fingerprint is taken from is also the one validated
+        JsonNode tree = element instanceof JsonNode node ? node : toTree.apply(element);
+        long fingerprint = TreeFingerprint.of(tree);
+        synchronized (seen) {
+            int first = seen.putIfAbsent(fingerprint, index);
+            if (first >= 0) {
+                repeated.computeIfAbsent(fingerprint, key -> new ArrayList<>(List.of(first))).add(index);
+                suspectedDuplicate = true;
+            }
+        }
+        validation.accept(items, tree);
+    }
+
+    /**
+     * Checks the elements of the repeated fingerprints against {@code uniqueItems}: any two equal elements
+     * share a fingerprint, so they are among them.
+     */
+    private void checkUnique(Collection<?> elements) {
+        suspectedDuplicate = false;
+        BitSet indexes = new BitSet();
+        synchronized (seen) {
+            repeated.values().forEach(group -> group.forEach(indexes::set));
+        }
+        List<Object> suspects = new ArrayList<>(indexes.cardinality());
+        if (elements instanceof List<?> list && elements instanceof RandomAccess) {
+            indexes.stream().forEach(index -> suspects.add(list.get(index)));
+        } else {
+            int index = 0;
+            for (Object element : elements) {
+                if (indexes.get(index++)) {
+                    suspects.add(element);
+                }
+            }
+        }
+        try {
+            validation.accept(schema.unique(), suspects);
+        } catch (UnProcessableObject e) {
+            // a duplicate is reported once, later repeats need no check
+            seen.disable();
+            for (ValidationMessage message : e.getValidations()) {
+                reject(message);
+            }
+        }
+    }
+
+    private void reject(UnProcessableObject rejection, int index) {
+        for (ValidationMessage message : rejection.getValidations()) {
+            reject(atIndex(message, index));
+        }
+    }
+
+    private void reject(ValidationMessage message) {
+        if (messages == null) {
+            messages = new LinkedHashSet<>();
+        }
+        int maxErrors = schemaOptions.maxErrors();
+        if (maxErrors == 0 || messages.size() < maxErrors) {
+            messages.add(message);
+        }
+        if (schemaOptions.stopsAtFirstError() || maxErrors > 0 && messages.size() >= maxErrors) {
+            throw new UnProcessableObject(messages, "Validation Error: ");
+        }
+    }
+
+    /**
+     * @return the message of an element as a message of the array
+     */
+    private static ValidationMessage atIndex(ValidationMessage message, int index) {
+        String path = message.getPath() == null ? "$" : message.getPath();
+        String elementPath = "$[" + index + "]" + (path.startsWith("$") ? path.substring(1) : "." + path);
+        String text = message.getMessage() == null ? "" : message.getMessage();
+        String schemaPath = message.getSchemaPath();
+        return new ValidationMessage.Builder()
+                .type(message.getType())
+                .code(message.getCode())
+                .path(elementPath)
+                .schemaPath(schemaPath != null && schemaPath.startsWith("#")
+                        ? "#/items" + schemaPath.substring(1)
+                        : schemaPath)
+                .arguments(message.getArguments())
+                .details(message.getDetails())
+                .format(new MessageFormat("{0}"))
+                .customMessage(text.startsWith(path) ? elementPath + text.substring(path.length()) : text)
+                .build();
+    }
+
+    private record Indexed(int index, Object element) {
+    }
+
+    /**
+     * Open addressing map from a fingerprint to the index of its first element.
+     */
+    private static final class FingerprintIndex {
+        private long[] keys;
+        private int[] indexes;
+        private int size;
+        private int zeroIndex = -1;
+        private boolean disabled;
+
+        private FingerprintIndex(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(8, expected) * 2 - 1) << 1;
+            keys = new long[capacity];
+            indexes = new int[capacity];
+        }
+
+        /**
+         * @return the index already mapped to the fingerprint, or -1 after mapping it to the given one
+         */
+        private int putIfAbsent(long fingerprint, int index) {
+            if (disabled) {
+                return -1;
+            }
+            if (fingerprint == 0) {
+                int first = zeroIndex;
+                if (first < 0) {
+                    zeroIndex = index;
+                }
+                return first;
+            }
+            int mask = keys.length - 1;
+            int slot = (int) (fingerprint ^ fingerprint >>> 32) & mask;
+            while (keys[slot] != 0) {
+                if (keys[slot] == fingerprint) {
+                    return indexes[slot];
+                }
+                slot = slot + 1 & mask;
+            }
+            keys[slot] = fingerprint;
+            indexes[slot] = index;
+            if (++size * 2 > keys.length) {
+                grow();
+            }
+            return -1;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldIndexes = indexes;
+            keys = new long[oldKeys.length * 2];
+            indexes = new int[oldKeys.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    putIfAbsent(oldKeys[i], oldIndexes[i]);
+                }
+            }
+        }
+
+        private void disable() {
+            disabled = true;
+            keys = new long[0];
+            indexes = new int[0];
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.eldar.jsonschema.validators.collection;
+
+import com.eldar.jsonschema.exception.LoadingFailedException;
+import com.eldar.jsonschema.validators.SchemaHandle;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * An array schema split into what {@link CollectionValidation} checks one element at a time: the
+ * {@code items} schema, and the {@code minItems}, {@code maxItems} and {@code uniqueItems} keywords.
+ * Only schemas made of nothing else (besides annotations) are split, and only when their {@code items}
+ * schema does not refer to the rest of the document.
+ *
+ * @param items    the {@code items} schema, standalone
+ * @param minItems 0 without {@code minItems}
+ * @param maxItems -1 without {@code maxItems}
+ * @param unique   {@code {"uniqueItems": true}} to confirm a suspected duplicate on the whole array, or null
+ */
+public record ItemsSchema(SchemaHandle items, int minItems, int maxItems, SchemaHandle unique) {
+
+    static final String UNIQUE_ITEMS = "{\"uniqueItems\":true}";
+
+    private static final Set<String> ANNOTATIONS = Set.of("$schema", "$id", "id", "title", "description",
+            "$comment", "examples", "default", "deprecated", "readOnly", "writeOnly");
+    private static final Set<String> REFERENCE_KEYWORDS = Set.of("$ref", "$recursiveRef", "$dynamicRef");
+
+    /**
+     * @param loader loads a standalone schema with the options of the array schema
+     * @return the split schema, or null when the schema has to be evaluated on the whole array.
+     */
+    public static ItemsSchema of(JsonNode schemaNode, Function<String, SchemaHandle> loader) {
+        if (!schemaNode.isObject() || !schemaNode.has("items")) {
+            return null;
+        }
+        JsonNode items = schemaNode.get("items");
+        int minItems = 0;
+        int maxItems = -1;
+        boolean uniqueItems = false;
+        Iterator<Map.Entry<String, JsonNode>> fields = schemaNode.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+            switch (field.getKey()) {
+                case "type" -> {
+                    if (!isArrayType(value)) {
+                        return null;
+                    }
+                }
+                case "items" -> {
+                    if (!(value.isObject() || value.isBoolean()) || containsReference(value)) {
+                        return null;
+                    }
+                }
+                case "minItems" -> {
+                    if (!value.canConvertToExactIntegral() || !value.canConvertToInt()) {
+                        return null;
+                    }
+                    minItems = value.asInt();
+                }
+                case "maxItems" -> {
+                    if (!value.canConvertToExactIntegral() || !value.canConvertToInt()) {
+                        return null;
+                    }
+                    maxItems = value.asInt();
+                }
+                case "uniqueItems" -> {
+                    if (!value.isBoolean()) {
+                        return null;
+                    }
+                    uniqueItems = value.booleanValue();
+                }
+                default -> {
+                    if (!ANNOTATIONS.contains(field.getKey())) {
+                        return null;
+                    }
+                }
+            }
+        }
+        try {
+            return new ItemsSchema(loader.apply(standalone(schemaNode, items)), minItems, maxItems,
+                    uniqueItems ? loader.apply(UNIQUE_ITEMS) : null);
+        } catch (LoadingFailedException e) {
+            // e.g. a keyword the draft only accepts within the document
+            return null;
+        }
+    }
+
+    /**
+     * The items schema, declared with the draft of the array schema.
+     */
+    private static String standalone(JsonNode schemaNode, JsonNode items) {
+        if (items.isBoolean()) {
+            // true accepts anything, false nothing
+            return items.booleanValue() ? "{}" : "{\"not\":{}}";
+        }
+        ObjectNode standalone = ((ObjectNode) items).deepCopy();
+        if (schemaNode.has("$schema") && !standalone.has("$schema")) {
+            standalone.set("$schema", schemaNode.get("$schema"));
+        }
+        return standalone.toString();
+    }
+
+    private static boolean isArrayType(JsonNode type) {
+        if (type.isTextual()) {
+            return "array".equals(type.textValue());
+        }
+        return type.isArray() && type.size() == 1 && "array".equals(type.get(0).textValue());
+    }
+
+    private static boolean containsReference(JsonNode node) {
+        if (node.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if (REFERENCE_KEYWORDS.contains(field.getKey()) || containsReference(field.getValue())) {
+                    return true;
+                }
+            }
+        } else if (node.isArray()) {
+            for (JsonNode element : node) {
+                if (containsReference(element)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,76 @@
+package com.eldar.jsonschema.validators.collection;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.NoArgsConstructor;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * 64-bit fingerprint of a JSON tree which agrees with {@link JsonNode#equals}: equal trees, including objects
+ * with their fields in another order, always have the same fingerprint. Different trees rarely do.
+ */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+final class TreeFingerprint {
+
+    private static final long OBJECT = 0x6a09e667f3bcc908L;
+    private static final long ARRAY = 0xbb67ae8584caa73bL;
+    private static final long STRING = 0x3c6ef372fe94f82bL;
+    private static final long NUMBER = 0xa54ff53a5f1d36f1L;
+    private static final long OTHER = 0x510e527fade682d1L;
+
+    static long of(JsonNode node) {
+        switch (node.getNodeType()) {
+            case OBJECT -> {
+                // a sum, since the order of the fields does not matter
+                long hash = 0;
+                Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    hash += mix(of(field.getKey()) ^ Long.rotateLeft(of(field.getValue()), 31));
+                }
+                return mix(hash ^ OBJECT);
+            }
+            case ARRAY -> {
+                long hash = ARRAY;
+                for (JsonNode element : node) {
+                    hash = mix(hash + of(element));
+                }
+                return mix(hash ^ node.size());
+            }
+            case STRING -> {
+                return mix(of(node.textValue()) ^ STRING);
+            }
+            case NUMBER -> {
+                long bits = switch (node.numberType()) {
+                    case INT, LONG -> node.longValue();
+                    case FLOAT -> Float.floatToIntBits(node.floatValue());
+                    case DOUBLE -> Double.doubleToLongBits(node.doubleValue());
+                    default -> node.hashCode();
+                };
+                // nodes of different classes are never equal, so they need not be told apart
+                return mix(bits ^ NUMBER);
+            }
+            default -> {
+                return mix(node.hashCode() ^ OTHER ^ node.getNodeType().ordinal());
+            }
+        }
+    }
+
+    private static long of(String text) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            hash = (hash ^ text.charAt(i)) * 0x100000001b3L;
+        }
+        return mix(hash ^ text.length());
+    }
+
+    private static long mix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
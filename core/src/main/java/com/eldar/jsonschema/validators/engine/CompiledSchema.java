@@ -0,0 +1,13 @@
+package com.eldar.jsonschema.validators.engine;
+
+/**
+ * A schema turned into plain Java checks by {@link SchemaCompiler}.
+ */
+@FunctionalInterface
+public interface CompiledSchema {
+
+    /**
+     * @return whether networknt would report no validation message for the payload.
+     */
+    boolean isValid(ValueModel model, Object payload);
+}
@@ -0,0 +1,512 @@
+package com.eldar.jsonschema.validators.engine;
+
+import com.fasterxml.jackson.annotation.JacksonAnnotation;
+import com.fasterxml.jackson.annotation.JacksonAnnotationsInside;
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonClassDescription;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializer;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.IndexedListSerializer;
+import com.fasterxml.jackson.databind.ser.impl.IndexedStringListSerializer;
+import com.fasterxml.jackson.databind.ser.impl.StringArraySerializer;
+import com.fasterxml.jackson.databind.ser.impl.StringCollectionSerializer;
+import com.fasterxml.jackson.databind.ser.std.BooleanSerializer;
+import com.fasterxml.jackson.databind.ser.std.CollectionSerializer;
+import com.fasterxml.jackson.databind.ser.std.MapSerializer;
+import com.fasterxml.jackson.databind.ser.std.NumberSerializer;
+import com.fasterxml.jackson.databind.ser.std.NumberSerializers;
+import com.fasterxml.jackson.databind.ser.std.ObjectArraySerializer;
+import com.fasterxml.jackson.databind.ser.std.StdArraySerializers;
+import com.fasterxml.jackson.databind.ser.std.StringSerializer;
+import com.fasterxml.jackson.databind.util.ClassUtil;
+import com.networknt.schema.JsonType;
+import com.networknt.schema.TypeFactory;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Walks Java objects as the JSON the given {@link ObjectMapper} would write for them.
+ * Beans, records, maps, collections, arrays and the common scalar types are read in place
+ * through accessors cached per class. Anything whose serialized form cannot be predicted
+ * from the mapper's standard serializers (custom serializers, type info, {@code @JsonFormat},
+ * enums, dates, ...) is converted with {@code valueToTree}, only for that sub-tree.
+ */
+public class PojoValueModel implements ValueModel {
+
+    private enum Kind {
+        STRING, BOOLEAN, INTEGER, NUMBER, MAP, COLLECTION, OBJECT_ARRAY, PRIMITIVE_ARRAY, BEAN, CONVERT
+    }
+
+    private static final Map<Class<?>, Kind> STANDARD_SERIALIZERS = Map.ofEntries(
+            Map.entry(StringSerializer.class, Kind.STRING),
+            Map.entry(BooleanSerializer.class, Kind.BOOLEAN),
+            Map.entry(NumberSerializers.IntegerSerializer.class, Kind.INTEGER),
+            Map.entry(NumberSerializers.LongSerializer.class, Kind.INTEGER),
+            Map.entry(NumberSerializers.ShortSerializer.class, Kind.INTEGER),
+            Map.entry(NumberSerializers.IntLikeSerializer.class, Kind.INTEGER),
+            Map.entry(NumberSerializers.DoubleSerializer.class, Kind.NUMBER),
+            Map.entry(NumberSerializers.FloatSerializer.class, Kind.NUMBER),
+            Map.entry(MapSerializer.class, Kind.MAP),
+            Map.entry(CollectionSerializer.class, Kind.COLLECTION),
+            Map.entry(IndexedListSerializer.class, Kind.COLLECTION),
+            Map.entry(StringCollectionSerializer.class, Kind.COLLECTION),
+            Map.entry(IndexedStringListSerializer.class, Kind.COLLECTION),
+            Map.entry(ObjectArraySerializer.class, Kind.OBJECT_ARRAY),
+            Map.entry(StringArraySerializer.class, Kind.OBJECT_ARRAY),
+            Map.entry(StdArraySerializers.BooleanArraySerializer.class, Kind.PRIMITIVE_ARRAY),
+            Map.entry(StdArraySerializers.ShortArraySerializer.class, Kind.PRIMITIVE_ARRAY),
+            Map.entry(StdArraySerializers.IntArraySerializer.class, Kind.PRIMITIVE_ARRAY),
+            Map.entry(StdArraySerializers.LongArraySerializer.class, Kind.PRIMITIVE_ARRAY),
+            Map.entry(StdArraySerializers.FloatArraySerializer.class, Kind.PRIMITIVE_ARRAY),
+            Map.entry(StdArraySerializers.DoubleArraySerializer.class, Kind.PRIMITIVE_ARRAY)
+    );
+
+    /**
+     * Jackson annotations that do not change how a property value is written.
+     */
+    private static final Set<Class<? extends Annotation>> NEUTRAL_ANNOTATIONS = Set.of(
+            JsonProperty.class, JsonGetter.class, JsonSetter.class, JsonAlias.class, JsonCreator.class,
+            JsonPropertyDescription.class, JsonClassDescription.class, JsonPropertyOrder.class,
+            JsonIgnoreProperties.class, JsonAutoDetect.class, JsonDeserialize.class
+    );
+
+    private final ObjectMapper objectMapper;
+    private final boolean containersWalkable;
+    private final ClassValue<Kind> kinds = new ClassValue<>() {
+        @Override
+        protected Kind computeValue(Class<?> type) {
+            return classify(type);
+        }
+    };
+    private final ClassValue<BeanAccessors> beans = new ClassValue<>() {
+        @Override
+        protected BeanAccessors computeValue(Class<?> type) {
+            return BeanAccessors.of(objectMapper, type);
+        }
+    };
+
+    public PojoValueModel(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        SerializationConfig config = objectMapper.getSerializationConfig();
+        JsonInclude.Value inclusion = config.getDefaultPropertyInclusion();
+        this.containersWalkable = config.getActiveView() == null
+                && !config.isEnabled(MapperFeature.USE_STATIC_TYPING)
+                && !config.isEnabled(SerializationFeature.WRITE_SINGLE_ELEM_ARRAYS_UNWRAPPED)
+                && writesNullMapValues(objectMapper)
+                && includesEverything(inclusion.getValueInclusion())
+                && includesEverything(inclusion.getContentInclusion());
+    }
+
+    @Override
+    public Object normalize(Object value) {
+        if (value == null || value instanceof JsonNode) {
+            return value;
+        }
+        Kind kind = kinds.get(value.getClass());
+        if (kind == Kind.CONVERT || (kind == Kind.MAP && !hasStringKeys((Map<?, ?>) value))) {
+            return toTree(value);
+        }
+        return value;
+    }
+
+    @Override
+    public JsonType typeOf(Object value) {
+        if (value == null) {
+            return JsonType.NULL;
+        }
+        if (value instanceof JsonNode node) {
+            return TypeFactory.getValueNodeType(node, null);
+        }
+        return switch (kinds.get(value.getClass())) {
+            case STRING -> JsonType.STRING;
+            case BOOLEAN -> JsonType.BOOLEAN;
+            case INTEGER -> JsonType.INTEGER;
+            case NUMBER -> JsonType.NUMBER;
+            case MAP, BEAN -> JsonType.OBJECT;
+            case COLLECTION, OBJECT_ARRAY, PRIMITIVE_ARRAY -> JsonType.ARRAY;
+            case CONVERT -> JsonType.UNKNOWN;
+        };
+    }
+
+    @Override
+    public String text(Object value) {
+        if (value instanceof JsonNode node) {
+            return node.textValue();
+        }
+        return value instanceof String string ? string : null;
+    }
+
+    @Override
+    public boolean isNumber(Object value) {
+        if (value instanceof JsonNode node) {
+            return node.isNumber();
+        }
+        JsonType type = typeOf(value);
+        return type == JsonType.INTEGER || type == JsonType.NUMBER;
+    }
+
+    @Override
+    public boolean isBigDecimal(Object value) {
+        if (value instanceof JsonNode node) {
+            return node.isBigDecimal();
+        }
+        return value instanceof BigDecimal;
+    }
+
+    @Override
+    public boolean isLong(Object value) {
+        if (value instanceof JsonNode node) {
+            return node.isInt() || node.isLong() || node.isShort();
+        }
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+    }
+
+    @Override
+    public long longValue(Object value) {
+        if (value instanceof JsonNode node) {
+            return node.longValue();
+        }
+        return ((Number) value).longValue();
+    }
+
+    @Override
+    public double doubleValue(Object value) {
+        if (value instanceof JsonNode node) {
+            return node.doubleValue();
+        }
+        return ((Number) value).doubleValue();
+    }
+
+    @Override
+    public BigDecimal decimalValue(Object value) {
+        if (value instanceof JsonNode node) {
+            return node.decimalValue();
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal;
+        }
+        if (value instanceof BigInteger integer) {
+            return new BigDecimal(integer);
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return BigDecimal.valueOf(((Number) value).doubleValue());
+        }
+        return BigDecimal.valueOf(((Number) value).longValue());
+    }
+
+    @Override
+    public String numberText(Object value) {
+        if (value instanceof JsonNode node) {
+            return node.asText();
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toString();
+        }
+        return value.toString();
+    }
+
+    @Override
+    public int size(Object value) {
+        if (value instanceof JsonNode node) {
+            return node.size();
+        }
+        if (value == null) {
+            return 0;
+        }
+        return switch (kinds.get(value.getClass())) {
+            case MAP -> ((Map<?, ?>) value).size();
+            case COLLECTION -> ((Collection<?>) value).size();
+            case OBJECT_ARRAY -> ((Object[]) value).length;
+            case PRIMITIVE_ARRAY -> Array.getLength(value);
+            case BEAN -> beans.get(value.getClass()).size();
+            default -> 0;
+        };
+    }
+
+    @Override
+    public Object property(Object value, String name) {
+        if (value instanceof JsonNode node) {
+            JsonNode property = node.get(name);
+            return property == null ? MISSING : property;
+        }
+        if (value == null) {
+            return MISSING;
+        }
+        Kind kind = kinds.get(value.getClass());
+        if (kind == Kind.MAP) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            Object property = map.get(name);
+            return property != null || map.containsKey(name) ? property : MISSING;
+        }
+        if (kind == Kind.BEAN) {
+            return beans.get(value.getClass()).get(value, name);
+        }
+        return MISSING;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterator<String> propertyNames(Object value) {
+        if (value instanceof JsonNode node) {
+            return node.fieldNames();
+        }
+        if (value == null) {
+            return Collections.emptyIterator();
+        }
+        return switch (kinds.get(value.getClass())) {
+            case MAP -> (Iterator<String>) ((Map<?, ?>) value).keySet().iterator();
+            case BEAN -> beans.get(value.getClass()).names();
+            default -> Collections.emptyIterator();
+        };
+    }
+
+    @Override
+    public Iterator<?> elements(Object value) {
+        if (value instanceof JsonNode node) {
+            return node.elements();
+        }
+        if (value == null) {
+            return Collections.emptyIterator();
+        }
+        return switch (kinds.get(value.getClass())) {
+            case MAP -> ((Map<?, ?>) value).values().iterator();
+            case COLLECTION -> ((Collection<?>) value).iterator();
+            case OBJECT_ARRAY -> Arrays.asList((Object[]) value).iterator();
+            case PRIMITIVE_ARRAY -> new PrimitiveArrayIterator(value);
+            case BEAN -> beans.get(value.getClass()).values(value);
+            default -> Collections.emptyIterator();
+        };
+    }
+
+    @Override
+    public JsonNode toTree(Object value) {
+        if (value instanceof JsonNode node) {
+            return node;
+        }
+        JsonNode tree = objectMapper.valueToTree(value);
+        return tree == null ? NullNode.getInstance() : tree;
+    }
+
+    private Kind classify(Class<?> type) {
+        try {
+            SerializerProvider provider = objectMapper.getSerializerProviderInstance();
+            if (provider.findTypeSerializer(provider.constructType(type)) != null) {
+                return Kind.CONVERT;
+            }
+            JsonSerializer<Object> serializer = provider.findValueSerializer(type);
+            if (serializer.getClass() == NumberSerializer.class) {
+                return type == BigInteger.class ? Kind.INTEGER : type == BigDecimal.class ? Kind.NUMBER : Kind.CONVERT;
+            }
+            if (serializer.getClass() == BeanSerializer.class) {
+                return containersWalkable && beans.get(type) != null ? Kind.BEAN : Kind.CONVERT;
+            }
+            Kind kind = STANDARD_SERIALIZERS.getOrDefault(serializer.getClass(), Kind.CONVERT);
+            if (!containersWalkable && kind.compareTo(Kind.MAP) >= 0) {
+                return Kind.CONVERT;
+            }
+            return kind;
+        } catch (Exception e) {
+            return Kind.CONVERT;
+        }
+    }
+
+    private static boolean hasStringKeys(Map<?, ?> map) {
+        for (Object key : map.keySet()) {
+            if (!(key instanceof String)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean includesEverything(JsonInclude.Include include) {
+        return include == JsonInclude.Include.ALWAYS || include == JsonInclude.Include.USE_DEFAULTS;
+    }
+
+    /**
+     * Whether a {@code Map} with a null value keeps the entry, as configured by the deprecated
+     * {@code WRITE_NULL_MAP_VALUES} feature or by the inclusion overrides of {@code Map}.
+     */
+    private static boolean writesNullMapValues(ObjectMapper objectMapper) {
+        try {
+            return objectMapper.valueToTree(Collections.singletonMap("", null)).has("");
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Same as {@link #hasOnlyNeutralAnnotations(Iterable)} over the annotations Jackson collects for a class:
+     * its own and those of its super types. Mix-ins are not followed, so a mixed-in type is never neutral.
+     */
+    private static boolean hasOnlyNeutralClassAnnotations(SerializationConfig config, Class<?> type) {
+        for (Class<?> current : ClassUtil.findRawSuperTypes(type, null, true)) {
+            if (config.findMixInClassFor(current) != null
+                    || !hasOnlyNeutralAnnotations(Arrays.asList(current.getDeclaredAnnotations()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasOnlyNeutralAnnotations(Iterable<Annotation> annotations) {
+        for (Annotation annotation : annotations) {
+            Class<? extends Annotation> annotationType = annotation.annotationType();
+            if (annotationType.isAnnotationPresent(JacksonAnnotationsInside.class)
+                    || annotationType.isAnnotationPresent(JacksonAnnotation.class)
+                    && !NEUTRAL_ANNOTATIONS.contains(annotationType)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Property accessors of a bean, taken from the mapper's own {@link BeanSerializer}
+     * so naming, visibility and ignored properties match what it would write.
+     */
+    private static final class BeanAccessors {
+        private final String[] names;
+        private final BeanPropertyWriter[] writers;
+        private final Map<String, BeanPropertyWriter> byName;
+
+        private BeanAccessors(List<BeanPropertyWriter> writers) {
+            this.writers = writers.toArray(new BeanPropertyWriter[0]);
+            this.names = new String[this.writers.length];
+            this.byName = new HashMap<>();
+            for (int i = 0; i < this.writers.length; i++) {
+                names[i] = this.writers[i].getName();
+                byName.put(names[i], this.writers[i]);
+            }
+        }
+
+        static BeanAccessors of(ObjectMapper objectMapper, Class<?> type) {
+            try {
+                SerializationConfig config = objectMapper.getSerializationConfig();
+                JsonSerializer<Object> serializer = objectMapper.getSerializerProviderInstance().findValueSerializer(type);
+                if (serializer.getClass() != BeanSerializer.class || serializer.usesObjectId()) {
+                    return null;
+                }
+                BeanDescription description = config.introspect(config.constructType(type));
+                if (description.findAnyGetter() != null || description.findJsonValueAccessor() != null
+                        || !hasOnlyNeutralClassAnnotations(config, type)) {
+                    return null;
+                }
+                List<BeanPropertyWriter> writers = new ArrayList<>();
+                Iterator<PropertyWriter> properties = serializer.properties();
+                while (properties.hasNext()) {
+                    PropertyWriter property = properties.next();
+                    if (property.getClass() != BeanPropertyWriter.class) {
+                        return null;
+                    }
+                    BeanPropertyWriter writer = (BeanPropertyWriter) property;
+                    if (writer.getTypeSerializer() != null || writer.willSuppressNulls()
+                            || !hasOnlyNeutralAnnotations(writer.getMember().getAllAnnotations().annotations())) {
+                        return null;
+                    }
+                    writers.add(writer);
+                }
+                return new BeanAccessors(writers);
+            } catch (Exception e) {
+                return null;
+            }
+        }
+
+        int size() {
+            return writers.length;
+        }
+
+        Iterator<String> names() {
+            return Arrays.asList(names).iterator();
+        }
+
+        Object get(Object bean, String name) {
+            BeanPropertyWriter writer = byName.get(name);
+            return writer == null ? MISSING : read(writer, bean);
+        }
+
+        Iterator<Object> values(Object bean) {
+            return new Iterator<>() {
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    return index < writers.length;
+                }
+
+                @Override
+                public Object next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return read(writers[index++], bean);
+                }
+            };
+        }
+
+        private static Object read(BeanPropertyWriter writer, Object bean) {
+            try {
+                return writer.get(bean);
+            } catch (Exception e) {
+                throw new IllegalArgumentException(e.getMessage(), e);
+            }
+        }
+    }
+
+    private static final class PrimitiveArrayIterator implements Iterator<Object> {
+        private final Object array;
+        private final int length;
+        private int index;
+
+        PrimitiveArrayIterator(Object array) {
+            this.array = array;
+            this.length = Array.getLength(array);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < length;
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return Array.get(array, index++);
+        }
+    }
+}
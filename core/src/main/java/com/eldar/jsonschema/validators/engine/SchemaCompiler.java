@@ -0,0 +1,581 @@
+package com.eldar.jsonschema.validators.engine;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.DecimalNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.JsonSchemaException;
+import com.networknt.schema.JsonType;
+import com.networknt.schema.TypeFactory;
+import com.networknt.schema.utils.StringChecker;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Turns a JSON schema into a tree of {@link CompiledSchema} closures with the same outcome as the
+ * networknt validators. Thresholds, sizes, required names, enum sets and patterns are resolved once,
+ * so a call is left with plain comparisons.
+ * <p>
+ * A sub-schema using a keyword the compiler does not know is validated by networknt as a whole, on the
+ * JSON tree of that value only. Schemas using references are compiled only when every keyword is known,
+ * since a sub-schema cannot be loaded on its own once it may point elsewhere in the document.
+ */
+@RequiredArgsConstructor
+public class SchemaCompiler {
+
+    /**
+     * Compiled keywords, in the order they are checked: cheap and likely to reject first.
+     */
+    private static final List<String> KEYWORDS = List.of(
+            "type", "const", "enum", "minLength", "maxLength", "minItems", "maxItems", "minProperties",
+            "maxProperties", "required", "minimum", "maximum", "exclusiveMinimum", "exclusiveMaximum",
+            "multipleOf", "pattern", "uniqueItems", "properties", "additionalProperties", "items", "not", "allOf");
+
+    private static final Set<String> ANNOTATION_KEYWORDS = Set.of(
+            "$schema", "$id", "id", "title", "description", "default", "examples", "$comment",
+            "definitions", "$defs");
+
+    /**
+     * Keywords draft-04 does not define, which networknt ignores for that draft.
+     */
+    private static final Set<String> DRAFT4_IGNORED_KEYWORDS = Set.of("const", "exclusiveMinimum", "exclusiveMaximum");
+
+    private static final Set<String> REFERENCE_KEYWORDS = Set.of("$ref", "$recursiveRef", "$dynamicRef");
+
+    private static final long MAX_EXACT_DOUBLE = 1L << 53;
+
+    private static final Check ALWAYS = (model, value, type) -> true;
+
+    private final boolean typeLoose;
+    /**
+     * Whether networknt stops at the first error. It then throws on the first failing type of a union or on
+     * the failing schema of a {@code not}, so those are left to networknt to keep its outcome.
+     */
+    private final boolean failFast;
+    /**
+     * Loads a sub-schema with networknt, with the same options; null to only compile schemas made of known
+     * keywords.
+     */
+    private final Function<JsonNode, JsonSchema> fallbackLoader;
+
+    /**
+     * One keyword of a schema, checked against a normalized value of the given JSON type.
+     */
+    @FunctionalInterface
+    private interface Check {
+        boolean test(ValueModel model, Object value, JsonType type);
+    }
+
+    /**
+     * @return the compiled schema, or null when it has to be validated by networknt.
+     */
+    public CompiledSchema compile(JsonNode schemaNode) {
+        JsonNode version = schemaNode.get("$schema");
+        boolean draft4 = version != null && version.asText().contains("draft-04");
+        boolean fallback = fallbackLoader != null && !containsReference(schemaNode);
+        try {
+            // a root that falls back as a whole is better left to the caller's own networknt schema
+            Compilation compilation = new Compilation(draft4, version, fallback);
+            List<Check> checks = schemaNode.isObject() && compilation.isKnown(schemaNode)
+                    ? compilation.keywords(schemaNode)
+                    : null;
+            return checks == null ? null : combine(checks);
+        } catch (RuntimeException e) {
+            // compiling is only a shortcut; whatever it cannot digest stays with networknt
+            return null;
+        }
+    }
+
+    private static boolean containsReference(JsonNode node) {
+        if (node.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if (REFERENCE_KEYWORDS.contains(field.getKey()) || containsReference(field.getValue())) {
+                    return true;
+                }
+            }
+        } else if (node.isArray()) {
+            for (JsonNode element : node) {
+                if (containsReference(element)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @RequiredArgsConstructor
+    private final class Compilation {
+        private final boolean draft4;
+        private final JsonNode version;
+        private final boolean fallback;
+
+        /**
+         * @return the compiled sub-schema, or null when it is neither compilable nor allowed to fall back.
+         */
+        CompiledSchema schema(JsonNode schemaNode) {
+            List<Check> checks = schemaNode.isObject() && isKnown(schemaNode) ? keywords(schemaNode) : null;
+            if (checks == null) {
+                return fallback && schemaNode.isObject() ? networknt((ObjectNode) schemaNode) : null;
+            }
+            return combine(checks);
+        }
+
+        private boolean isKnown(JsonNode schemaNode) {
+            Iterator<String> names = schemaNode.fieldNames();
+            while (names.hasNext()) {
+                String name = names.next();
+                if (!ANNOTATION_KEYWORDS.contains(name) && !KEYWORDS.contains(name)
+                        && !(draft4 && DRAFT4_IGNORED_KEYWORDS.contains(name))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private List<Check> keywords(JsonNode schemaNode) {
+            List<Check> checks = new ArrayList<>();
+            for (String keyword : KEYWORDS) {
+                JsonNode value = schemaNode.get(keyword);
+                if (value == null || draft4 && DRAFT4_IGNORED_KEYWORDS.contains(keyword)) {
+                    continue;
+                }
+                Check check = keyword(schemaNode, keyword, value);
+                if (check == null) {
+                    return null;
+                }
+                if (check != ALWAYS) {
+                    checks.add(check);
+                }
+            }
+            return checks;
+        }
+
+        private Check keyword(JsonNode schemaNode, String keyword, JsonNode value) {
+            return switch (keyword) {
+                case "type" -> type(value);
+                case "const" -> constant(value);
+                case "enum" -> value.isArray() ? enumeration(value) : null;
+                case "minLength" -> isInt(value) ? minLength(value.intValue()) : null;
+                case "maxLength" -> isInt(value) ? maxLength(value.intValue()) : null;
+                case "minItems" -> isInt(value) ? minItems(value.intValue()) : null;
+                case "maxItems" -> isInt(value) ? maxItems(value.intValue()) : null;
+                case "minProperties" -> isInt(value) ? minProperties(value.intValue()) : null;
+                case "maxProperties" -> isInt(value) ? maxProperties(value.intValue()) : null;
+                case "required" -> required(value);
+                case "minimum" -> value.isNumber() ? bound(value, true, isTrue(schemaNode.get("exclusiveMinimum"))) : null;
+                case "maximum" -> value.isNumber() ? bound(value, false, isTrue(schemaNode.get("exclusiveMaximum"))) : null;
+                case "exclusiveMinimum" -> value.isNumber() ? bound(value, true, true) : null;
+                case "exclusiveMaximum" -> value.isNumber() ? bound(value, false, true) : null;
+                case "multipleOf" -> value.isNumber() ? multipleOf(value.doubleValue()) : null;
+                case "pattern" -> value.isTextual() ? pattern(Pattern.compile(value.textValue())) : null;
+                case "uniqueItems" -> value.isBoolean() ? (value.booleanValue() ? SchemaCompiler::hasUniqueElements : ALWAYS) : null;
+                case "properties" -> value.isObject() ? properties(value) : null;
+                case "additionalProperties" -> additionalProperties(schemaNode.get("properties"), value);
+                case "items" -> items(value);
+                case "not" -> failFast ? null : not(value);
+                case "allOf" -> value.isArray() ? allOf(value) : null;
+                default -> null;
+            };
+        }
+
+        private Check type(JsonNode typeNode) {
+            if (!typeNode.isArray()) {
+                return typeNode.isTextual() ? type(TypeFactory.getSchemaNodeType(typeNode)) : null;
+            }
+            if (failFast && typeNode.size() > 1) {
+                return null;
+            }
+            List<Check> alternatives = new ArrayList<>();
+            for (JsonNode element : typeNode) {
+                Check alternative = element.isTextual() ? type(TypeFactory.getSchemaNodeType(element)) : null;
+                if (alternative == null) {
+                    return null;
+                }
+                if (alternative == ALWAYS) {
+                    return ALWAYS;
+                }
+                alternatives.add(alternative);
+            }
+            Check[] checks = alternatives.toArray(new Check[0]);
+            return (model, value, type) -> {
+                for (Check check : checks) {
+                    if (check.test(model, value, type)) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+        }
+
+        private Check type(JsonType schemaType) {
+            return switch (schemaType) {
+                case ANY -> ALWAYS;
+                case ARRAY -> typeLoose ? ALWAYS : (model, value, type) -> type == JsonType.ARRAY;
+                case INTEGER -> typeLoose
+                        ? (model, value, type) -> type == JsonType.INTEGER
+                        || type == JsonType.STRING && StringChecker.isInteger(model.text(value))
+                        : (model, value, type) -> type == JsonType.INTEGER;
+                case NUMBER -> typeLoose
+                        ? (model, value, type) -> type == JsonType.NUMBER || type == JsonType.INTEGER
+                        || type == JsonType.STRING && StringChecker.isNumeric(model.text(value))
+                        : (model, value, type) -> type == JsonType.NUMBER || type == JsonType.INTEGER;
+                case BOOLEAN -> typeLoose
+                        ? (model, value, type) -> type == JsonType.BOOLEAN
+                        || type == JsonType.STRING && StringChecker.isBoolean(model.text(value))
+                        : (model, value, type) -> type == JsonType.BOOLEAN;
+                case STRING, OBJECT, NULL -> (model, value, type) -> type == schemaType;
+                default -> null;
+            };
+        }
+
+        private Check constant(JsonNode constNode) {
+            if (constNode.isTextual()) {
+                String text = constNode.textValue();
+                return (model, value, type) -> type == JsonType.STRING && text.equals(model.text(value));
+            }
+            if (constNode.isNumber()) {
+                BigDecimal decimal = constNode.decimalValue();
+                return (model, value, type) -> model.isNumber(value) && decimal.compareTo(model.decimalValue(value)) == 0;
+            }
+            if (constNode.isNull()) {
+                return (model, value, type) -> type == JsonType.NULL;
+            }
+            return (model, value, type) -> constNode.equals(model.toTree(value));
+        }
+
+        private Check enumeration(JsonNode enumNode) {
+            Set<JsonNode> nodes = new HashSet<>();
+            Set<String> texts = new HashSet<>();
+            for (JsonNode candidate : enumNode) {
+                JsonNode normalized = candidate.isNumber() ? DecimalNode.valueOf(candidate.decimalValue()) : candidate;
+                nodes.add(normalized);
+                if (typeLoose) {
+                    texts.add(normalized.asText());
+                } else if (normalized.isTextual()) {
+                    texts.add(normalized.textValue());
+                }
+            }
+            return (model, value, type) -> switch (type) {
+                case STRING -> texts.contains(model.text(value));
+                case INTEGER, NUMBER -> nodes.contains(DecimalNode.valueOf(model.decimalValue(value)));
+                default -> nodes.contains(model.toTree(value));
+            };
+        }
+
+        private Check minLength(int min) {
+            return (model, value, type) -> {
+                if (type != JsonType.STRING) {
+                    return true;
+                }
+                String text = model.text(value);
+                int length = text.length();
+                // a code point takes one or two chars, so the char count brackets the code point count
+                if (length < min) {
+                    return false;
+                }
+                return (length + 1) / 2 >= min || text.codePointCount(0, length) >= min;
+            };
+        }
+
+        private Check maxLength(int max) {
+            return (model, value, type) -> {
+                if (type != JsonType.STRING) {
+                    return true;
+                }
+                String text = model.text(value);
+                int length = text.length();
+                return length <= max || text.codePointCount(0, length) <= max;
+            };
+        }
+
+        private Check minItems(int min) {
+            boolean nonArrayValid = !typeLoose || 1 >= min;
+            return (model, value, type) -> type == JsonType.ARRAY ? model.size(value) >= min : nonArrayValid;
+        }
+
+        private Check maxItems(int max) {
+            boolean nonArrayValid = !typeLoose || 1 <= max;
+            return (model, value, type) -> type == JsonType.ARRAY ? model.size(value) <= max : nonArrayValid;
+        }
+
+        private Check minProperties(int min) {
+            return (model, value, type) -> type != JsonType.OBJECT || model.size(value) >= min;
+        }
+
+        private Check maxProperties(int max) {
+            return (model, value, type) -> type != JsonType.OBJECT || model.size(value) <= max;
+        }
+
+        private Check required(JsonNode requiredNode) {
+            if (!requiredNode.isArray()) {
+                return null;
+            }
+            List<String> required = new ArrayList<>();
+            for (JsonNode name : requiredNode) {
+                if (!name.isTextual()) {
+                    return null;
+                }
+                required.add(name.textValue());
+            }
+            String[] names = required.toArray(new String[0]);
+            return (model, value, type) -> {
+                if (type != JsonType.OBJECT) {
+                    return true;
+                }
+                for (String name : names) {
+                    if (model.property(value, name) == ValueModel.MISSING) {
+                        return false;
+                    }
+                }
+                return true;
+            };
+        }
+
+        /**
+         * A minimum or maximum, compared on longs when both sides are integral and otherwise
+         * on {@link BigDecimal} like networknt, including its handling of infinite doubles.
+         */
+        private Check bound(JsonNode threshold, boolean lower, boolean exclusive) {
+            if (threshold.isDouble() && Double.isInfinite(threshold.doubleValue())) {
+                // networknt never rejects against -Infinity as a minimum (+Infinity as a maximum) and always otherwise
+                boolean valid = lower == threshold.doubleValue() < 0;
+                return (model, value, type) -> !isNumeric(model, value, type) || valid;
+            }
+            boolean longThreshold = threshold.isIntegralNumber() && threshold.canConvertToLong();
+            long limit = threshold.longValue();
+            BigDecimal decimal = new BigDecimal(threshold.asText());
+            return (model, value, type) -> {
+                int comparison;
+                if (longThreshold && model.isLong(value)) {
+                    comparison = Long.compare(model.longValue(value), limit);
+                } else if (!isNumeric(model, value, type)) {
+                    return true;
+                } else if (isDouble(value) && Double.isInfinite(model.doubleValue(value))) {
+                    comparison = model.doubleValue(value) > 0 ? 1 : -1;
+                } else {
+                    String text = type == JsonType.STRING ? model.text(value) : model.numberText(value);
+                    comparison = new BigDecimal(text).compareTo(decimal);
+                }
+                if (lower) {
+                    return exclusive ? comparison > 0 : comparison >= 0;
+                }
+                return exclusive ? comparison < 0 : comparison <= 0;
+            };
+        }
+
+        private boolean isNumeric(ValueModel model, Object value, JsonType type) {
+            return model.isNumber(value) || typeLoose && type == JsonType.STRING && StringChecker.isNumeric(model.text(value));
+        }
+
+        private Check multipleOf(double divisor) {
+            if (divisor == 0) {
+                return ALWAYS;
+            }
+            BigDecimal accurateDivisor = new BigDecimal(String.valueOf(divisor));
+            boolean longDivisor = divisor == Math.rint(divisor) && Math.abs(divisor) < MAX_EXACT_DOUBLE;
+            long divisorValue = (long) divisor;
+            return (model, value, type) -> {
+                if (!model.isNumber(value)) {
+                    return true;
+                }
+                if (longDivisor && model.isLong(value)) {
+                    long dividend = model.longValue(value);
+                    // networknt divides the double value, which is exact in this range
+                    if (dividend > -MAX_EXACT_DOUBLE && dividend < MAX_EXACT_DOUBLE) {
+                        return dividend % divisorValue == 0;
+                    }
+                }
+                BigDecimal dividend = model.isBigDecimal(value)
+                        ? model.decimalValue(value)
+                        : new BigDecimal(String.valueOf(model.doubleValue(value)));
+                return dividend.divideAndRemainder(accurateDivisor)[1].signum() == 0;
+            };
+        }
+
+        private Check pattern(Pattern pattern) {
+            return (model, value, type) -> type != JsonType.STRING || pattern.matcher(model.text(value)).find();
+        }
+
+        private Check properties(JsonNode propertiesNode) {
+            List<String> names = new ArrayList<>();
+            List<CompiledSchema> schemas = new ArrayList<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = propertiesNode.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                CompiledSchema schema = schema(field.getValue());
+                if (schema == null) {
+                    return null;
+                }
+                names.add(field.getKey());
+                schemas.add(schema);
+            }
+            String[] propertyNames = names.toArray(new String[0]);
+            CompiledSchema[] propertySchemas = schemas.toArray(new CompiledSchema[0]);
+            return (model, value, type) -> {
+                if (type != JsonType.OBJECT) {
+                    return true;
+                }
+                for (int i = 0; i < propertyNames.length; i++) {
+                    Object property = model.property(value, propertyNames[i]);
+                    if (property != ValueModel.MISSING && !propertySchemas[i].isValid(model, property)) {
+                        return false;
+                    }
+                }
+                return true;
+            };
+        }
+
+        private Check additionalProperties(JsonNode propertiesNode, JsonNode additional) {
+            if (additional.isBoolean() && additional.booleanValue()) {
+                return ALWAYS;
+            }
+            CompiledSchema schema = additional.isBoolean() ? null : schema(additional);
+            if (schema == null && !additional.isBoolean()) {
+                return null;
+            }
+            Set<String> declared = new HashSet<>();
+            if (propertiesNode != null) {
+                propertiesNode.fieldNames().forEachRemaining(declared::add);
+            }
+            return (model, value, type) -> {
+                if (type != JsonType.OBJECT) {
+                    return true;
+                }
+                Iterator<String> names = model.propertyNames(value);
+                while (names.hasNext()) {
+                    String name = names.next();
+                    if (name.startsWith("#") || declared.contains(name)) {
+                        continue;
+                    }
+                    if (schema == null || !schema.isValid(model, model.property(value, name))) {
+                        return false;
+                    }
+                }
+                return true;
+            };
+        }
+
+        private Check items(JsonNode itemsNode) {
+            CompiledSchema schema = itemsNode.isObject() ? schema(itemsNode) : null;
+            if (schema == null) {
+                return null;
+            }
+            return (model, value, type) -> {
+                if (type != JsonType.ARRAY) {
+                    return !typeLoose || schema.isValid(model, value);
+                }
+                Iterator<?> elements = model.elements(value);
+                while (elements.hasNext()) {
+                    if (!schema.isValid(model, elements.next())) {
+                        return false;
+                    }
+                }
+                return true;
+            };
+        }
+
+        private Check not(JsonNode notNode) {
+            CompiledSchema schema = schema(notNode);
+            return schema == null ? null : (model, value, type) -> !schema.isValid(model, value);
+        }
+
+        private Check allOf(JsonNode allOfNode) {
+            List<CompiledSchema> schemas = new ArrayList<>();
+            for (JsonNode subSchema : allOfNode) {
+                CompiledSchema schema = schema(subSchema);
+                if (schema == null) {
+                    return null;
+                }
+                schemas.add(schema);
+            }
+            CompiledSchema[] all = schemas.toArray(new CompiledSchema[0]);
+            return (model, value, type) -> {
+                for (CompiledSchema schema : all) {
+                    if (!schema.isValid(model, value)) {
+                        return false;
+                    }
+                }
+                return true;
+            };
+        }
+
+        /**
+         * Hands a sub-schema the compiler does not understand to networknt, declared with the
+         * same draft as the document it comes from.
+         */
+        private CompiledSchema networknt(ObjectNode schemaNode) {
+            ObjectNode standalone = schemaNode;
+            if (version != null && !schemaNode.has("$schema")) {
+                standalone = schemaNode.deepCopy();
+                standalone.set("$schema", version);
+            }
+            JsonSchema schema = fallbackLoader.apply(standalone);
+            return (model, payload) -> {
+                try {
+                    return schema.validate(model.toTree(payload)).isEmpty();
+                } catch (JsonSchemaException e) {
+                    // loaded fail-fast, networknt reports the first error by throwing
+                    return false;
+                }
+            };
+        }
+    }
+
+    private static CompiledSchema combine(List<Check> checks) {
+        if (checks.isEmpty()) {
+            return (model, payload) -> true;
+        }
+        if (checks.size() == 1) {
+            Check check = checks.get(0);
+            return (model, payload) -> {
+                Object value = model.normalize(payload);
+                return check.test(model, value, model.typeOf(value));
+            };
+        }
+        Check[] all = checks.toArray(new Check[0]);
+        return (model, payload) -> {
+            Object value = model.normalize(payload);
+            JsonType type = model.typeOf(value);
+            for (Check check : all) {
+                if (!check.test(model, value, type)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    private static boolean hasUniqueElements(ValueModel model, Object value, JsonType type) {
+        Set<JsonNode> seen = new HashSet<>();
+        Iterator<?> elements = model.elements(value);
+        while (elements.hasNext()) {
+            if (!seen.add(model.toTree(elements.next()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDouble(Object value) {
+        return value instanceof JsonNode node ? node.isDouble() : value instanceof Double;
+    }
+
+    private static boolean isInt(JsonNode value) {
+        return value.isIntegralNumber() && value.canConvertToInt();
+    }
+
+    private static boolean isTrue(JsonNode value) {
+        return value != null && value.isBoolean() && value.booleanValue();
+    }
+}
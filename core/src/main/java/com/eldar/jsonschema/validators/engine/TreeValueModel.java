@@ -0,0 +1,93 @@
+package com.eldar.jsonschema.validators.engine;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.networknt.schema.JsonType;
+import com.networknt.schema.TypeFactory;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+
+/**
+ * {@link ValueModel} over a Jackson tree, for payloads that were already converted.
+ * A Java {@code null} is read as a JSON null.
+ */
+public class TreeValueModel implements ValueModel {
+
+    @Override
+    public Object normalize(Object value) {
+        return value == null ? NullNode.getInstance() : value;
+    }
+
+    @Override
+    public JsonType typeOf(Object value) {
+        return TypeFactory.getValueNodeType((JsonNode) value, null);
+    }
+
+    @Override
+    public String text(Object value) {
+        return ((JsonNode) value).textValue();
+    }
+
+    @Override
+    public boolean isNumber(Object value) {
+        return ((JsonNode) value).isNumber();
+    }
+
+    @Override
+    public boolean isBigDecimal(Object value) {
+        return ((JsonNode) value).isBigDecimal();
+    }
+
+    @Override
+    public boolean isLong(Object value) {
+        JsonNode node = (JsonNode) value;
+        return node.isInt() || node.isLong() || node.isShort();
+    }
+
+    @Override
+    public long longValue(Object value) {
+        return ((JsonNode) value).longValue();
+    }
+
+    @Override
+    public double doubleValue(Object value) {
+        return ((JsonNode) value).doubleValue();
+    }
+
+    @Override
+    public BigDecimal decimalValue(Object value) {
+        return ((JsonNode) value).decimalValue();
+    }
+
+    @Override
+    public String numberText(Object value) {
+        return ((JsonNode) value).asText();
+    }
+
+    @Override
+    public int size(Object value) {
+        return ((JsonNode) value).size();
+    }
+
+    @Override
+    public Object property(Object value, String name) {
+        JsonNode property = ((JsonNode) value).get(name);
+        return property == null ? MISSING : property;
+    }
+
+    @Override
+    public Iterator<String> propertyNames(Object value) {
+        return ((JsonNode) value).fieldNames();
+    }
+
+    @Override
+    public Iterator<?> elements(Object value) {
+        return ((JsonNode) value).elements();
+    }
+
+    @Override
+    public JsonNode toTree(Object value) {
+        return value == null ? NullNode.getInstance() : (JsonNode) value;
+    }
+}
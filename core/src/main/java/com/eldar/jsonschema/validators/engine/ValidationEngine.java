@@ -0,0 +1,24 @@
+package com.eldar.jsonschema.validators.engine;
+
+/**
+ * How {@link com.eldar.jsonschema.validators.ValidatorService} evaluates a payload.
+ */
+public enum ValidationEngine {
+    /**
+     * Convert the payload with {@code ObjectMapper.valueToTree} and run the networknt validators.
+     * Strings, booleans and boxed numbers, which a tree would only wrap, are read in place by the compiled
+     * checks when the schema has them.
+     */
+    TREE,
+    /**
+     * Convert the payload to a tree and run the checks produced by {@link SchemaCompiler}.
+     * Schemas that could not be compiled, and every rejected payload, go through {@link #TREE}.
+     */
+    COMPILED,
+    /**
+     * Run the compiled checks directly against the Java object graph, without building a tree.
+     * Values the object walker does not understand are converted only for that sub-tree.
+     * Schemas that could not be compiled, and every rejected payload, go through {@link #TREE}.
+     */
+    POJO
+}
@@ -0,0 +1,64 @@
+package com.eldar.jsonschema.validators.engine;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.networknt.schema.JsonType;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+
+/**
+ * Read-only view of a payload as the JSON value it serializes to.
+ * Every method except {@link #normalize(Object)} expects a normalized value.
+ */
+public interface ValueModel {
+
+    /**
+     * Returned by {@link #property(Object, String)} when the property is absent.
+     */
+    Object MISSING = new Object();
+
+    /**
+     * @return the value itself when the model can walk it, otherwise its JSON tree.
+     */
+    Object normalize(Object value);
+
+    /**
+     * @return the JSON type the same way networknt classifies a node (without type loosening).
+     */
+    JsonType typeOf(Object value);
+
+    String text(Object value);
+
+    boolean isNumber(Object value);
+
+    boolean isBigDecimal(Object value);
+
+    /**
+     * @return true for integral numbers held in an int, long or short, whose exact value is {@link #longValue(Object)}.
+     */
+    boolean isLong(Object value);
+
+    long longValue(Object value);
+
+    double doubleValue(Object value);
+
+    BigDecimal decimalValue(Object value);
+
+    /**
+     * @return the number as Jackson would print it through {@code JsonNode.asText()}.
+     */
+    String numberText(Object value);
+
+    /**
+     * @return the number of elements of an array or properties of an object.
+     */
+    int size(Object value);
+
+    Object property(Object value, String name);
+
+    Iterator<String> propertyNames(Object value);
+
+    Iterator<?> elements(Object value);
+
+    JsonNode toTree(Object value);
+}
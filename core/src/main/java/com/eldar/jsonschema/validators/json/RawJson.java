@@ -0,0 +1,200 @@
+package com.eldar.jsonschema.validators.json;
+
+import com.eldar.jsonschema.exception.UnProcessableObject;
+import com.eldar.jsonschema.validators.checks.TokenCheck;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.networknt.schema.ValidationMessage;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * A JSON document passed as a {@code String}, {@code byte[]}, {@code ByteBuffer} or {@code InputStream},
+ * parsed by Jackson's streaming parser straight from the caller's characters or bytes. A buffer keeps its
+ * position, and the bytes read from a stream are recorded so that {@link #argument()} can replay them.
+ */
+public final class RawJson {
+
+    /**
+     * Leaves the caller's stream open once the document is read.
+     */
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+            .build();
+
+    private final Object payload;
+    private RecordingInputStream recording;
+
+    private RawJson(Object payload) {
+        this.payload = payload;
+    }
+
+    /**
+     * Payloads read as a JSON document rather than converted as a Java value.
+     */
+    public static boolean supports(Object payload) {
+        return payload instanceof String || payload instanceof byte[] || payload instanceof ByteBuffer
+                || payload instanceof InputStream;
+    }
+
+    public static RawJson of(Object payload) {
+        if (!supports(payload)) {
+            throw new IllegalArgumentException("Not a raw JSON payload: " + payload.getClass().getName());
+        }
+        return new RawJson(payload);
+    }
+
+    /**
+     * Evaluate a built-in check on the first tokens of the document. The rest of it is only scanned, without
+     * building a tree, so that a truncated document or one followed by more content is not accepted.
+     *
+     * @throws JsonProcessingException if the payload is not exactly one JSON document
+     */
+    public boolean accepts(TokenCheck check) throws IOException {
+        try (JsonParser parser = parser()) {
+            if (!check.accepts(parser)) {
+                return false;
+            }
+            while (!parser.getParsingContext().inRoot()) {
+                if (parser.nextToken() == null) {
+                    throw new JsonParseException(parser, "Unexpected end of the JSON document");
+                }
+                parser.skipChildren();
+            }
+            if (parser.nextToken() != null) {
+                throw new JsonParseException(parser, "Trailing content after the JSON document");
+            }
+            return true;
+        }
+    }
+
+    /**
+     * @throws JsonProcessingException if the payload is not exactly one JSON document
+     */
+    public JsonNode tree(ObjectMapper objectMapper) throws IOException {
+        try (JsonParser parser = parser()) {
+            JsonNode tree = objectMapper.readTree(parser);
+            if (tree == null) {
+                throw new JsonParseException(parser, "No JSON content");
+            }
+            if (parser.nextToken() != null) {
+                throw new JsonParseException(parser, "Trailing content after the JSON document");
+            }
+            return tree;
+        }
+    }
+
+    /**
+     * @return the payload to hand on: the same object, or for a stream, one starting with the bytes read.
+     */
+    public Object argument() {
+        return recording != null ? recording.replay() : payload;
+    }
+
+    /**
+     * @return the rejection of a payload which is not JSON, reported at the root of the document
+     */
+    public static UnProcessableObject malformed(IOException e) {
+        String detail = e instanceof JsonProcessingException processing ? processing.getOriginalMessage()
+                : e.getMessage();
+        ValidationMessage message = new ValidationMessage.Builder()
+                .type("json")
+                .code("json")
+                .path("$")
+                .schemaPath("#")
+                .format(new MessageFormat("{0}"))
+                .customMessage("$: malformed JSON: " + detail)
+                .build();
+        return new UnProcessableObject(Set.of(message), "Validation Error: ");
+    }
+
+    private JsonParser parser() throws IOException {
+        if (payload instanceof String text) {
+            return JSON_FACTORY.createParser(text);
+        }
+        if (payload instanceof byte[] bytes) {
+            return JSON_FACTORY.createParser(bytes);
+        }
+        if (payload instanceof ByteBuffer buffer) {
+            if (buffer.hasArray()) {
+                return JSON_FACTORY.createParser(buffer.array(), buffer.arrayOffset() + buffer.position(),
+                        buffer.remaining());
+            }
+            return JSON_FACTORY.createParser(new ByteBufferBackedInputStream(buffer.duplicate()));
+        }
+        // read again from the start when a check did not settle it
+        recording = new RecordingInputStream(recording != null ? recording.replay() : (InputStream) payload);
+        return JSON_FACTORY.createParser(recording);
+    }
+
+    /**
+     * Keeps the bytes the parser read, including those it buffered past the end of the document.
+     */
+    private static final class RecordingInputStream extends FilterInputStream {
+        private byte[] recorded = new byte[256];
+        private int count;
+
+        private RecordingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) {
+                record(new byte[]{(byte) b}, 0, 1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = in.read(b, off, len);
+            if (read > 0) {
+                record(b, off, read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            return Math.max(read(new byte[(int) Math.min(n, 8192)]), 0);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public void close() {
+            // the stream belongs to the method
+        }
+
+        private void record(byte[] b, int off, int len) {
+            if (count + len > recorded.length) {
+                recorded = Arrays.copyOf(recorded, Math.max(recorded.length * 2, count + len));
+            }
+            System.arraycopy(b, off, recorded, count, len);
+            count += len;
+        }
+
+        private InputStream replay() {
+            return new SequenceInputStream(new ByteArrayInputStream(recorded, 0, count), in);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.eldar.jsonschema.validators.metrics;
+
+import com.eldar.jsonschema.validators.SchemaHandle;
+import com.eldar.jsonschema.validators.overload.ValidationTier;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link ValidationMetrics} kept in memory, without any dependency; meant for tests and for
+ * applications without Micrometer. Schemas are keyed by their text, methods by their key.
+ */
+public class InMemoryValidationMetrics implements ValidationMetrics {
+
+    private final Map<String, SchemaMetrics> schemas = new ConcurrentHashMap<>();
+    private final Map<String, MethodMetrics> methods = new ConcurrentHashMap<>();
+    private final LatencyHistogram schemaLoads = new LatencyHistogram();
+    private final LongAdder schemaLoadFailures = new LongAdder();
+
+    public static final class SchemaMetrics {
+        private final LatencyHistogram validation = new LatencyHistogram();
+        private final LatencyHistogram conversion = new LatencyHistogram();
+        private final LatencyHistogram evaluation = new LatencyHistogram();
+        private final LongAdder failures = new LongAdder();
+
+        public LatencyHistogram.Snapshot validation() {
+            return validation.snapshot();
+        }
+
+        public LatencyHistogram.Snapshot conversion() {
+            return conversion.snapshot();
+        }
+
+        public LatencyHistogram.Snapshot evaluation() {
+            return evaluation.snapshot();
+        }
+
+        public long failures() {
+            return failures.sum();
+        }
+    }
+
+    public static final class MethodMetrics {
+        private final LatencyHistogram validation = new LatencyHistogram();
+        private final LongAdder thrown = new LongAdder();
+        private final LongAdder defaultReturned = new LongAdder();
+        private volatile ValidationTier tier = ValidationTier.FULL;
+
+        public LatencyHistogram.Snapshot validation() {
+            return validation.snapshot();
+        }
+
+        public long thrown() {
+            return thrown.sum();
+        }
+
+        public long defaultReturned() {
+            return defaultReturned.sum();
+        }
+
+        public ValidationTier tier() {
+            return tier;
+        }
+    }
+
+    @Override
+    public void validated(SchemaHandle schema, long nanos, boolean passed) {
+        SchemaMetrics metrics = schemaMetrics(schema);
+        metrics.validation.record(nanos);
+        if (!passed) {
+            metrics.failures.increment();
+        }
+    }
+
+    @Override
+    public void converted(SchemaHandle schema, long nanos) {
+        schemaMetrics(schema).conversion.record(nanos);
+    }
+
+    @Override
+    public void evaluated(SchemaHandle schema, long nanos) {
+        schemaMetrics(schema).evaluation.record(nanos);
+    }
+
+    @Override
+    public void schemaLoaded(long nanos, boolean succeeded) {
+        schemaLoads.record(nanos);
+        if (!succeeded) {
+            schemaLoadFailures.increment();
+        }
+    }
+
+    @Override
+    public void methodValidated(String methodKey, long nanos) {
+        methodMetrics(methodKey).validation.record(nanos);
+    }
+
+    @Override
+    public void rejected(String methodKey, boolean thrown) {
+        MethodMetrics metrics = methodMetrics(methodKey);
+        (thrown ? metrics.thrown : metrics.defaultReturned).increment();
+    }
+
+    @Override
+    public void tierChanged(String methodKey, ValidationTier tier) {
+        methodMetrics(methodKey).tier = tier;
+    }
+
+    /**
+     * @return the metrics of a schema, or null if it was never used
+     */
+    public SchemaMetrics schema(String schemaText) {
+        return schemas.get(schemaText);
+    }
+
+    /**
+     * @return the metrics of a method, or null if it was never validated
+     */
+    public MethodMetrics method(String methodKey) {
+        return methods.get(methodKey);
+    }
+
+    public LatencyHistogram.Snapshot schemaLoads() {
+        return schemaLoads.snapshot();
+    }
+
+    public long schemaLoadFailures() {
+        return schemaLoadFailures.sum();
+    }
+
+    private SchemaMetrics schemaMetrics(SchemaHandle schema) {
+        SchemaMetrics metrics = schemas.get(schema.getSchemaText());
+        return metrics != null ? metrics : schemas.computeIfAbsent(schema.getSchemaText(), text -> new SchemaMetrics());
+    }
+
+    private MethodMetrics methodMetrics(String methodKey) {
+        MethodMetrics metrics = methods.get(methodKey);
+        return metrics != null ? metrics : methods.computeIfAbsent(methodKey, key -> new MethodMetrics());
+    }
+}
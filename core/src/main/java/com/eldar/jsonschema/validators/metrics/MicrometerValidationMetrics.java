@@ -0,0 +1,183 @@
+package com.eldar.jsonschema.validators.metrics;
+
+import com.eldar.jsonschema.validators.SchemaHandle;
+import com.eldar.jsonschema.validators.SchemaNames;
+import com.eldar.jsonschema.validators.ValidatorService;
+import com.eldar.jsonschema.validators.cache.SchemaCacheStats;
+import com.eldar.jsonschema.validators.overload.ValidationTier;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * {@link ValidationMetrics} published to Micrometer; Micrometer is an optional dependency.
+ * Creating it registers it with the given {@link ValidatorService}. Meters are created once per schema
+ * and method and then looked up, so recording does not allocate. Schemas are tagged with their
+ * {@link SchemaNames stable name}; at most {@code maxSchemas} of them have their own meters, the schemas
+ * unused for an hour give theirs up, and the others are recorded under {@code schema} = {@code other}:
+ * <ul>
+ * <li>{@code validation.schema.validate} (tags {@code schema}, {@code outcome}),
+ * {@code validation.schema.convert} and {@code validation.schema.evaluate} timers</li>
+ * <li>{@code validation.schema.load} timer (tag {@code outcome}) and {@code validation.schema.cache.*}
+ * hits, misses, evictions and size</li>
+ * <li>{@code validation.method} timer and {@code validation.method.rejections} counter
+ * (tags {@code method}, {@code outcome} = {@code thrown} or {@code default})</li>
+ * <li>{@code validation.method.tier} gauge (tag {@code method}), the ordinal of the current
+ * {@link ValidationTier}: 0 while fully validated</li>
+ * </ul>
+ */
+public class MicrometerValidationMetrics implements ValidationMetrics {
+
+    public static final int DEFAULT_MAX_SCHEMAS = 500;
+    private static final Duration SCHEMA_IDLE = Duration.ofHours(1);
+    private static final String OTHER_SCHEMAS = "other";
+
+    private final MeterRegistry registry;
+    private final int maxSchemas;
+    /**
+     * By schema text; an evicted schema has its meters removed from the registry.
+     */
+    private final Cache<String, SchemaMeters> schemas;
+    private final SchemaMeters otherSchemas;
+    private final Map<String, MethodMeters> methods = new ConcurrentHashMap<>();
+    private final Timer schemaLoads;
+    private final Timer schemaLoadFailures;
+
+    private final class SchemaMeters {
+        private final Timer passed;
+        private final Timer failed;
+        private final Timer conversion;
+        private final Timer evaluation;
+
+        private SchemaMeters(String name) {
+            passed = timer("validation.schema.validate", "schema", name, "outcome", "passed");
+            failed = timer("validation.schema.validate", "schema", name, "outcome", "failed");
+            conversion = timer("validation.schema.convert", "schema", name);
+            evaluation = timer("validation.schema.evaluate", "schema", name);
+        }
+
+        private void remove() {
+            registry.remove(passed);
+            registry.remove(failed);
+            registry.remove(conversion);
+            registry.remove(evaluation);
+        }
+    }
+
+    private final class MethodMeters {
+        private final Timer validation;
+        private final Counter thrown;
+        private final Counter defaultReturned;
+        private final AtomicInteger tier = new AtomicInteger();
+
+        private MethodMeters(String methodKey) {
+            validation = timer("validation.method", "method", methodKey);
+            thrown = Counter.builder("validation.method.rejections").tags("method", methodKey, "outcome", "thrown")
+                    .register(registry);
+            defaultReturned = Counter.builder("validation.method.rejections")
+                    .tags("method", methodKey, "outcome", "default").register(registry);
+            Gauge.builder("validation.method.tier", tier, AtomicInteger::get).tag("method", methodKey)
+                    .register(registry);
+        }
+    }
+
+    public MicrometerValidationMetrics(MeterRegistry registry, ValidatorService validatorService) {
+        this(registry, validatorService, DEFAULT_MAX_SCHEMAS);
+    }
+
+    /**
+     * @param maxSchemas schemas with meters of their own
+     */
+    public MicrometerValidationMetrics(MeterRegistry registry, ValidatorService validatorService, int maxSchemas) {
+        this.registry = registry;
+        this.maxSchemas = maxSchemas;
+        schemas = Caffeine.newBuilder()
+                .maximumSize(maxSchemas)
+                .expireAfterAccess(SCHEMA_IDLE)
+                .executor(Runnable::run)
+                .<String, SchemaMeters>removalListener((schemaText, meters, cause) -> meters.remove())
+                .build();
+        otherSchemas = new SchemaMeters(OTHER_SCHEMAS);
+        schemaLoads = timer("validation.schema.load", "outcome", "loaded");
+        schemaLoadFailures = timer("validation.schema.load", "outcome", "failed");
+        cacheCounter("validation.schema.cache.hits", validatorService, SchemaCacheStats::hitCount);
+        cacheCounter("validation.schema.cache.misses", validatorService, SchemaCacheStats::missCount);
+        cacheCounter("validation.schema.cache.evictions", validatorService, SchemaCacheStats::evictionCount);
+        Gauge.builder("validation.schema.cache.size", validatorService,
+                service -> service.getSchemaCacheStats().estimatedSize()).register(registry);
+        validatorService.setMetrics(this);
+    }
+
+    @Override
+    public void validated(SchemaHandle schema, long nanos, boolean passed) {
+        SchemaMeters meters = schemaMeters(schema);
+        (passed ? meters.passed : meters.failed).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void converted(SchemaHandle schema, long nanos) {
+        schemaMeters(schema).conversion.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void evaluated(SchemaHandle schema, long nanos) {
+        schemaMeters(schema).evaluation.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void schemaLoaded(long nanos, boolean succeeded) {
+        (succeeded ? schemaLoads : schemaLoadFailures).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void methodValidated(String methodKey, long nanos) {
+        methodMeters(methodKey).validation.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void rejected(String methodKey, boolean thrown) {
+        MethodMeters meters = methodMeters(methodKey);
+        (thrown ? meters.thrown : meters.defaultReturned).increment();
+    }
+
+    @Override
+    public void tierChanged(String methodKey, ValidationTier tier) {
+        methodMeters(methodKey).tier.set(tier.ordinal());
+    }
+
+    private SchemaMeters schemaMeters(SchemaHandle schema) {
+        SchemaMeters meters = schemas.getIfPresent(schema.getSchemaText());
+        if (meters != null) {
+            return meters;
+        }
+        if (schemas.estimatedSize() >= maxSchemas) {
+            return otherSchemas;
+        }
+        return schemas.get(schema.getSchemaText(), schemaText -> new SchemaMeters(SchemaNames.of(schemaText)));
+    }
+
+    private MethodMeters methodMeters(String methodKey) {
+        MethodMeters meters = methods.get(methodKey);
+        return meters != null ? meters : methods.computeIfAbsent(methodKey, MethodMeters::new);
+    }
+
+    private Timer timer(String name, String... tags) {
+        return Timer.builder(name).tags(tags).publishPercentileHistogram().register(registry);
+    }
+
+    private void cacheCounter(String name, ValidatorService validatorService, ToDoubleFunction<SchemaCacheStats> count) {
+        FunctionCounter.builder(name, validatorService, service -> count.applyAsDouble(service.getSchemaCacheStats()))
+                .register(registry);
+    }
+}
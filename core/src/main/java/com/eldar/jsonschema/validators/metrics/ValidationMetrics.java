@@ -0,0 +1,63 @@
+package com.eldar.jsonschema.validators.metrics;
+
+import com.eldar.jsonschema.validators.SchemaHandle;
+import com.eldar.jsonschema.validators.overload.ValidationTier;
+
+/**
+ * Instrumentation hooks of {@code ValidatorService} and {@code ValidationAspect}. They are called on
+ * every validation, with primitive timings and objects that already exist, so implementations must not
+ * allocate or block on the success path: look meters up in a map and record into them.
+ * Every hook defaults to doing nothing.
+ */
+public interface ValidationMetrics {
+
+    ValidationMetrics NOOP = new ValidationMetrics() {
+    };
+
+    /**
+     * One payload validated against a schema, from start to outcome.
+     */
+    default void validated(SchemaHandle schema, long nanos, boolean passed) {
+    }
+
+    /**
+     * Time spent turning the payload into a Jackson tree, included in {@link #validated}.
+     */
+    default void converted(SchemaHandle schema, long nanos) {
+    }
+
+    /**
+     * Time spent evaluating the schema, included in {@link #validated}.
+     */
+    default void evaluated(SchemaHandle schema, long nanos) {
+    }
+
+    /**
+     * A schema parsed and compiled on a schema cache miss.
+     */
+    default void schemaLoaded(long nanos, boolean succeeded) {
+    }
+
+    /**
+     * All validated arguments of one call of an annotated method.
+     *
+     * @param methodKey the method, as {@code SchemaRegistry.methodKey(Method)} prints it
+     */
+    default void methodValidated(String methodKey, long nanos) {
+    }
+
+    /**
+     * An annotated method rejected a call.
+     *
+     * @param thrown whether the failure was thrown, rather than the default value returned
+     */
+    default void rejected(String methodKey, boolean thrown) {
+    }
+
+    /**
+     * An {@code OverloadController} changed how thoroughly a method is validated; every method starts
+     * at {@link ValidationTier#FULL}.
+     */
+    default void tierChanged(String methodKey, ValidationTier tier) {
+    }
+}
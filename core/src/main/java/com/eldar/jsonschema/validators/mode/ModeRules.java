@@ -0,0 +1,18 @@
+package com.eldar.jsonschema.validators.mode;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Configured rules as read by {@link ValidationModes#refresh()}: the default mode, how long a sampled
+ * method stays validated on every call after a failure, and modes by method, class or package.
+ */
+public record ModeRules(String defaultMode, Duration escalation, Map<String, String> rules) {
+
+    public static final Duration DEFAULT_ESCALATION = Duration.ofSeconds(60);
+    public static final ModeRules NONE = new ModeRules("always", DEFAULT_ESCALATION, Map.of());
+
+    public ModeRules {
+        rules = Map.copyOf(rules);
+    }
+}
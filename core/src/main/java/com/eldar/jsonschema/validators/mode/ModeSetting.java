@@ -0,0 +1,38 @@
+package com.eldar.jsonschema.validators.mode;
+
+import java.util.Locale;
+
+/**
+ * A parsed mode rule: {@code always}, {@code off} or {@code sampled:<percent>}.
+ */
+record ModeSetting(ValidationMode mode, int percent, long escalationMillis) {
+
+    static final ModeSetting ALWAYS = new ModeSetting(ValidationMode.ALWAYS, 100, 0);
+
+    static ModeSetting parse(String rule, long escalationMillis) {
+        String value = rule.trim().toLowerCase(Locale.ROOT);
+        if (value.equals("always")) {
+            return new ModeSetting(ValidationMode.ALWAYS, 100, escalationMillis);
+        }
+        if (value.equals("off")) {
+            return new ModeSetting(ValidationMode.OFF, 0, escalationMillis);
+        }
+        if (value.startsWith("sampled:")) {
+            try {
+                int percent = Integer.parseInt(value.substring("sampled:".length()).trim());
+                if (percent >= 0 && percent <= 100) {
+                    return new ModeSetting(ValidationMode.SAMPLED, percent, escalationMillis);
+                }
+            } catch (NumberFormatException e) {
+                // reported below
+            }
+        }
+        throw new IllegalArgumentException("Invalid validation mode '" + rule
+                + "', expected always, off or sampled:<percent>");
+    }
+
+    @Override
+    public String toString() {
+        return mode == ValidationMode.SAMPLED ? "sampled:" + percent : mode.name().toLowerCase(Locale.ROOT);
+    }
+}
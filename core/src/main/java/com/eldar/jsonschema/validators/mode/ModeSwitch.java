@@ -0,0 +1,74 @@
+package com.eldar.jsonschema.validators.mode;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The current mode of one method, held by its validation plan and updated by {@link ValidationModes}.
+ * Deciding whether to validate a call costs a volatile read, plus a random draw and a counter when sampled.
+ */
+public final class ModeSwitch {
+
+    private final String methodKey;
+    private volatile ModeSetting setting;
+    private volatile long escalatedUntil;
+    private final LongAdder skipped = new LongAdder();
+
+    ModeSwitch(String methodKey, ModeSetting setting) {
+        this.methodKey = methodKey;
+        this.setting = setting;
+    }
+
+    /**
+     * @return whether the arguments of this call are validated
+     */
+    public boolean shouldValidate() {
+        ModeSetting current = setting;
+        switch (current.mode()) {
+            case ALWAYS:
+                return true;
+            case OFF:
+                skipped.increment();
+                return false;
+            default:
+                if (ThreadLocalRandom.current().nextInt(100) < current.percent() || isEscalated()) {
+                    return true;
+                }
+                skipped.increment();
+                return false;
+        }
+    }
+
+    /**
+     * Report a rejected call: a sampled method is then validated on every call for the escalation period.
+     */
+    public void failed() {
+        ModeSetting current = setting;
+        if (current.mode() == ValidationMode.SAMPLED) {
+            escalatedUntil = System.currentTimeMillis() + current.escalationMillis();
+        }
+    }
+
+    public ValidationMode getMode() {
+        ModeSetting current = setting;
+        return current.mode() == ValidationMode.SAMPLED && isEscalated() ? ValidationMode.ALWAYS : current.mode();
+    }
+
+    public long getSkippedCount() {
+        return skipped.sum();
+    }
+
+    String getMethodKey() {
+        return methodKey;
+    }
+
+    void update(ModeSetting setting) {
+        this.setting = setting;
+        escalatedUntil = 0;
+    }
+
+    private boolean isEscalated() {
+        long until = escalatedUntil;
+        return until != 0 && System.currentTimeMillis() < until;
+    }
+}
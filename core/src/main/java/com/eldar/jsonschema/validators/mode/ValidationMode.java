@@ -0,0 +1,19 @@
+package com.eldar.jsonschema.validators.mode;
+
+/**
+ * How the arguments of a validated method are checked, see {@link ValidationModes}.
+ */
+public enum ValidationMode {
+    /**
+     * Every call is validated.
+     */
+    ALWAYS,
+    /**
+     * A percentage of the calls is validated; after a failure every call is, for a while.
+     */
+    SAMPLED,
+    /**
+     * No call is validated.
+     */
+    OFF
+}
@@ -0,0 +1,127 @@
+package com.eldar.jsonschema.validators.mode;
+
+import com.eldar.jsonschema.validators.registry.SchemaRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Runtime switches for argument validation, by method, class or package. Rules come from a
+ * {@link ModeRules} source (the Spring integration reads {@code validation.mode.*} properties) and from
+ * {@link #setMode(String, String)}, which takes precedence and survives {@link #refresh()}. The most
+ * specific rule wins: a full method key as printed by {@link SchemaRegistry#methodKey(Method)}, then
+ * {@code class#method}, the class, and enclosing packages.
+ * <p>
+ * A standard MBean; outside of Spring register it under {@link #OBJECT_NAME} to change modes over JMX.
+ */
+@Slf4j
+public class ValidationModes implements ValidationModesMBean {
+
+    public static final String OBJECT_NAME = "com.eldar.jsonschema:type=ValidationModes";
+
+    private final Supplier<ModeRules> source;
+    private final Map<String, ModeSwitch> switches = new ConcurrentHashMap<>();
+    private final Map<String, String> overrides = new ConcurrentHashMap<>();
+    private volatile Map<String, ModeSetting> rules = Map.of();
+    private volatile ModeSetting defaultSetting = ModeSetting.ALWAYS;
+
+    /**
+     * Every method validated on every call, until rules are set through {@link #setMode(String, String)}.
+     */
+    public ValidationModes() {
+        this(() -> ModeRules.NONE);
+    }
+
+    public ValidationModes(Supplier<ModeRules> source) {
+        this.source = source;
+        refresh();
+    }
+
+    public ModeSwitch switchFor(Method method) {
+        return switches.computeIfAbsent(SchemaRegistry.methodKey(method),
+                methodKey -> new ModeSwitch(methodKey, resolve(methodKey)));
+    }
+
+    /**
+     * Re-read the rules from their source and apply them to every method.
+     */
+    @Override
+    public synchronized void refresh() {
+        ModeRules configuredRules = source.get();
+        long escalationMillis = configuredRules.escalation().toMillis();
+        Map<String, String> configured = new HashMap<>(configuredRules.rules());
+        configured.putAll(overrides);
+        Map<String, ModeSetting> parsed = new HashMap<>();
+        for (Map.Entry<String, String> rule : configured.entrySet()) {
+            parsed.put(rule.getKey(), ModeSetting.parse(rule.getValue(), escalationMillis));
+        }
+        defaultSetting = ModeSetting.parse(configuredRules.defaultMode(), escalationMillis);
+        rules = Map.copyOf(parsed);
+        switches.values().forEach(modeSwitch -> modeSwitch.update(resolve(modeSwitch.getMethodKey())));
+        log.info("Validation modes: default {}, rules {}", defaultSetting, rules);
+    }
+
+    /**
+     * @param target a method key, {@code class#method}, class or package name
+     * @param mode   {@code always}, {@code off} or {@code sampled:<percent>}
+     */
+    @Override
+    public synchronized void setMode(String target, String mode) {
+        ModeSetting.parse(mode, 0);
+        overrides.put(target, mode);
+        refresh();
+    }
+
+    @Override
+    public synchronized void clearMode(String target) {
+        if (overrides.remove(target) != null) {
+            refresh();
+        }
+    }
+
+    @Override
+    public Map<String, String> getRules() {
+        Map<String, String> effective = new TreeMap<>();
+        rules.forEach((target, setting) -> effective.put(target, setting.toString()));
+        return effective;
+    }
+
+    @Override
+    public Map<String, Long> getSkippedCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        switches.forEach((methodKey, modeSwitch) -> {
+            if (modeSwitch.getSkippedCount() > 0) {
+                counts.put(methodKey, modeSwitch.getSkippedCount());
+            }
+        });
+        return counts;
+    }
+
+    private ModeSetting resolve(String methodKey) {
+        Map<String, ModeSetting> current = rules;
+        if (current.isEmpty()) {
+            return defaultSetting;
+        }
+        ModeSetting setting = current.get(methodKey);
+        if (setting != null) {
+            return setting;
+        }
+        String className = methodKey.substring(0, methodKey.indexOf('#'));
+        setting = current.get(methodKey.substring(0, methodKey.indexOf('(')));
+        if (setting != null) {
+            return setting;
+        }
+        for (String name = className; !name.isEmpty(); name = name.substring(0, Math.max(0, name.lastIndexOf('.')))) {
+            setting = current.get(name);
+            if (setting != null) {
+                return setting;
+            }
+        }
+        return defaultSetting;
+    }
+}
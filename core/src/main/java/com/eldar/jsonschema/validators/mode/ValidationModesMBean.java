@@ -0,0 +1,19 @@
+package com.eldar.jsonschema.validators.mode;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link ValidationModes}.
+ */
+public interface ValidationModesMBean {
+
+    void refresh();
+
+    void setMode(String target, String mode);
+
+    void clearMode(String target);
+
+    Map<String, String> getRules();
+
+    Map<String, Long> getSkippedCounts();
+}
@@ -0,0 +1,97 @@
+package com.eldar.jsonschema.validators.overload;
+
+import com.eldar.jsonschema.validators.SchemaHandle;
+import com.eldar.jsonschema.validators.ValidatorService;
+import com.eldar.jsonschema.validators.catalog.SchemaCatalog;
+import com.eldar.jsonschema.validators.registry.SchemaRegistry;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lowers the {@link ValidationTier} of methods whose argument validation exceeds the latency budget of an
+ * {@link OverloadPolicy}, so that validation does not deepen an overload, and restores it once load drops.
+ * Each method has its own {@link TierSwitch}; tier changes are logged and reported to
+ * {@link com.eldar.jsonschema.validators.metrics.ValidationMetrics#tierChanged}.
+ */
+public class OverloadController {
+
+    private static final String[] STRUCTURAL_KEYWORDS = {"type", "required"};
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final OverloadPolicy policy;
+    private final ValidatorService validatorService;
+    private final Map<String, TierSwitch> switches = new ConcurrentHashMap<>();
+
+    public OverloadController(OverloadPolicy policy, ValidatorService validatorService) {
+        this.policy = policy;
+        this.validatorService = validatorService;
+    }
+
+    public TierSwitch switchFor(Method method) {
+        return switches.computeIfAbsent(SchemaRegistry.methodKey(method), methodKey -> new TierSwitch(methodKey,
+                policy, (key, tier) -> validatorService.getMetrics().tierChanged(key, tier)));
+    }
+
+    public OverloadPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * @return the current tier of every method validated so far, by method key
+     */
+    public Map<String, ValidationTier> getTiers() {
+        Map<String, ValidationTier> tiers = new TreeMap<>();
+        switches.forEach((methodKey, tierSwitch) -> tiers.put(methodKey, tierSwitch.getTier()));
+        return tiers;
+    }
+
+    /**
+     * @return the {@link ValidationTier#STRUCTURAL} part of a schema, with its options: the top-level
+     * {@code type} and {@code required}, following a lone {@code $ref} into the catalog. Null when it has neither.
+     */
+    public SchemaHandle structural(SchemaHandle handle) {
+        String structural = structuralSchema(handle.getSchemaText(), validatorService.getCatalog());
+        return structural == null ? null : validatorService.getSchema(structural, handle.getOptions());
+    }
+
+    private static String structuralSchema(String schemaText, SchemaCatalog catalog) {
+        try {
+            JsonNode schemaNode = objectMapper.readTree(schemaText);
+            JsonNode draft = schemaNode.get("$schema");
+            if (schemaNode.isObject() && schemaNode.size() == 1 && schemaNode.has("$ref")) {
+                URI ref = URI.create(schemaNode.get("$ref").asText());
+                String document = catalog.text(ref);
+                if (document == null) {
+                    return null;
+                }
+                JsonNode documentNode = objectMapper.readTree(document);
+                draft = documentNode.get("$schema");
+                String fragment = ref.getFragment();
+                schemaNode = fragment == null || fragment.isEmpty() ? documentNode : documentNode.at(fragment);
+            }
+            if (!schemaNode.isObject() || !(schemaNode.has("type") || schemaNode.has("required"))) {
+                return null;
+            }
+            ObjectNode structural = objectMapper.createObjectNode();
+            if (draft != null) {
+                structural.set("$schema", draft);
+            }
+            for (String keyword : STRUCTURAL_KEYWORDS) {
+                if (schemaNode.has(keyword)) {
+                    structural.set(keyword, schemaNode.get(keyword));
+                }
+            }
+            return structural.toString();
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.eldar.jsonschema.validators.overload;
+
+import java.time.Duration;
+
+/**
+ * When {@link OverloadController} lowers and restores the {@link ValidationTier} of a method.
+ *
+ * @param budget           average validation latency of a call (including the time queued for the validation
+ *                         executor) above which the method steps down one tier
+ * @param maxInFlight      concurrent validations of the method above which it steps down too, 0 for no limit
+ * @param degradeInterval  minimum time between two steps down, for the average to reflect the lower tier
+ * @param restoreAfter     time the load must stay under {@code restoreRatio} of the budget (and half of
+ *                         {@code maxInFlight}) before each step back up
+ * @param restoreRatio     fraction of the budget under which the load counts as low, below 1 so that the
+ *                         tier does not flap around the budget
+ */
+public record OverloadPolicy(Duration budget, int maxInFlight, Duration degradeInterval, Duration restoreAfter,
+                             double restoreRatio) {
+
+    public static final Duration DEFAULT_DEGRADE_INTERVAL = Duration.ofSeconds(1);
+    public static final Duration DEFAULT_RESTORE_AFTER = Duration.ofSeconds(10);
+    public static final double DEFAULT_RESTORE_RATIO = 0.5;
+
+    public OverloadPolicy {
+        if (budget == null || budget.isNegative() || budget.isZero()) {
+            throw new IllegalArgumentException("budget must be positive");
+        }
+        if (maxInFlight < 0) {
+            throw new IllegalArgumentException("maxInFlight must not be negative");
+        }
+        if (degradeInterval == null || degradeInterval.isNegative()
+                || restoreAfter == null || restoreAfter.isNegative()) {
+            throw new IllegalArgumentException("degradeInterval and restoreAfter must not be negative");
+        }
+        if (!(restoreRatio > 0 && restoreRatio < 1)) {
+            throw new IllegalArgumentException("restoreRatio must be between 0 and 1");
+        }
+    }
+
+    public static OverloadPolicy of(Duration budget) {
+        return new OverloadPolicy(budget, 0, DEFAULT_DEGRADE_INTERVAL, DEFAULT_RESTORE_AFTER, DEFAULT_RESTORE_RATIO);
+    }
+
+    public OverloadPolicy withMaxInFlight(int maxInFlight) {
+        return new OverloadPolicy(budget, maxInFlight, degradeInterval, restoreAfter, restoreRatio);
+    }
+
+    public OverloadPolicy withDegradeInterval(Duration degradeInterval) {
+        return new OverloadPolicy(budget, maxInFlight, degradeInterval, restoreAfter, restoreRatio);
+    }
+
+    public OverloadPolicy withRestoreAfter(Duration restoreAfter) {
+        return new OverloadPolicy(budget, maxInFlight, degradeInterval, restoreAfter, restoreRatio);
+    }
+
+    public OverloadPolicy withRestoreRatio(double restoreRatio) {
+        return new OverloadPolicy(budget, maxInFlight, degradeInterval, restoreAfter, restoreRatio);
+    }
+}
@@ -0,0 +1,137 @@
+package com.eldar.jsonschema.validators.overload;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BiConsumer;
+
+/**
+ * The current {@link ValidationTier} of one method, held by its validation plan. Each validation is wrapped
+ * in {@link #enter()} and {@link #exit(ValidationTier, long)}, which keep a moving average of its latency at
+ * each tier and count the validations in flight; the tier steps down while they exceed the
+ * {@link OverloadPolicy}, and back up once they stayed well under it for {@link OverloadPolicy#restoreAfter()}.
+ * <p>
+ * A lower tier is faster under the very load that made it step down, so the step back up is decided on the
+ * latency of the tier above: while degraded, one call in 16 is validated at that tier.
+ */
+@Slf4j
+public final class TierSwitch {
+
+    /**
+     * Weight of the latest call in the moving average, as a shift: 1/8.
+     */
+    private static final int AVERAGE_SHIFT = 3;
+    private static final int PROBE_EVERY = 16;
+    private static final ValidationTier[] TIERS = ValidationTier.values();
+
+    private final String methodKey;
+    private final OverloadPolicy policy;
+    private final BiConsumer<String, ValidationTier> listener;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger degradedCalls = new AtomicInteger();
+    private volatile ValidationTier tier = ValidationTier.FULL;
+    /**
+     * By tier, -1 until its first call, and again each time the method steps down to it; that call then sets
+     * the average. Written without synchronization: a lost sample only delays the average by one call.
+     */
+    private final AtomicLongArray averageNanos = new AtomicLongArray(TIERS.length);
+    private volatile long changedAt;
+    /**
+     * When the load last went under the restore threshold, or 0 while it is not.
+     */
+    private volatile long calmSince;
+
+    TierSwitch(String methodKey, OverloadPolicy policy, BiConsumer<String, ValidationTier> listener) {
+        this.methodKey = methodKey;
+        this.policy = policy;
+        this.listener = listener;
+        for (int i = 0; i < TIERS.length; i++) {
+            averageNanos.set(i, -1);
+        }
+        // the first step down does not wait
+        this.changedAt = System.nanoTime() - policy.degradeInterval().toNanos();
+    }
+
+    /**
+     * @return the tier to validate this call at, to hand back to {@link #exit(ValidationTier, long)}
+     */
+    public ValidationTier enter() {
+        inFlight.incrementAndGet();
+        ValidationTier current = tier;
+        if (current != ValidationTier.FULL && degradedCalls.incrementAndGet() % PROBE_EVERY == 0) {
+            return TIERS[current.ordinal() - 1];
+        }
+        return current;
+    }
+
+    /**
+     * @param validated the tier {@link #enter()} returned for the call
+     * @param nanos     latency of the validation, from the time it was requested
+     */
+    public void exit(ValidationTier validated, long nanos) {
+        int concurrent = inFlight.getAndDecrement();
+        long average = averageNanos.get(validated.ordinal());
+        average = average < 0 ? nanos : average + (nanos - average >> AVERAGE_SHIFT);
+        averageNanos.set(validated.ordinal(), average);
+        ValidationTier current = tier;
+        long budget = policy.budget().toNanos();
+        int maxInFlight = policy.maxInFlight();
+        if (validated == current && average > budget || maxInFlight > 0 && concurrent > maxInFlight) {
+            calmSince = 0;
+            if (current != ValidationTier.NULL_CHECKS) {
+                step(1, policy.degradeInterval().toNanos());
+            }
+        } else if (current == ValidationTier.FULL || validated.ordinal() != current.ordinal() - 1) {
+            return;
+        } else if (average < budget * policy.restoreRatio() && (maxInFlight == 0 || concurrent <= maxInFlight / 2)) {
+            long now = System.nanoTime();
+            long since = calmSince;
+            if (since == 0) {
+                calmSince = now;
+            } else if (now - since >= policy.restoreAfter().toNanos()) {
+                step(-1, 0);
+            }
+        } else {
+            calmSince = 0;
+        }
+    }
+
+    public ValidationTier getTier() {
+        return tier;
+    }
+
+    /**
+     * @return the average latency at the current tier
+     */
+    public long getAverageNanos() {
+        return Math.max(averageNanos.get(tier.ordinal()), 0);
+    }
+
+    String getMethodKey() {
+        return methodKey;
+    }
+
+    private synchronized void step(int direction, long interval) {
+        long now = System.nanoTime();
+        if (now - changedAt < interval) {
+            return;
+        }
+        int index = tier.ordinal() + direction;
+        if (index < 0 || index >= TIERS.length) {
+            return;
+        }
+        ValidationTier previous = tier;
+        if (direction > 0) {
+            // measured afresh, while the tier above keeps its last average until probed
+            averageNanos.set(index, -1);
+        }
+        tier = TIERS[index];
+        changedAt = now;
+        // the next step up waits for another full period
+        calmSince = direction < 0 ? now : 0;
+        log.warn("Validation of {} changed from {} to {}, average latency {}us", methodKey, previous, tier,
+                averageNanos.get(previous.ordinal()) / 1000);
+        listener.accept(methodKey, tier);
+    }
+}
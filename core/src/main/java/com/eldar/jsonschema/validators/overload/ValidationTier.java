@@ -0,0 +1,21 @@
+package com.eldar.jsonschema.validators.overload;
+
+/**
+ * How much of its schemas a method is validated against, from the most to the least thorough. A lower tier
+ * only drops constraints, so it never rejects an argument the full schemas accept.
+ */
+public enum ValidationTier {
+    /**
+     * Every schema, as annotated.
+     */
+    FULL,
+    /**
+     * The top-level {@code type} and {@code required} keywords of each parameter schema, plus the
+     * {@code @ValidatedMethod} checks.
+     */
+    STRUCTURAL,
+    /**
+     * Only rejects {@code null} arguments, where the full schemas would.
+     */
+    NULL_CHECKS
+}
@@ -0,0 +1,38 @@
+package com.eldar.jsonschema.validators.profile;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of one keyword location, shared by every validator of that location; {@link LongAdder}s spread
+ * concurrent updates over cells instead of contending on one value.
+ */
+final class KeywordCounters {
+    private final String schema;
+    private final String path;
+    private final String keyword;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder selfNanos = new LongAdder();
+
+    KeywordCounters(String schema, String path, String keyword) {
+        this.schema = schema;
+        this.path = path;
+        this.keyword = keyword;
+    }
+
+    void record(long total, long self) {
+        count.increment();
+        totalNanos.add(total);
+        selfNanos.add(self);
+    }
+
+    void reset() {
+        count.reset();
+        totalNanos.reset();
+        selfNanos.reset();
+    }
+
+    KeywordStats snapshot() {
+        return new KeywordStats(schema, path, keyword, count.sum(), totalNanos.sum(), selfNanos.sum());
+    }
+}
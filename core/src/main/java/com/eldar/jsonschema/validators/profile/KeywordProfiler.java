@@ -0,0 +1,190 @@
+package com.eldar.jsonschema.validators.profile;
+
+import com.eldar.jsonschema.validators.SchemaHandle;
+import com.eldar.jsonschema.validators.SchemaNames;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.networknt.schema.JsonMetaSchema;
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.Keyword;
+import com.networknt.schema.NonValidationKeyword;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Opt-in profiler of the JSON schema engine, recording the invocations and time of every keyword by schema
+ * path, so that the one keyword making a schema slow (a {@code pattern}, a {@code oneOf} with many branches,
+ * a {@code uniqueItems} over large arrays) can be found. While {@link #start() started}, the
+ * {@code ValidatorService} owning it evaluates payloads on a copy of each schema whose keyword validators are
+ * timed, and no longer takes the compiled shortcuts; stopping it restores the regular path.
+ * <p>
+ * {@code type} and {@code format} are not timed separately: networknt reads the validators of the former by
+ * their class and does not let the latter be replaced. Their time counts as self time of the enclosing keyword.
+ * <p>
+ * A standard MBean; outside of Spring register it under {@link #OBJECT_NAME} to control it over JMX.
+ */
+@Slf4j
+public class KeywordProfiler implements KeywordProfilerMBean {
+
+    public static final String OBJECT_NAME = "com.eldar.jsonschema:type=KeywordProfiler";
+    public static final int DEFAULT_REPORT_SIZE = 20;
+
+    private static final Set<String> UNPROFILED = Set.of("type", "format");
+
+    private final Map<String, KeywordCounters> counters = new ConcurrentHashMap<>();
+    /**
+     * The timed copy of each schema, dropped along with its handle.
+     */
+    private final Cache<SchemaHandle, JsonSchema> schemas = Caffeine.newBuilder().weakKeys().build();
+    /**
+     * The {@link SchemaNames stable name} of the schema being copied on this thread, naming its keywords.
+     */
+    private final ThreadLocal<String> building = new ThreadLocal<>();
+    private volatile boolean enabled;
+
+    @Override
+    public void start() {
+        enabled = true;
+        log.info("Keyword profiling started");
+    }
+
+    @Override
+    public void stop() {
+        enabled = false;
+        log.info("Keyword profiling stopped");
+    }
+
+    @Override
+    public void reset() {
+        counters.values().forEach(KeywordCounters::reset);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the meta schema with every keyword validator timed
+     */
+    public JsonMetaSchema instrument(JsonMetaSchema metaSchema) {
+        List<Keyword> profiled = new ArrayList<>();
+        for (Keyword keyword : metaSchema.getKeywords().values()) {
+            if (!UNPROFILED.contains(keyword.getValue()) && !(keyword instanceof NonValidationKeyword)) {
+                profiled.add(new ProfiledKeyword(keyword, this));
+            }
+        }
+        return JsonMetaSchema.builder(metaSchema.getUri(), metaSchema).addKeywords(profiled).build();
+    }
+
+    /**
+     * @param loader loads the schema of the handle with the {@link #instrument instrumented} meta schemas
+     * @return the timed copy of the schema of the handle, loaded on first use
+     */
+    public JsonSchema schemaFor(SchemaHandle handle, Function<SchemaHandle, JsonSchema> loader) {
+        return schemas.get(handle, key -> {
+            building.set(SchemaNames.of(key.getSchemaText()));
+            try {
+                return loader.apply(key);
+            } finally {
+                building.remove();
+            }
+        });
+    }
+
+    /**
+     * @return every keyword location evaluated since the last {@link #reset()}, the most self time first
+     */
+    public List<KeywordStats> getStats() {
+        List<KeywordStats> stats = new ArrayList<>();
+        for (KeywordCounters location : counters.values()) {
+            KeywordStats snapshot = location.snapshot();
+            if (snapshot.count() > 0) {
+                stats.add(snapshot);
+            }
+        }
+        stats.sort(Comparator.comparingLong(KeywordStats::selfNanos).reversed());
+        return stats;
+    }
+
+    @Override
+    public String report(int top) {
+        StringBuilder report = new StringBuilder(String.format("%12s %12s %10s  %-20s %s%n",
+                "self ms", "total ms", "calls", "keyword", "schema path"));
+        List<KeywordStats> stats = getStats();
+        for (KeywordStats location : stats.subList(0, Math.min(top, stats.size()))) {
+            report.append(String.format("%12.3f %12.3f %10d  %-20s %s %s%n",
+                    location.selfNanos() / (double) TimeUnit.MILLISECONDS.toNanos(1),
+                    location.totalNanos() / (double) TimeUnit.MILLISECONDS.toNanos(1),
+                    location.count(), location.keyword(), location.schema(), location.path()));
+        }
+        return report.toString();
+    }
+
+    @Override
+    public void logReport(int top) {
+        log.info("Most expensive schema keywords:{}{}", System.lineSeparator(), report(top));
+    }
+
+    KeywordCounters counters(JsonSchema parentSchema, String keyword) {
+        URI document = parentSchema.getCurrentUri();
+        String schema = document != null ? document.toString() : building.get();
+        String name = schema != null ? schema : "?";
+        String path = location(parentSchema) + "/" + keyword;
+        return counters.computeIfAbsent(name + ' ' + path, key -> new KeywordCounters(name, path, keyword));
+    }
+
+    /**
+     * @return the JSON pointer of a schema within its document; networknt's own schema paths leave out
+     * the index of {@code oneOf} and {@code anyOf} branches.
+     */
+    private static String location(JsonSchema schema) {
+        JsonSchema root = schema;
+        while (root.getParentSchema() != null
+                && Objects.equals(root.getParentSchema().getCurrentUri(), schema.getCurrentUri())) {
+            root = root.getParentSchema();
+        }
+        String pointer = pointer(root.getSchemaNode(), schema.getSchemaNode(), "#");
+        return pointer != null ? pointer : schema.getSchemaPath();
+    }
+
+    /**
+     * Schema objects are compared by identity, each being a distinct node of the document.
+     */
+    private static String pointer(JsonNode node, JsonNode target, String path) {
+        if (node == target) {
+            return path;
+        }
+        if (node.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                String found = pointer(field.getValue(), target,
+                        path + "/" + field.getKey().replace("~", "~0").replace("/", "~1"));
+                if (found != null) {
+                    return found;
+                }
+            }
+        } else if (node.isArray()) {
+            for (int i = 0; i < node.size(); i++) {
+                String found = pointer(node.get(i), target, path + "/" + i);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,25 @@
+package com.eldar.jsonschema.validators.profile;
+
+/**
+ * JMX view of {@link KeywordProfiler}.
+ */
+public interface KeywordProfilerMBean {
+
+    void start();
+
+    void stop();
+
+    void reset();
+
+    boolean isEnabled();
+
+    /**
+     * @return the {@code top} locations with the most time spent in the keyword itself, one per line
+     */
+    String report(int top);
+
+    /**
+     * Write {@link #report(int)} to the log.
+     */
+    void logReport(int top);
+}
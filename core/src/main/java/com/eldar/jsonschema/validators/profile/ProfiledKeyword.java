@@ -0,0 +1,38 @@
+package com.eldar.jsonschema.validators.profile;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.JsonValidator;
+import com.networknt.schema.Keyword;
+import com.networknt.schema.ValidationContext;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * A keyword of a meta schema creating {@link ProfiledValidator}s around the validators of the original.
+ */
+@RequiredArgsConstructor
+final class ProfiledKeyword implements Keyword {
+
+    private final Keyword delegate;
+    private final KeywordProfiler profiler;
+
+    @Override
+    public String getValue() {
+        return delegate.getValue();
+    }
+
+    @Override
+    public void setCustomMessage(String message) {
+        delegate.setCustomMessage(message);
+    }
+
+    @Override
+    public JsonValidator newValidator(String schemaPath, JsonNode schemaNode, JsonSchema parentSchema,
+                                      ValidationContext validationContext) throws Exception {
+        JsonValidator validator = delegate.newValidator(schemaPath, schemaNode, parentSchema, validationContext);
+        if (validator == null) {
+            return null;
+        }
+        return new ProfiledValidator(validator, profiler.counters(parentSchema, getValue()));
+    }
+}
@@ -0,0 +1,58 @@
+package com.eldar.jsonschema.validators.profile;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.networknt.schema.JsonSchemaException;
+import com.networknt.schema.JsonValidator;
+import com.networknt.schema.ValidationMessage;
+
+import java.util.Set;
+
+/**
+ * Times the validator of one keyword. Nested profiled validators add their time to the current thread's
+ * tally, which is subtracted from the time of the enclosing one to get its self time.
+ */
+final class ProfiledValidator implements JsonValidator {
+
+    /**
+     * Time spent in the nested validators of the one running on this thread.
+     */
+    private static final ThreadLocal<long[]> nestedNanos = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final JsonValidator delegate;
+    private final KeywordCounters counters;
+
+    ProfiledValidator(JsonValidator delegate, KeywordCounters counters) {
+        this.delegate = delegate;
+        this.counters = counters;
+    }
+
+    @Override
+    public Set<ValidationMessage> validate(JsonNode rootNode) {
+        return validate(rootNode, rootNode, AT_ROOT);
+    }
+
+    @Override
+    public Set<ValidationMessage> validate(JsonNode node, JsonNode rootNode, String at) {
+        long[] nested = nestedNanos.get();
+        long outer = nested[0];
+        nested[0] = 0;
+        long start = System.nanoTime();
+        try {
+            return delegate.validate(node, rootNode, at);
+        } finally {
+            long total = System.nanoTime() - start;
+            counters.record(total, total - nested[0]);
+            nested[0] = outer + total;
+        }
+    }
+
+    @Override
+    public Set<ValidationMessage> walk(JsonNode node, JsonNode rootNode, String at, boolean shouldValidateSchema) {
+        return delegate.walk(node, rootNode, at, shouldValidateSchema);
+    }
+
+    @Override
+    public void preloadJsonSchema() throws JsonSchemaException {
+        delegate.preloadJsonSchema();
+    }
+}
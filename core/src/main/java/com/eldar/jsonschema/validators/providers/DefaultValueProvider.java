@@ -0,0 +1,253 @@
+package com.eldar.jsonschema.validators.providers;
+
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * The value a validated method returns instead of throwing. The factory of each type is resolved once and
+ * cached; it creates the value through a {@link MethodHandle} of a public constructor rather than by
+ * reflection, and gives null when the constructor throws.
+ */
+@Slf4j
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public final class DefaultValueProvider {
+
+    private static final Supplier<Object> NULL = () -> null;
+
+    private static final Map<Class<?>, Object> CONSTANTS = Map.ofEntries(
+            Map.entry(int.class, 0), Map.entry(Integer.class, 0),
+            Map.entry(long.class, 0L), Map.entry(Long.class, 0L),
+            Map.entry(double.class, 0.0), Map.entry(Double.class, 0.0),
+            Map.entry(float.class, 0.0f), Map.entry(Float.class, 0.0f),
+            Map.entry(short.class, (short) 0), Map.entry(Short.class, (short) 0),
+            Map.entry(byte.class, (byte) 0), Map.entry(Byte.class, (byte) 0),
+            Map.entry(char.class, '\0'), Map.entry(Character.class, '\0'),
+            Map.entry(boolean.class, false), Map.entry(Boolean.class, false),
+            Map.entry(String.class, ""),
+            Map.entry(Optional.class, Optional.empty()),
+            Map.entry(OptionalInt.class, OptionalInt.empty()),
+            Map.entry(OptionalLong.class, OptionalLong.empty()),
+            Map.entry(OptionalDouble.class, OptionalDouble.empty())
+    );
+
+    /**
+     * Immutable empty collections, the first one of the return type is used.
+     */
+    private static final List<Object> EMPTY_COLLECTIONS = List.of(Collections.emptyList(), Collections.emptySet(),
+            Collections.emptyNavigableSet(), Collections.emptyMap(), Collections.emptyNavigableMap());
+
+    private static final Map<Class<?>, Supplier<?>> registered = new ConcurrentHashMap<>();
+
+    private static final ClassValue<Supplier<Object>> FACTORIES = new ClassValue<>() {
+        @Override
+        protected Supplier<Object> computeValue(Class<?> type) {
+            Supplier<Object> builtIn = resolve(type);
+            // a factory registered later replaces this one in the plans and records already holding it
+            return () -> {
+                Supplier<?> custom = registered.get(type);
+                return custom != null ? custom.get() : builtIn.get();
+            };
+        }
+    };
+
+    /**
+     * Record types whose factory is being resolved on this thread, to stop at a record containing itself.
+     */
+    private static final ThreadLocal<Set<Class<?>>> resolving = ThreadLocal.withInitial(HashSet::new);
+
+    public static Object getDefaultValue(Class<?> type) {
+        return factoryFor(type).get();
+    }
+
+    /**
+     * @return the cached factory of the default value of a type, never null.
+     */
+    public static Supplier<Object> factoryFor(Class<?> type) {
+        return FACTORIES.get(type);
+    }
+
+    /**
+     * Use a factory for the default value of a type, instead of the built-in one, including by the factories
+     * resolved before.
+     */
+    public static <T> void register(Class<T> type, Supplier<? extends T> factory) {
+        registered.put(type, factory);
+    }
+
+    private static Supplier<Object> resolve(Class<?> type) {
+        if (type == void.class || type == Void.class) {
+            return NULL;
+        }
+        Object constant = CONSTANTS.get(type);
+        if (constant != null) {
+            return () -> constant;
+        }
+        if (type.isArray()) {
+            // an empty array cannot be modified, one instance serves every call
+            Object empty = Array.newInstance(type.getComponentType(), 0);
+            return () -> empty;
+        }
+        if (type == Stream.class) {
+            return Stream::empty;
+        }
+        if (type == IntStream.class) {
+            return IntStream::empty;
+        }
+        if (type == LongStream.class) {
+            return LongStream::empty;
+        }
+        if (type == DoubleStream.class) {
+            return DoubleStream::empty;
+        }
+        if (type == CompletableFuture.class || type == CompletionStage.class || type == Future.class) {
+            return () -> CompletableFuture.completedFuture(null);
+        }
+        if (type.isInterface() && (Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type)
+                || type == Iterable.class)) {
+            for (Object empty : EMPTY_COLLECTIONS) {
+                if (type.isInstance(empty)) {
+                    return () -> empty;
+                }
+            }
+        }
+        if (type.isRecord()) {
+            return recordFactory(type);
+        }
+        return constructorFactory(type);
+    }
+
+    /**
+     * A record of the default value of each of its components.
+     */
+    private static Supplier<Object> recordFactory(Class<?> type) {
+        Set<Class<?>> inProgress = resolving.get();
+        if (!inProgress.add(type)) {
+            return NULL;
+        }
+        try {
+            RecordComponent[] components = type.getRecordComponents();
+            Class<?>[] componentTypes = new Class<?>[components.length];
+            Supplier<?>[] componentFactories = new Supplier<?>[components.length];
+            for (int i = 0; i < components.length; i++) {
+                componentTypes[i] = components[i].getType();
+                // a record containing itself, directly or not, gets null there
+                componentFactories[i] = inProgress.contains(componentTypes[i]) ? NULL : factoryFor(componentTypes[i]);
+            }
+            MethodHandle constructor = constructor(type, componentTypes);
+            if (constructor == null) {
+                return NULL;
+            }
+            MethodHandle spread = constructor.asSpreader(Object[].class, components.length)
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+            return new Creating(type, () -> {
+                Object[] args = new Object[componentFactories.length];
+                for (int i = 0; i < args.length; i++) {
+                    args[i] = componentFactories[i].get();
+                }
+                return create(type, spread, args);
+            });
+        } finally {
+            inProgress.remove(type);
+        }
+    }
+
+    private static Supplier<Object> constructorFactory(Class<?> type) {
+        if (type.isInterface() || type.isPrimitive() || Modifier.isAbstract(type.getModifiers())) {
+            log.warn("No default value for {}, null is returned", type.getName());
+            return NULL;
+        }
+        MethodHandle constructor = constructor(type);
+        if (constructor == null) {
+            return NULL;
+        }
+        MethodHandle create = constructor.asType(MethodType.methodType(Object.class));
+        return new Creating(type, () -> create(type, create));
+    }
+
+    /**
+     * @return the public constructor as a method handle, or null when there is none.
+     */
+    private static MethodHandle constructor(Class<?> type, Class<?>... parameterTypes) {
+        try {
+            return MethodHandles.publicLookup()
+                    .findConstructor(type, MethodType.methodType(void.class, parameterTypes));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.warn("No default value for {}, null is returned: {}", type.getName(), e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * Creates a value by a constructor, null when the constructor throws, e.g. when a record rejects the
+     * defaults of its components. The first failure is logged.
+     */
+    private static final class Creating implements Supplier<Object> {
+        private final Class<?> type;
+        private final Supplier<Object> factory;
+        private volatile boolean failed;
+
+        private Creating(Class<?> type, Supplier<Object> factory) {
+            this.type = type;
+            this.factory = factory;
+        }
+
+        @Override
+        public Object get() {
+            try {
+                return factory.get();
+            } catch (RuntimeException e) {
+                if (!failed) {
+                    failed = true;
+                    log.warn("No default value for {}, null is returned: {}", type.getName(), e.toString());
+                }
+                return null;
+            }
+        }
+    }
+
+    private static Object create(Class<?> type, MethodHandle constructor) {
+        try {
+            return (Object) constructor.invokeExact();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to create the default value of " + type.getName(), e);
+        }
+    }
+
+    private static Object create(Class<?> type, MethodHandle constructor, Object[] args) {
+        try {
+            return (Object) constructor.invokeExact(args);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to create the default value of " + type.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.eldar.jsonschema.validators.registry;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * Schemas and {@code @ValidatedParam} usages collected while compiling a module, generated by the
+ * {@code methodValidation-processor} annotation processor and found at runtime through {@link ServiceLoader}.
+ * Every schema in it has already been parsed and loaded once by the processor.
+ */
+public interface SchemaRegistry {
+
+    /**
+     * @return the distinct schemas of the module, as compact JSON.
+     */
+    List<String> schemas();
+
+    List<MethodEntry> methods();
+
+    /**
+     * The validated parameters of one method.
+     *
+     * @param methodKey       the method, as {@link #methodKey(Method)} prints it
+     * @param paramIndexes    positions of the validated parameters, ascending
+     * @param schemaIndexes   for each of them, its schema in {@link #schemas()}
+     * @param throwExceptions for each of them, its {@code ValidatedParam.throwException()}
+     * @param cacheResults    for each of them, its {@code ValidatedParam.cacheResult()}
+     */
+    record MethodEntry(String methodKey, int[] paramIndexes, int[] schemaIndexes, boolean[] throwExceptions,
+                       boolean[] cacheResults) {
+    }
+
+    /**
+     * @return {@code declaringClass#name(parameterTypes)} with binary class names, e.g.
+     * {@code com.acme.Api$Inner#find(java.lang.String,[I)}.
+     */
+    static String methodKey(Method method) {
+        StringBuilder key = new StringBuilder(method.getDeclaringClass().getName())
+                .append('#').append(method.getName()).append('(');
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (i > 0) {
+                key.append(',');
+            }
+            key.append(parameterTypes[i].getName());
+        }
+        return key.append(')').toString();
+    }
+
+    static List<SchemaRegistry> loadAll(ClassLoader classLoader) {
+        List<SchemaRegistry> registries = new ArrayList<>();
+        ServiceLoader.load(SchemaRegistry.class, classLoader).forEach(registries::add);
+        return registries;
+    }
+}
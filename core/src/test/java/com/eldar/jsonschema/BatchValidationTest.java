@@ -0,0 +1,82 @@
+package com.eldar.jsonschema;
+
+import com.eldar.jsonschema.exception.UnProcessableObject;
+import com.eldar.jsonschema.validators.ValidatorService;
+import com.eldar.jsonschema.validators.batch.BatchOptions;
+import com.eldar.jsonschema.validators.batch.BatchResult;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit_test")
+class BatchValidationTest {
+    private static final String SCHEMA = "{\"type\":\"object\",\"properties\":{\"id\":{\"type\":\"integer\",\"minimum\":0}}}";
+
+    private final ValidatorService validatorService = new ValidatorService();
+
+    @Test
+    void testValidateAll_MixedPayloads_ReportsFailedIndexes() {
+        List<Map<String, Integer>> payloads = IntStream.range(0, 10_000)
+                .mapToObj(i -> Map.of("id", i % 1000 == 7 ? -i : i))
+                .toList();
+
+        BatchResult result = validatorService.validateAll(SCHEMA, payloads, BatchOptions.defaults().withChunkSize(64));
+
+        assertEquals(10_000, result.size());
+        assertTrue(result.isComplete());
+        assertFalse(result.isValid());
+        assertArrayEquals(IntStream.range(0, 10).map(i -> i * 1000 + 7).toArray(), result.failedIndexes().toArray());
+        assertTrue(result.isValid(8));
+        assertInstanceOf(UnProcessableObject.class, result.failure(1007));
+    }
+
+    @Test
+    void testValidateAll_MaxErrors_StopsAtCutOff() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            BatchOptions options = BatchOptions.defaults().withExecutor(executor).withChunkSize(16).withMaxErrors(5);
+            BatchResult result = validatorService.validateAll(validatorService.getSchema(SCHEMA),
+                    IntStream.range(0, 100_000).mapToObj(i -> Map.of("id", i % 3 == 0 ? -1 : i)), options);
+
+            assertEquals(5, result.errorCount());
+            assertFalse(result.isComplete());
+            assertTrue(result.failedIndexes().allMatch(result::isValidated));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testValidateAll_FromWorkerOfSamePool_DoesNotStarve() throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            BatchOptions options = BatchOptions.defaults().withExecutor(pool).withChunkSize(4);
+            BatchResult result = pool.submit(() -> validatorService.validateAll(SCHEMA,
+                    IntStream.range(0, 1000).mapToObj(i -> Map.of("id", i)).toList(), options))
+                    .get(10, TimeUnit.SECONDS);
+
+            assertEquals(1000, result.size());
+            assertTrue(result.isValid());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testValidateAll_FailFast_SingleFailure() {
+        BatchResult result = validatorService.validateAll(SCHEMA,
+                List.of(Map.of("id", 1), Map.of("id", -1), Map.of("id", -2)), BatchOptions.defaults().failFast());
+
+        assertEquals(1, result.errorCount());
+        assertEquals(1, result.failedIndexes().findFirst().orElseThrow());
+    }
+}
@@ -0,0 +1,134 @@
+package com.eldar.jsonschema;
+
+import com.eldar.jsonschema.exception.UnProcessableObject;
+import com.eldar.jsonschema.validators.SchemaHandle;
+import com.eldar.jsonschema.validators.SchemaOptions;
+import com.eldar.jsonschema.validators.ValidatorService;
+import com.eldar.jsonschema.validators.collection.CollectionOptions;
+import com.eldar.jsonschema.validators.collection.CollectionValidation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.networknt.schema.ValidationMessage;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit_test")
+class CollectionValidationTest {
+    private static final String SCHEMA = "{\"type\":\"array\",\"minItems\":1,\"maxItems\":1000,\"uniqueItems\":true,"
+            + "\"items\":{\"type\":\"object\",\"properties\":{\"id\":{\"type\":\"integer\",\"minimum\":0}}}}";
+
+    private final ValidatorService validatorService = new ValidatorService();
+
+    @Test
+    void testValidateCollection_RejectedElements_ReportedAtTheirIndex() {
+        SchemaHandle handle = validatorService.getSchema(SCHEMA);
+        assertNotNull(handle.getItems());
+        List<Map<String, Integer>> payload = IntStream.range(0, 100)
+                .mapToObj(i -> Map.of("id", i % 40 == 3 ? -i : i))
+                .toList();
+
+        UnProcessableObject e = assertThrows(UnProcessableObject.class,
+                () -> validatorService.validateCollection(handle, payload, CollectionOptions.sequential()));
+
+        assertEquals(Set.of("$[3].id", "$[43].id", "$[83].id"), paths(e));
+        assertTrue(e.getValidations().stream().allMatch(message -> message.getMessage().startsWith("$[")));
+        validatorService.validateCollection(handle, List.of(Map.of("id", 1)), CollectionOptions.sequential());
+    }
+
+    @Test
+    void testValidateCollection_FailFast_StopsAtFirstRejectedElement() {
+        SchemaHandle handle = validatorService.getSchema(SCHEMA, new SchemaOptions(true, true, 0));
+        List<Map<String, Integer>> payload = List.of(Map.of("id", 1), Map.of("id", -2), Map.of("id", -3));
+
+        UnProcessableObject e = assertThrows(UnProcessableObject.class,
+                () -> validatorService.validateCollection(handle, payload, CollectionOptions.sequential()));
+
+        assertEquals(Set.of("$[1].id"), paths(e));
+    }
+
+    @Test
+    void testValidateCollection_ItemCountsAndDuplicates() {
+        SchemaHandle handle = validatorService.getSchema(SCHEMA);
+
+        UnProcessableObject tooFew = assertThrows(UnProcessableObject.class,
+                () -> validatorService.validateCollection(handle, List.of(), CollectionOptions.sequential()));
+        assertEquals("minItems", tooFew.getValidations().iterator().next().getType());
+        UnProcessableObject tooMany = assertThrows(UnProcessableObject.class,
+                () -> validatorService.validateCollection(handle,
+                        IntStream.range(0, 1001).mapToObj(i -> Map.of("id", i)).toList(), CollectionOptions.sequential()));
+        assertEquals("maxItems", tooMany.getValidations().iterator().next().getType());
+        UnProcessableObject duplicate = assertThrows(UnProcessableObject.class,
+                () -> validatorService.validateCollection(handle,
+                        new Object[]{Map.of("id", 1), Map.of("id", 2), Map.of("id", 1)}, CollectionOptions.sequential()));
+        assertEquals("uniqueItems", duplicate.getValidations().iterator().next().getType());
+        // equal as JSON only when the objects are, whatever the order of the properties
+        validatorService.validateCollection(handle, List.of(Map.of("id", 1, "a", 2), Map.of("id", 2, "a", 1)),
+                CollectionOptions.sequential());
+    }
+
+    @Test
+    void testValidateCollection_Duplicates_OnlyRepeatedElementsCompared() {
+        SchemaHandle handle = validatorService.getSchema(SCHEMA);
+        List<Object> compared = new ArrayList<>();
+        List<Map<String, Integer>> payload = IntStream.range(0, 100)
+                .mapToObj(i -> Map.of("id", i == 70 ? 20 : i))
+                .toList();
+
+        UnProcessableObject e = assertThrows(UnProcessableObject.class,
+                () -> CollectionValidation.run(handle, payload, CollectionOptions.sequential(), (schema, value) -> {
+                    if (schema == handle.getItems().unique()) {
+                        compared.add(value);
+                    }
+                    validatorService.validate(schema, value);
+                }, new ObjectMapper()::valueToTree));
+
+        assertEquals("uniqueItems", e.getValidations().iterator().next().getType());
+        assertEquals(List.of(List.of(Map.of("id", 20), Map.of("id", 20))), compared);
+    }
+
+    @Test
+    void testValidateCollection_Split_SameErrorsAsSequential() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            SchemaHandle handle = validatorService.getSchema(SCHEMA);
+            List<Map<String, Integer>> payload = IntStream.range(0, 1000)
+                    .mapToObj(i -> Map.of("id", i % 100 == 50 ? -i : i))
+                    .toList();
+            CollectionOptions options = CollectionOptions.sequential().withExecutor(executor)
+                    .withParallelThreshold(100).withChunkSize(32);
+
+            UnProcessableObject split = assertThrows(UnProcessableObject.class,
+                    () -> validatorService.validateCollection(handle, payload, options));
+            UnProcessableObject sequential = assertThrows(UnProcessableObject.class,
+                    () -> validatorService.validateCollection(handle, payload, CollectionOptions.sequential()));
+
+            assertEquals(10, split.getValidations().size());
+            assertEquals(paths(sequential), paths(split));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testValidateCollection_NotDecomposable_ValidatedAsAWhole() {
+        SchemaHandle handle = validatorService.getSchema("{\"type\":\"array\",\"contains\":{\"const\":1}}");
+        assertNull(handle.getItems());
+
+        assertThrows(UnProcessableObject.class,
+                () -> validatorService.validateCollection(handle, List.of(2, 3), CollectionOptions.sequential()));
+    }
+
+    private static Set<String> paths(UnProcessableObject e) {
+        return e.getValidations().stream().map(ValidationMessage::getPath).collect(Collectors.toSet());
+    }
+}
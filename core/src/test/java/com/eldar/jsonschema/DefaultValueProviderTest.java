@@ -0,0 +1,128 @@
+package com.eldar.jsonschema;
+
+import com.eldar.jsonschema.validators.providers.DefaultValueProvider;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit_test")
+class DefaultValueProviderTest {
+
+    public record Address(String street, int number) {
+    }
+
+    public record Order(long id, Address address, List<String> lines, Optional<String> note) {
+    }
+
+    public record Node(String name, Node next) {
+    }
+
+    public record Positive(int value) {
+        public Positive {
+            if (value <= 0) {
+                throw new IllegalArgumentException("value must be positive");
+            }
+        }
+    }
+
+    public static final class Counter {
+        private static final AtomicInteger created = new AtomicInteger();
+        private final int start;
+
+        public Counter() {
+            start = 1;
+            created.incrementAndGet();
+        }
+    }
+
+    public static final class Hidden {
+        private Hidden() {
+        }
+    }
+
+    public static final class Failing {
+        public Failing() {
+            throw new IllegalStateException("not now");
+        }
+    }
+
+    static final class Named {
+        Named(String name) {
+        }
+    }
+
+    public static final class Money {
+    }
+
+    @Test
+    void testGetDefaultValue_BuiltInTypes() {
+        assertEquals(0, DefaultValueProvider.getDefaultValue(int.class));
+        assertEquals('\0', DefaultValueProvider.getDefaultValue(char.class));
+        assertEquals("", DefaultValueProvider.getDefaultValue(String.class));
+        assertEquals(Optional.empty(), DefaultValueProvider.getDefaultValue(Optional.class));
+        assertEquals(List.of(), DefaultValueProvider.getDefaultValue(Collection.class));
+        assertInstanceOf(NavigableMap.class, DefaultValueProvider.getDefaultValue(NavigableMap.class));
+        assertEquals(Map.of(), DefaultValueProvider.getDefaultValue(Map.class));
+        assertArrayEquals(new String[0], (String[]) DefaultValueProvider.getDefaultValue(String[].class));
+        assertArrayEquals(new int[0], (int[]) DefaultValueProvider.getDefaultValue(int[].class));
+        assertEquals(0, ((Stream<?>) DefaultValueProvider.getDefaultValue(Stream.class)).count());
+        assertNull(((CompletableFuture<?>) DefaultValueProvider.getDefaultValue(CompletionStage.class)).join());
+        assertEquals(new ArrayList<>(), DefaultValueProvider.getDefaultValue(ArrayList.class));
+        assertNull(DefaultValueProvider.getDefaultValue(Number.class));
+        assertNull(DefaultValueProvider.getDefaultValue(BigDecimal.class));
+    }
+
+    @Test
+    void testGetDefaultValue_Records_BuiltFromComponentDefaults() {
+        assertEquals(new Order(0, new Address("", 0), List.of(), Optional.empty()),
+                DefaultValueProvider.getDefaultValue(Order.class));
+        assertEquals(new Node("", null), DefaultValueProvider.getDefaultValue(Node.class));
+        assertNull(DefaultValueProvider.getDefaultValue(Positive.class));
+    }
+
+    @Test
+    void testFactoryFor_ResolvedOnce() {
+        Supplier<Object> factory = DefaultValueProvider.factoryFor(Counter.class);
+
+        assertSame(factory, DefaultValueProvider.factoryFor(Counter.class));
+        assertEquals(0, Counter.created.get());
+        assertNotSame(factory.get(), factory.get());
+        assertEquals(1, ((Counter) factory.get()).start);
+        assertNull(DefaultValueProvider.getDefaultValue(Named.class));
+    }
+
+    @Test
+    void testGetDefaultValue_PublicConstructorsOnly_NullWhenItThrows() {
+        assertNull(DefaultValueProvider.getDefaultValue(Hidden.class));
+        Supplier<Object> failing = DefaultValueProvider.factoryFor(Failing.class);
+
+        assertNull(failing.get());
+        assertNull(failing.get());
+    }
+
+    @Test
+    void testRegister_ReplacesResolvedFactory() {
+        Supplier<Object> resolved = DefaultValueProvider.factoryFor(Money.class);
+        assertInstanceOf(Money.class, resolved.get());
+        Money zero = new Money();
+
+        DefaultValueProvider.register(Money.class, () -> zero);
+
+        assertSame(zero, DefaultValueProvider.getDefaultValue(Money.class));
+        assertSame(zero, resolved.get());
+    }
+}
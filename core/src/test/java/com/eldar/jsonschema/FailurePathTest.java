@@ -0,0 +1,108 @@
+package com.eldar.jsonschema;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.eldar.jsonschema.exception.UnProcessableObject;
+import com.eldar.jsonschema.validators.SchemaHandle;
+import com.eldar.jsonschema.validators.SchemaOptions;
+import com.eldar.jsonschema.validators.ValidationFailureLog;
+import com.eldar.jsonschema.validators.ValidatorService;
+import com.eldar.jsonschema.validators.engine.ValidationEngine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit_test")
+class FailurePathTest {
+    private static final String SCHEMA = "{\"type\":\"object\",\"required\":[\"name\"],"
+            + "\"properties\":{\"age\":{\"type\":\"integer\",\"minimum\":0}}}";
+
+    @ParameterizedTest
+    @EnumSource(ValidationEngine.class)
+    void testRejection_StacklessWithSameMessagesOnEveryEngine(ValidationEngine engine) throws Exception {
+        ValidatorService validatorService = new ValidatorService();
+        validatorService.setEngine(engine);
+        SchemaHandle handle = validatorService.getSchema(SCHEMA);
+        Map<String, Object> payload = Map.of("age", -1);
+
+        UnProcessableObject traced = assertThrows(UnProcessableObject.class,
+                () -> validatorService.validate(handle, payload));
+        assertTrue(traced.getStackTrace().length > 0);
+        validatorService.setStacklessRejections(true);
+        UnProcessableObject e = assertThrows(UnProcessableObject.class, () -> validatorService.validate(handle, payload));
+        assertEquals(0, e.getStackTrace().length);
+        assertTrue(e.withStackTrace().getStackTrace().length > 0);
+        assertEquals(handle.getSchema().validate(new ObjectMapper().valueToTree(payload)), e.getValidations());
+        assertEquals(e.getValidations(), e.withStackTrace().getValidations());
+        assertEquals("Validation Error: ", e.getMessage());
+    }
+
+    @ParameterizedTest
+    @EnumSource(ValidationEngine.class)
+    void testRejection_MessagesOfThePayloadAsRejected(ValidationEngine engine) {
+        ValidatorService validatorService = new ValidatorService();
+        validatorService.setEngine(engine);
+        SchemaHandle handle = validatorService.getSchema(SCHEMA);
+        Map<String, Object> payload = new HashMap<>(Map.of("age", -1));
+        ObjectNode tree = new ObjectMapper().createObjectNode().put("age", -1);
+
+        UnProcessableObject e = assertThrows(UnProcessableObject.class, () -> validatorService.validate(handle, payload));
+        UnProcessableObject treeRejection = assertThrows(UnProcessableObject.class,
+                () -> validatorService.validate(handle, tree));
+        payload.put("name", "fixed");
+        tree.put("name", "fixed");
+        assertEquals(2, e.getValidations().size());
+        assertEquals(2, treeRejection.getValidations().size());
+    }
+
+    @ParameterizedTest
+    @EnumSource(ValidationEngine.class)
+    void testSchemaOptions_VariantsStopEarlyAndCapErrors(ValidationEngine engine) {
+        ValidatorService validatorService = new ValidatorService();
+        validatorService.setEngine(engine);
+        Map<String, Object> payload = Map.of("age", -1, "extra", "x");
+        String schema = "{\"type\":\"object\",\"required\":[\"name\",\"id\"],\"additionalProperties\":false,"
+                + "\"properties\":{\"age\":{\"type\":\"integer\",\"minimum\":0}}}";
+        SchemaHandle all = validatorService.getSchema(schema);
+        SchemaHandle failFast = validatorService.getSchema(schema, new SchemaOptions(true, true, 0));
+        SchemaHandle atMostTwo = validatorService.getSchema(schema, new SchemaOptions(false, true, 2));
+        SchemaHandle strict = validatorService.getSchema("{\"type\":\"integer\"}", new SchemaOptions(false, false, 0));
+
+        assertNotSame(all, failFast);
+        assertSame(failFast, validatorService.getSchema(schema, new SchemaOptions(true, true, 0)));
+        assertTrue(assertThrows(UnProcessableObject.class, () -> validatorService.validate(all, payload))
+                .getValidations().size() > 2);
+        assertEquals(1, assertThrows(UnProcessableObject.class, () -> validatorService.validate(failFast, payload))
+                .getValidations().size());
+        assertEquals(2, assertThrows(UnProcessableObject.class, () -> validatorService.validate(atMostTwo, payload))
+                .getValidations().size());
+        assertDoesNotThrow(() -> validatorService.validate("{\"type\":\"integer\"}", "12"));
+        assertThrows(UnProcessableObject.class, () -> validatorService.validate(strict, "12"));
+        assertThrows(IllegalArgumentException.class, () -> new SchemaOptions(false, true, -1));
+    }
+
+    @Test
+    void testFailureLog_LogsAtMostPermitsPerSecond() {
+        Logger logger = (Logger) LoggerFactory.getLogger("failure-path-test");
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        ValidationFailureLog failureLog = new ValidationFailureLog(logger, 3);
+        for (int i = 0; i < 100; i++) {
+            failureLog.failed("method", new IllegalStateException());
+        }
+        // the loop may straddle two one-second windows
+        assertTrue(appender.list.size() >= 3 && appender.list.size() <= 6, "logged " + appender.list.size());
+        assertEquals("method", appender.list.get(0).getKeyValuePairs().get(0).value);
+    }
+}
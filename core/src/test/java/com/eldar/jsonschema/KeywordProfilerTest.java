@@ -0,0 +1,91 @@
+package com.eldar.jsonschema;
+
+import com.eldar.jsonschema.exception.UnProcessableObject;
+import com.eldar.jsonschema.validators.SchemaHandle;
+import com.eldar.jsonschema.validators.SchemaNames;
+import com.eldar.jsonschema.validators.ValidatorService;
+import com.eldar.jsonschema.validators.profile.KeywordProfiler;
+import com.eldar.jsonschema.validators.profile.KeywordStats;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit_test")
+class KeywordProfilerTest {
+    private static final String SCHEMA = "{\"type\":\"object\",\"required\":[\"id\"],"
+            + "\"properties\":{\"id\":{\"type\":\"integer\"},\"code\":{\"oneOf\":["
+            + IntStream.range(0, 8)
+            .mapToObj(i -> "{\"type\":\"string\",\"pattern\":\"^" + (char) ('a' + i) + "[0-9]+$\"}")
+            .collect(Collectors.joining(","))
+            + "]}}}";
+
+    private final ValidatorService validatorService = new ValidatorService();
+    private final KeywordProfiler profiler = validatorService.getProfiler();
+
+    @Test
+    void testProfiler_RecordsKeywordsByPath() {
+        SchemaHandle handle = validatorService.getSchema(SCHEMA);
+        profiler.start();
+        for (int i = 0; i < 10; i++) {
+            validatorService.validate(handle, Map.of("id", i, "code", "c" + i));
+        }
+
+        Map<String, KeywordStats> stats = profiler.getStats().stream()
+                .collect(Collectors.toMap(KeywordStats::path, location -> location));
+        KeywordStats oneOf = stats.get("#/properties/code/oneOf");
+        assertEquals("oneOf", oneOf.keyword());
+        // named the same on every run, as long as the schema text is
+        assertEquals(SchemaNames.of(SCHEMA), oneOf.schema());
+        assertEquals(16, oneOf.schema().length());
+        assertEquals(10, oneOf.count());
+        // every branch is evaluated to check that only one matches
+        assertEquals(10, stats.get("#/properties/code/oneOf/7/pattern").count());
+        assertTrue(oneOf.totalNanos() >= stats.get("#/properties/code/oneOf/7/pattern").totalNanos());
+        assertTrue(oneOf.selfNanos() <= oneOf.totalNanos());
+        assertEquals(10, stats.get("#/required").count());
+        assertFalse(stats.containsKey("#/type"));
+        assertThrows(UnProcessableObject.class, () -> validatorService.validate(handle, Map.of("id", 1, "code", "z1")));
+
+        List<KeywordStats> ranked = profiler.getStats();
+        assertTrue(ranked.get(0).selfNanos() >= ranked.get(ranked.size() - 1).selfNanos());
+        String report = profiler.report(3);
+        assertEquals(4, report.lines().count());
+        assertTrue(report.lines().skip(1).allMatch(line -> line.contains("#/")));
+    }
+
+    @Test
+    void testProfiler_StoppedOrReset_NothingRecorded() {
+        SchemaHandle handle = validatorService.getSchema(SCHEMA);
+        validatorService.validate(handle, Map.of("id", 1, "code", "a1"));
+        assertTrue(profiler.getStats().isEmpty());
+
+        profiler.start();
+        validatorService.validate(handle, Map.of("id", 1, "code", "a1"));
+        profiler.stop();
+        validatorService.validate(handle, Map.of("id", 1, "code", "a1"));
+        assertEquals(1, profiler.getStats().stream()
+                .filter(location -> location.path().equals("#/required")).findFirst().orElseThrow().count());
+
+        profiler.reset();
+        assertTrue(profiler.getStats().isEmpty());
+    }
+
+    @Test
+    void testProfiler_CompiledSchema_EvaluatedByKeyword() {
+        SchemaHandle handle = validatorService.getSchema("{\"type\":\"string\",\"minLength\":2}");
+        assertNotNull(handle.getCompiled());
+        profiler.start();
+
+        validatorService.validate(handle, "abc");
+        assertThrows(UnProcessableObject.class, () -> validatorService.validate(handle, "a"));
+
+        assertEquals(2, profiler.getStats().get(0).count());
+        assertEquals("minLength", profiler.getStats().get(0).keyword());
+    }
+}
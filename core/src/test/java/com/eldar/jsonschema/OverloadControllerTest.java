@@ -0,0 +1,156 @@
+package com.eldar.jsonschema;
+
+import com.eldar.jsonschema.exception.UnProcessableObject;
+import com.eldar.jsonschema.validators.SchemaHandle;
+import com.eldar.jsonschema.validators.ValidatorService;
+import com.eldar.jsonschema.validators.metrics.InMemoryValidationMetrics;
+import com.eldar.jsonschema.validators.metrics.ValidationMetrics;
+import com.eldar.jsonschema.validators.overload.OverloadController;
+import com.eldar.jsonschema.validators.overload.OverloadPolicy;
+import com.eldar.jsonschema.validators.overload.TierSwitch;
+import com.eldar.jsonschema.validators.overload.ValidationTier;
+import com.eldar.jsonschema.validators.registry.SchemaRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit_test")
+class OverloadControllerTest {
+    private static final long BUDGET_NANOS = Duration.ofMillis(1).toNanos();
+
+    private final ValidatorService validatorService = new ValidatorService();
+    private final InMemoryValidationMetrics metrics = new InMemoryValidationMetrics();
+
+    @Test
+    void testTierSwitch_OverBudget_DegradesOneStepAtATimeThenRestores() throws Exception {
+        validatorService.setMetrics(metrics);
+        OverloadController controller = new OverloadController(OverloadPolicy.of(Duration.ofMillis(1))
+                .withDegradeInterval(Duration.ZERO).withRestoreAfter(Duration.ZERO), validatorService);
+        Method method = Object.class.getMethod("toString");
+        TierSwitch tierSwitch = controller.switchFor(method);
+
+        assertEquals(ValidationTier.FULL, call(tierSwitch, BUDGET_NANOS * 10));
+        assertEquals(ValidationTier.STRUCTURAL, call(tierSwitch, BUDGET_NANOS * 10));
+        assertEquals(ValidationTier.NULL_CHECKS, call(tierSwitch, BUDGET_NANOS * 10));
+        assertEquals(ValidationTier.NULL_CHECKS, tierSwitch.getTier());
+        assertEquals(ValidationTier.NULL_CHECKS, metrics.method(SchemaRegistry.methodKey(method)).tier());
+
+        // the average of the tier above, probed, has to fall under half the budget before the tier goes back up
+        int calls = 0;
+        while (tierSwitch.getTier() != ValidationTier.FULL && calls++ < 1000) {
+            call(tierSwitch, 0);
+        }
+        assertEquals(ValidationTier.FULL, tierSwitch.getTier());
+        assertTrue(tierSwitch.getAverageNanos() < BUDGET_NANOS / 2);
+        assertEquals(ValidationTier.FULL, metrics.method(SchemaRegistry.methodKey(method)).tier());
+        assertEquals(Map.of(SchemaRegistry.methodKey(method), ValidationTier.FULL), controller.getTiers());
+    }
+
+    @Test
+    void testTierSwitch_Fresh_FirstOverBudgetCallDegrades() throws Exception {
+        OverloadController controller = new OverloadController(OverloadPolicy.of(Duration.ofMillis(1)),
+                validatorService);
+        TierSwitch tierSwitch = controller.switchFor(Object.class.getMethod("toString"));
+        assertEquals(0, tierSwitch.getAverageNanos());
+
+        assertEquals(ValidationTier.FULL, call(tierSwitch, BUDGET_NANOS * 2));
+        assertEquals(ValidationTier.STRUCTURAL, tierSwitch.getTier());
+    }
+
+    @Test
+    void testTierSwitch_BetweenThresholds_HoldsTier() throws Exception {
+        OverloadController controller = new OverloadController(OverloadPolicy.of(Duration.ofMillis(1))
+                .withDegradeInterval(Duration.ofHours(1)).withRestoreAfter(Duration.ZERO), validatorService);
+        TierSwitch tierSwitch = controller.switchFor(Object.class.getMethod("toString"));
+        while (tierSwitch.getAverageNanos() <= BUDGET_NANOS) {
+            call(tierSwitch, BUDGET_NANOS * 2);
+        }
+        assertEquals(ValidationTier.STRUCTURAL, tierSwitch.getTier());
+
+        // converges to three quarters of the budget, neither over it nor under half of it
+        for (int i = 0; i < 200; i++) {
+            call(tierSwitch, BUDGET_NANOS * 3 / 4);
+        }
+        assertEquals(ValidationTier.STRUCTURAL, tierSwitch.getTier());
+    }
+
+    @Test
+    void testTierSwitch_ConstantLoad_DoesNotFlap() throws Exception {
+        List<ValidationTier> changes = new ArrayList<>();
+        validatorService.setMetrics(new ValidationMetrics() {
+            @Override
+            public void tierChanged(String methodKey, ValidationTier tier) {
+                changes.add(tier);
+            }
+        });
+        OverloadController controller = new OverloadController(OverloadPolicy.of(Duration.ofMillis(1))
+                .withDegradeInterval(Duration.ZERO).withRestoreAfter(Duration.ZERO), validatorService);
+        TierSwitch tierSwitch = controller.switchFor(Object.class.getMethod("toString"));
+        // the full schemas are over the budget under this load, the structural ones well under half of it
+        Map<ValidationTier, Long> overloaded = Map.of(ValidationTier.FULL, BUDGET_NANOS * 2,
+                ValidationTier.STRUCTURAL, BUDGET_NANOS / 10, ValidationTier.NULL_CHECKS, BUDGET_NANOS / 20);
+
+        for (int i = 0; i < 2000; i++) {
+            call(tierSwitch, overloaded);
+        }
+        assertEquals(List.of(ValidationTier.STRUCTURAL), changes);
+
+        // once the full schemas are fast again, the probed calls bring the tier back up
+        Map<ValidationTier, Long> recovered = Map.of(ValidationTier.FULL, BUDGET_NANOS / 10,
+                ValidationTier.STRUCTURAL, BUDGET_NANOS / 10, ValidationTier.NULL_CHECKS, BUDGET_NANOS / 20);
+        for (int i = 0; i < 2000 && tierSwitch.getTier() != ValidationTier.FULL; i++) {
+            call(tierSwitch, recovered);
+        }
+        assertEquals(List.of(ValidationTier.STRUCTURAL, ValidationTier.FULL), changes);
+    }
+
+    @Test
+    void testTierSwitch_TooManyInFlight_Degrades() throws Exception {
+        OverloadController controller = new OverloadController(OverloadPolicy.of(Duration.ofSeconds(1))
+                .withMaxInFlight(2).withDegradeInterval(Duration.ZERO), validatorService);
+        TierSwitch tierSwitch = controller.switchFor(Object.class.getMethod("toString"));
+
+        tierSwitch.enter();
+        tierSwitch.enter();
+        tierSwitch.exit(tierSwitch.enter(), 0);
+        assertEquals(ValidationTier.STRUCTURAL, tierSwitch.getTier());
+    }
+
+    @Test
+    void testStructural_KeepsTopLevelTypeAndRequired() {
+        OverloadController controller = new OverloadController(OverloadPolicy.of(Duration.ofMillis(1)),
+                validatorService);
+        SchemaHandle structural = controller.structural(validatorService.getSchema("{\"type\":\"object\","
+                + "\"required\":[\"id\"],\"properties\":{\"id\":{\"type\":\"integer\",\"minimum\":0}}}"));
+
+        validatorService.validate(structural, Map.of("id", -1));
+        assertThrows(UnProcessableObject.class, () -> validatorService.validate(structural, Map.of("name", "x")));
+        assertThrows(UnProcessableObject.class, () -> validatorService.validate(structural, "id"));
+        assertNull(controller.structural(validatorService.getSchema("{\"minLength\":2}")));
+    }
+
+    @Test
+    void testPolicy_InvalidSettings_Rejected() {
+        assertThrows(IllegalArgumentException.class, () -> OverloadPolicy.of(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> OverloadPolicy.of(Duration.ofMillis(1)).withMaxInFlight(-1));
+        assertThrows(IllegalArgumentException.class, () -> OverloadPolicy.of(Duration.ofMillis(1)).withRestoreRatio(1));
+    }
+
+    private static ValidationTier call(TierSwitch tierSwitch, long nanos) {
+        return call(tierSwitch, Map.of(ValidationTier.FULL, nanos, ValidationTier.STRUCTURAL, nanos,
+                ValidationTier.NULL_CHECKS, nanos));
+    }
+
+    private static ValidationTier call(TierSwitch tierSwitch, Map<ValidationTier, Long> nanosByTier) {
+        ValidationTier tier = tierSwitch.enter();
+        tierSwitch.exit(tier, nanosByTier.get(tier));
+        return tier;
+    }
+}
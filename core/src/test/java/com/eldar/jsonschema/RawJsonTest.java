@@ -0,0 +1,100 @@
+package com.eldar.jsonschema;
+
+import com.eldar.jsonschema.exception.UnProcessableObject;
+import com.eldar.jsonschema.validators.SchemaHandle;
+import com.eldar.jsonschema.validators.ValidatorService;
+import com.eldar.jsonschema.validators.metrics.InMemoryValidationMetrics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit_test")
+class RawJsonTest {
+    private static final String SCHEMA = "{\"type\":\"object\",\"properties\":{\"id\":{\"type\":\"integer\"}},"
+            + "\"required\":[\"id\"]}";
+    private static final String VALID = "{\"id\":7,\"tags\":[\"a\",\"b\"]}";
+    private static final String INVALID = "{\"id\":\"seven\"}";
+
+    private final ValidatorService validatorService = new ValidatorService();
+
+    @Test
+    void testValidateJson_EveryRepresentation_ParsedAsDocument() {
+        SchemaHandle handle = validatorService.getSchema(SCHEMA);
+        byte[] bytes = VALID.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer heap = ByteBuffer.wrap(("xx" + VALID).getBytes(StandardCharsets.UTF_8)).position(2);
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+
+        assertSame(VALID, validatorService.validateJson(handle, VALID));
+        assertSame(bytes, validatorService.validateJson(handle, bytes));
+        assertSame(heap, validatorService.validateJson(handle, heap));
+        assertSame(direct, validatorService.validateJson(handle, direct));
+        assertEquals(2, heap.position());
+        assertEquals(0, direct.position());
+
+        assertThrows(UnProcessableObject.class, () -> validatorService.validateJson(handle, INVALID));
+        assertThrows(UnProcessableObject.class,
+                () -> validatorService.validateJson(handle, INVALID.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void testValidateJson_Stream_ReplayedInFull() throws IOException {
+        SchemaHandle handle = validatorService.getSchema(SCHEMA);
+        String body = VALID + "\n";
+        InputStream stream = new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+
+        InputStream replayed = (InputStream) validatorService.validateJson(handle, stream);
+
+        assertEquals(body, new String(replayed.readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testValidateJson_Malformed_RejectedAtRoot() {
+        SchemaHandle handle = validatorService.getSchema(SCHEMA);
+
+        for (String malformed : new String[]{"{\"id\":", "", "{\"id\":1} {}", "id=1"}) {
+            UnProcessableObject e = assertThrows(UnProcessableObject.class,
+                    () -> validatorService.validateJson(handle, malformed));
+            assertEquals("json", e.getValidations().iterator().next().getType());
+        }
+    }
+
+    @Test
+    void testValidateJson_BuiltInSchema_CheckedOnFirstTokens() {
+        InMemoryValidationMetrics metrics = new InMemoryValidationMetrics();
+        validatorService.setMetrics(metrics);
+        SchemaHandle handle = validatorService.getSchema(ValidationSchema.NON_EMPTY_OBJECT);
+
+        validatorService.validateJson(handle, VALID.getBytes(StandardCharsets.UTF_8));
+        assertNull(metrics.schema(ValidationSchema.NON_EMPTY_OBJECT));
+
+        assertThrows(UnProcessableObject.class, () -> validatorService.validateJson(handle, "{}"));
+        assertThrows(UnProcessableObject.class, () -> validatorService.validateJson(handle, "[1]"));
+        assertEquals(2, metrics.schema(ValidationSchema.NON_EMPTY_OBJECT).validation().count());
+    }
+
+    @Test
+    void testValidateJson_BuiltInSchema_TruncatedOrTrailingContentRejected() {
+        String[] schemas = {ValidationSchema.NOT_NULL, ValidationSchema.NON_EMPTY_STRING,
+                ValidationSchema.NON_EMPTY_ARRAY, ValidationSchema.NON_EMPTY_OBJECT};
+        String[] malformed = {"{\"a\":", "{\"a\":[1,{\"b\":2}", "[1,", "[[1,2],", "\"a", "{\"a\":1} x",
+                "[1] [2]", "\"a\" 1", "[1,}"};
+        for (String schema : schemas) {
+            SchemaHandle handle = validatorService.getSchema(schema);
+            for (String json : malformed) {
+                UnProcessableObject e = assertThrows(UnProcessableObject.class,
+                        () -> validatorService.validateJson(handle, json), schema + " " + json);
+                assertEquals("json", e.getValidations().iterator().next().getType(), schema + " " + json);
+            }
+        }
+        validatorService.validateJson(validatorService.getSchema(ValidationSchema.NON_EMPTY_ARRAY),
+                "[[1,{\"a\":[]}],2] ");
+        validatorService.validateJson(validatorService.getSchema(ValidationSchema.NOT_NULL), "{\"a\":{}}");
+    }
+}
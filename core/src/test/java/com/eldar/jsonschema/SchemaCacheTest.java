@@ -0,0 +1,85 @@
+package com.eldar.jsonschema;
+
+import com.eldar.jsonschema.exception.UnProcessableObject;
+import com.eldar.jsonschema.validators.SchemaHandle;
+import com.eldar.jsonschema.validators.ValidatorService;
+import com.eldar.jsonschema.validators.cache.CaffeineSchemaCache;
+import com.eldar.jsonschema.validators.cache.ResultCacheStats;
+import com.eldar.jsonschema.validators.cache.SchemaCacheStats;
+import com.eldar.jsonschema.validators.cache.SchemaKey;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit_test")
+class SchemaCacheTest {
+
+    @Test
+    void testSchemaKey_EqualTexts_SameKey() {
+        String schema = "{\"type\":\"string\",\"minLength\":2}";
+        assertEquals(SchemaKey.of(schema), SchemaKey.of(new String(schema.toCharArray())));
+        assertNotEquals(SchemaKey.of(schema), SchemaKey.of("{\"type\":\"string\",\"minLength\":3}"));
+        assertNotEquals(SchemaKey.of(""), SchemaKey.of("\u0000"));
+    }
+
+    @Test
+    void testGetSchema_RepeatedLookup_CountsHitsAndMisses() {
+        ValidatorService validatorService = new ValidatorService(new CaffeineSchemaCache());
+        String schema = "{\"type\":\"integer\"}";
+        SchemaHandle first = validatorService.getSchema(schema);
+        SchemaHandle second = validatorService.getSchema(SchemaKey.of(schema), schema);
+
+        assertSame(first, second);
+        SchemaCacheStats stats = validatorService.getSchemaCacheStats();
+        assertEquals(1, stats.hitCount());
+        assertEquals(1, stats.missCount());
+        assertEquals(1, stats.estimatedSize());
+    }
+
+    @Test
+    void testValidateCached_ImmutableValues_ValidatedOnce() {
+        ValidatorService validatorService = new ValidatorService();
+        SchemaHandle handle = validatorService.getSchema("{\"type\":\"object\",\"properties\":{\"code\":{\"minLength\":2}}}");
+        for (int i = 0; i < 3; i++) {
+            validatorService.validateCached(handle, new Code("ab", 1));
+            assertThrows(UnProcessableObject.class, () -> validatorService.validateCached(handle, Map.of("code", "a")));
+        }
+
+        UnProcessableObject first = assertThrows(UnProcessableObject.class,
+                () -> validatorService.validateCached(handle, Map.of("code", "a")));
+        UnProcessableObject second = assertThrows(UnProcessableObject.class,
+                () -> validatorService.validateCached(handle, Map.of("code", "a")));
+        assertNotSame(first, second);
+        assertEquals(first.getValidations(), second.getValidations());
+
+        ResultCacheStats stats = validatorService.getResultCacheStats();
+        assertEquals(6, stats.hitCount());
+        assertEquals(2, stats.missCount());
+        assertEquals(0, stats.skippedCount());
+    }
+
+    @Test
+    void testValidateCached_MutableValues_Skipped() {
+        ValidatorService validatorService = new ValidatorService();
+        SchemaHandle handle = validatorService.getSchema("{\"type\":\"object\"}");
+        validatorService.validateCached(handle, new HashMap<>(Map.of("code", "a")));
+        validatorService.validateCached(handle, new Tags(List.of("a")));
+        validatorService.validateCached(handle, Map.of("tags", new ArrayList<>()));
+
+        ResultCacheStats stats = validatorService.getResultCacheStats();
+        assertEquals(3, stats.skippedCount());
+        assertEquals(0, stats.estimatedSize());
+    }
+
+    public record Code(String code, int version) {
+    }
+
+    public record Tags(List<String> tags) {
+    }
+}
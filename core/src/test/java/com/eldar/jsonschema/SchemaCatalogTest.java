@@ -0,0 +1,76 @@
+package com.eldar.jsonschema;
+
+import com.eldar.jsonschema.exception.LoadingFailedException;
+import com.eldar.jsonschema.exception.UnProcessableObject;
+import com.eldar.jsonschema.validators.SchemaHandle;
+import com.eldar.jsonschema.validators.SchemaOptions;
+import com.eldar.jsonschema.validators.ValidatorService;
+import com.eldar.jsonschema.validators.cache.CaffeineSchemaCache;
+import com.eldar.jsonschema.validators.cache.ValidationResultCache;
+import com.eldar.jsonschema.validators.catalog.SchemaCatalog;
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.PropertiesValidator;
+import com.networknt.schema.RefValidator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit_test")
+class SchemaCatalogTest {
+
+    private final ValidatorService validatorService = new ValidatorService(new CaffeineSchemaCache(),
+            new ValidationResultCache(), SchemaCatalog.load(getClass().getClassLoader(), List.of("classpath:schemas")));
+
+    @Test
+    void testGetSchemaRef_ResolvesReferencesFromCatalog() {
+        SchemaHandle order = validatorService.getSchemaRef("classpath:schemas/orders/order.json");
+        validatorService.validate(order, Map.of("id", 1, "shipTo", Map.of("street", "Main", "zip", "12345")));
+        assertThrows(UnProcessableObject.class,
+                () -> validatorService.validate(order, Map.of("id", 1, "shipTo", Map.of("street", "Main", "zip", "1"))));
+
+        SchemaHandle zip = validatorService.getSchemaRef("https://schemas.example.com/address.json#/$defs/zip");
+        validatorService.validate(zip, "12345");
+        assertThrows(UnProcessableObject.class, () -> validatorService.validate(zip, "1234"));
+    }
+
+    @Test
+    void testGetSchemaRef_SameDocument_SharedByEveryParent() {
+        JsonSchema shipTo = referenced(validatorService.getSchemaRef("schemas/orders/order.json"), "shipTo");
+        JsonSchema billTo = referenced(validatorService.getSchemaRef("schemas/orders/invoice.json"), "billTo");
+
+        assertSame(shipTo, billTo);
+        assertSame(validatorService.getSchemaRef("schemas/address.json"),
+                validatorService.getSchemaRef("https://schemas.example.com/address.json"));
+        assertNotSame(shipTo, referenced(validatorService.getSchemaRef("schemas/orders/order.json",
+                new SchemaOptions(true, true, 0)), "shipTo"));
+    }
+
+    @Test
+    void testGetSchemaRef_OutsideCatalog_NotFetched() {
+        assertThrows(LoadingFailedException.class, () -> validatorService.getSchemaRef("schemas/offline/remote.json"));
+        assertThrows(LoadingFailedException.class, () -> validatorService.getSchemaRef("schemas/missing.json"));
+    }
+
+    /**
+     * @return the schema a property of a catalog document refers to.
+     */
+    private static JsonSchema referenced(SchemaHandle handle, String property) {
+        JsonSchema document = ref(handle.getSchema());
+        PropertiesValidator properties = (PropertiesValidator) document.getValidators().values().stream()
+                .filter(PropertiesValidator.class::isInstance)
+                .findFirst()
+                .orElseThrow();
+        return ref(properties.getSchemas().get(property));
+    }
+
+    private static JsonSchema ref(JsonSchema schema) {
+        return ((RefValidator) schema.getValidators().values().stream()
+                .filter(RefValidator.class::isInstance)
+                .findFirst()
+                .orElseThrow()).getSchemaRef().getSchema();
+    }
+}
@@ -0,0 +1,194 @@
+package com.eldar.jsonschema;
+
+import com.eldar.jsonschema.validators.SchemaHandle;
+import com.eldar.jsonschema.validators.SchemaOptions;
+import com.eldar.jsonschema.validators.ValidatorService;
+import com.eldar.jsonschema.validators.engine.CompiledSchema;
+import com.eldar.jsonschema.validators.engine.PojoValueModel;
+import com.eldar.jsonschema.validators.engine.TreeValueModel;
+import com.eldar.jsonschema.validators.engine.ValueModel;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.networknt.schema.JsonSchemaException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Differential test: every compiled schema must accept exactly the payloads networknt accepts.
+ */
+@Tag("unit_test")
+class SchemaCompilerTest {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final ValueModel treeModel = new TreeValueModel();
+    private static ValueModel pojoModel;
+    private static ValidatorService validatorService;
+    private static List<Object> payloads;
+
+    @BeforeAll
+    static void init() throws Exception {
+        validatorService = new ValidatorService();
+        pojoModel = new PojoValueModel(objectMapper);
+        payloads = new ArrayList<>();
+        for (String json : JSON_PAYLOADS) {
+            JsonNode tree = objectMapper.readTree(json);
+            payloads.add(tree);
+            payloads.add(objectMapper.convertValue(tree, Object.class));
+        }
+        payloads.add(new Person("name", 30, List.of("a", "b")));
+        payloads.add(new Person("name", -1, List.of("a", "a")));
+        payloads.add(new Person(null, null, null));
+        payloads.add(Map.of("name", "name", "age", 30L));
+        payloads.add(new int[]{1, 2});
+        payloads.add(new long[]{1, 1});
+        payloads.add(new String[]{"a", ""});
+        payloads.add(5L);
+        payloads.add((short) 7);
+        payloads.add(2.5f);
+        payloads.add(new BigDecimal("2.50"));
+        payloads.add(new BigDecimal("1E+1"));
+        payloads.add(new BigInteger("123456789012345678901234567890"));
+        payloads.add(Double.POSITIVE_INFINITY);
+        payloads.add(Double.NEGATIVE_INFINITY);
+        payloads.add(Long.MAX_VALUE);
+        payloads.add(Long.MIN_VALUE);
+    }
+
+    @ParameterizedTest
+    @MethodSource("compilableSchemasAndOptions")
+    void testCompiledSchema_MatchesNetworknt(String schemaAsString, SchemaOptions options) {
+        SchemaHandle handle = validatorService.getSchema(schemaAsString, options);
+        CompiledSchema compiled = handle.getCompiled();
+        if (compiled == null && options.stopsAtFirstError()) {
+            // type unions and not are left to networknt, which throws on their first failing branch
+            return;
+        }
+        assertNotNull(compiled, "expected schema to compile: " + schemaAsString);
+        for (Object payload : payloads) {
+            JsonNode tree = objectMapper.valueToTree(payload);
+            Boolean expected = outcome(() -> {
+                try {
+                    return handle.getSchema().validate(tree == null ? NullNode.getInstance() : tree).isEmpty();
+                } catch (JsonSchemaException e) {
+                    // a fail-fast schema reports its first error by throwing
+                    if (options.stopsAtFirstError()) {
+                        return false;
+                    }
+                    throw e;
+                }
+            });
+            assertSameOutcome(expected, outcome(() -> compiled.isValid(treeModel, tree)),
+                    () -> "tree model, schema " + schemaAsString + ", " + options + ", payload " + tree);
+            assertSameOutcome(expected, outcome(() -> compiled.isValid(pojoModel, payload)),
+                    () -> "pojo model, schema " + schemaAsString + ", " + options + ", payload " + tree);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"$ref\":\"#/definitions/a\",\"definitions\":{\"a\":{\"type\":\"string\"}}}",
+            "{\"properties\":{\"a\":{\"format\":\"email\"},\"b\":{\"$ref\":\"#/properties/a\"}}}",
+            "{\"oneOf\":[{\"type\":\"string\"},{\"type\":\"integer\"}]}"
+    })
+    void testCompile_UnsupportedRootOrReference_LeftToNetworknt(String schemaAsString) {
+        assertNull(validatorService.getSchema(schemaAsString).getCompiled());
+    }
+
+    /**
+     * A payload networknt fails on (e.g. an infinite double against an enum) must not be accepted.
+     */
+    private static void assertSameOutcome(Boolean expected, Boolean actual, Supplier<String> message) {
+        if (expected == null) {
+            assertNotEquals(Boolean.TRUE, actual, message);
+        } else {
+            assertEquals(expected, actual, message);
+        }
+    }
+
+    private static Boolean outcome(Supplier<Boolean> validation) {
+        try {
+            return validation.get();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Every schema with the default options, with strict types and failing fast.
+     */
+    private static Stream<Arguments> compilableSchemasAndOptions() {
+        List<SchemaOptions> options = List.of(SchemaOptions.DEFAULT, new SchemaOptions(false, false, 0),
+                new SchemaOptions(true, true, 0));
+        return compilableSchemas().flatMap(schema -> options.stream().map(option -> Arguments.of(schema, option)));
+    }
+
+    private static Stream<String> compilableSchemas() {
+        return Stream.of(
+                "{\"type\":\"string\",\"minLength\":2,\"maxLength\":3}",
+                "{\"type\":\"integer\",\"minimum\":0,\"maximum\":10}",
+                "{\"type\":\"number\",\"exclusiveMinimum\":0,\"exclusiveMaximum\":10,\"multipleOf\":0.5}",
+                "{\"type\":[\"string\",\"null\"],\"pattern\":\"^[a-z]+$\"}",
+                "{\"type\":[\"boolean\",\"integer\"]}",
+                "{\"type\":\"array\"}",
+                "{\"enum\":[\"a\",\"10\",1,2.5,true,null,{\"a\":1},[1]]}",
+                "{\"enum\":[10,\"b\"]}",
+                "{\"const\":10}",
+                "{\"const\":\"a\"}",
+                "{\"const\":{\"a\":1}}",
+                "{\"const\":null}",
+                "{\"type\":\"array\",\"minItems\":1,\"maxItems\":2,\"uniqueItems\":true,\"items\":{\"type\":\"integer\"}}",
+                "{\"minItems\":2}",
+                "{\"maxItems\":0}",
+                "{\"type\":\"object\",\"required\":[\"name\"],\"properties\":{\"name\":{\"type\":\"string\"},"
+                        + "\"age\":{\"type\":\"integer\",\"minimum\":0}},\"additionalProperties\":false}",
+                "{\"type\":\"object\",\"additionalProperties\":{\"type\":\"boolean\"},\"minProperties\":1,\"maxProperties\":2}",
+                "{\"properties\":{\"tags\":{\"type\":\"array\",\"items\":{\"type\":\"string\",\"minLength\":1}}}}",
+                "{\"not\":{\"type\":\"string\"}}",
+                "{\"allOf\":[{\"minimum\":1},{\"maximum\":5}]}",
+                "{\"multipleOf\":3}",
+                "{\"minimum\":9007199254740992}",
+                "{\"maximum\":1.5}",
+                "{\"uniqueItems\":true}",
+                "{\"$schema\":\"http://json-schema.org/draft-04/schema#\",\"type\":\"number\",\"minimum\":0,"
+                        + "\"exclusiveMinimum\":true,\"const\":5}",
+                "{\"$schema\":\"http://json-schema.org/draft-07/schema#\",\"type\":\"boolean\"}",
+                // sub-schemas with keywords the compiler does not know are validated by networknt
+                "{\"type\":\"object\",\"properties\":{\"email\":{\"type\":\"string\",\"format\":\"email\"},"
+                        + "\"tags\":{\"oneOf\":[{\"type\":\"array\"},{\"type\":\"string\"}]}}}",
+                "{\"properties\":{\"nested\":{\"patternProperties\":{\"^i\":{\"type\":\"integer\"}}}}}",
+                "{\"properties\":{\"a\":{\"anyOf\":[{\"type\":\"string\"},{\"type\":\"integer\"}]},"
+                        + "\"name\":{\"type\":[\"boolean\",\"integer\"],\"format\":\"email\"}}}",
+                "{\"$schema\":\"http://json-schema.org/draft-04/schema#\",\"items\":{\"maximum\":2,"
+                        + "\"exclusiveMaximum\":true,\"format\":\"int32\"}}"
+        );
+    }
+
+    private static final List<String> JSON_PAYLOADS = List.of(
+            "null", "true", "false", "0", "1", "-1", "2", "7", "10", "2.5", "1e3", "1.0",
+            "9007199254740993", "123456789012345678901234567890", "0.30000000000000004",
+            "\"\"", "\"a\"", "\"abc\"", "\"10\"", "\"2.5\"", "\"true\"", "\"x\\ud83d\\ude00y\"", "\"\\ud83d\\ude00\\ud83d\\ude00\"",
+            "[]", "[1]", "[1,2,3]", "[1,1]", "[1,1.0]", "[\"a\",\"b\"]", "[{\"a\":1},{\"a\":1}]",
+            "{}", "{\"a\":1}", "{\"name\":\"n\"}", "{\"name\":\"n\",\"age\":30}", "{\"name\":1,\"age\":\"30\"}",
+            "{\"name\":\"n\",\"age\":-5,\"extra\":true}", "{\"#meta\":1}", "{\"x\":true,\"y\":false,\"z\":true}",
+            "{\"tags\":[\"a\",\"b\"]}", "{\"tags\":[\"\"]}", "{\"tags\":\"a\"}", "{\"tags\":5}",
+            "{\"nested\":{\"id\":5}}", "{\"nested\":{\"id\":\"x\"}}",
+            "{\"email\":\"a@b.co\"}", "{\"email\":\"nope\"}"
+    );
+
+    public record Person(String name, Integer age, List<String> tags) {
+    }
+}
@@ -0,0 +1,87 @@
+package com.eldar.jsonschema;
+
+import com.eldar.jsonschema.exception.UnProcessableObject;
+import com.eldar.jsonschema.validators.SchemaHandle;
+import com.eldar.jsonschema.validators.SchemaNames;
+import com.eldar.jsonschema.validators.ValidatorService;
+import com.eldar.jsonschema.validators.metrics.InMemoryValidationMetrics;
+import com.eldar.jsonschema.validators.metrics.LatencyHistogram;
+import com.eldar.jsonschema.validators.metrics.MicrometerValidationMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit_test")
+class ValidationMetricsTest {
+    private static final String SCHEMA = "{\"type\":\"object\",\"required\":[\"id\"]}";
+
+    @Test
+    void testInMemoryMetrics_ConversionAndEvaluationRecordedSeparately() {
+        ValidatorService validatorService = new ValidatorService();
+        InMemoryValidationMetrics metrics = new InMemoryValidationMetrics();
+        validatorService.setMetrics(metrics);
+        SchemaHandle handle = validatorService.getSchema(SCHEMA);
+
+        validatorService.validate(handle, Map.of("id", 1));
+        assertThrows(UnProcessableObject.class, () -> validatorService.validate(handle, Map.of()));
+
+        InMemoryValidationMetrics.SchemaMetrics schemaMetrics = metrics.schema(SCHEMA);
+        assertEquals(2, schemaMetrics.validation().count());
+        assertEquals(2, schemaMetrics.conversion().count());
+        assertEquals(2, schemaMetrics.evaluation().count());
+        assertEquals(1, schemaMetrics.failures());
+        assertEquals(1, metrics.schemaLoads().count());
+    }
+
+    @Test
+    void testLatencyHistogram_PercentilesWithinFactorOfTwo() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(100, snapshot.count());
+        assertEquals(50_500, snapshot.meanNanos(), 0.001);
+        long p99 = snapshot.percentileNanos(99);
+        assertTrue(p99 >= 99_000 && p99 < 2 * 99_000, "p99 " + p99);
+    }
+
+    @Test
+    void testMicrometerMetrics_PublishesTimersAndCacheCounters() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ValidatorService validatorService = new ValidatorService();
+        new MicrometerValidationMetrics(registry, validatorService);
+
+        validatorService.validate(SCHEMA, Map.of("id", 1));
+        validatorService.validate(SCHEMA, Map.of("id", 2));
+
+        assertEquals(2, registry.get("validation.schema.validate")
+                .tags("schema", "4f5f8969675e8b49", "outcome", "passed").timer().count());
+        assertEquals(1, registry.get("validation.schema.cache.hits").functionCounter().count());
+        assertEquals(1, registry.get("validation.schema.load").tags("outcome", "loaded").timer().count());
+    }
+
+    @Test
+    void testMicrometerMetrics_SchemasOverTheBound_RecordedAsOther() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ValidatorService validatorService = new ValidatorService();
+        new MicrometerValidationMetrics(registry, validatorService, 1);
+        String other = "{\"type\":\"object\"}";
+
+        validatorService.validate(SCHEMA, Map.of("id", 1));
+        validatorService.validate(other, Map.of("id", 1));
+        validatorService.validate(other, Map.of("id", 2));
+
+        assertEquals(1, registry.get("validation.schema.validate")
+                .tags("schema", SchemaNames.of(SCHEMA), "outcome", "passed").timer().count());
+        assertEquals(2, registry.get("validation.schema.validate")
+                .tags("schema", "other", "outcome", "passed").timer().count());
+        assertNull(registry.find("validation.schema.validate").tags("schema", SchemaNames.of(other)).timer());
+        assertEquals("classpath:/schemas/order.json", SchemaNames.of("{\"$ref\":\"classpath:/schemas/order.json\"}"));
+    }
+}
@@ -0,0 +1,360 @@
+package com.eldar.jsonschema.processor;
+
+import com.eldar.jsonschema.validators.SchemaFactories;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Checks every {@code @ValidatedParam} and {@code @ValidatedReturn} schema while compiling: it must be valid JSON and load with
+ * the same networknt setup as {@code ValidatorService} ({@link SchemaFactories}), otherwise compilation fails on the
+ * parameter.
+ * <p>
+ * The distinct schemas and the validated parameters of each method are written to a generated
+ * {@code SchemaRegistry} implementation, registered under {@code META-INF/services}, which the
+ * aspect reads instead of the parameter annotations. Methods with a parameter using other than the default
+ * schema options, or a {@code ref} to the schema catalog, are left to their annotations. The class is
+ * {@code -Avalidation.registry=<class>}, or else {@value #REGISTRY_NAME} in the longest package common to the
+ * registered methods, so that each module on the classpath generates its own.
+ */
+@SupportedAnnotationTypes({ValidationSchemaProcessor.VALIDATED_PARAM, ValidationSchemaProcessor.VALIDATED_RETURN})
+@SupportedOptions(ValidationSchemaProcessor.REGISTRY_OPTION)
+public class ValidationSchemaProcessor extends AbstractProcessor {
+
+    static final String VALIDATED_PARAM = "com.eldar.jsonschema.validators.annotations.ValidatedParam";
+    static final String VALIDATED_RETURN = "com.eldar.jsonschema.validators.annotations.ValidatedReturn";
+    static final String REGISTRY_OPTION = "validation.registry";
+    static final String REGISTRY_NAME = "GeneratedSchemaRegistry";
+    private static final String REGISTRY_INTERFACE = "com.eldar.jsonschema.validators.registry.SchemaRegistry";
+    /**
+     * Longest schema that still fits a class file string constant once encoded.
+     */
+    private static final int MAX_SCHEMA_LENGTH = 21_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Integer> schemas = new LinkedHashMap<>();
+    private final Map<String, List<Param>> methods = new LinkedHashMap<>();
+    /**
+     * Methods with a schema left out of the registry, resolved from their annotations at runtime.
+     */
+    private final Set<String> unregistered = new HashSet<>();
+    private Elements elements;
+    private Types types;
+    private Messager messager;
+    private Filer filer;
+
+    private record Param(int index, int schema, boolean throwException, boolean cacheResult) {
+    }
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        elements = processingEnv.getElementUtils();
+        types = processingEnv.getTypeUtils();
+        messager = processingEnv.getMessager();
+        filer = processingEnv.getFiler();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            methods.keySet().removeAll(unregistered);
+            if (!methods.isEmpty() && !roundEnv.errorRaised()) {
+                String registry = processingEnv.getOptions().get(REGISTRY_OPTION);
+                if (registry == null) {
+                    registry = defaultRegistry();
+                }
+                if (registry != null) {
+                    writeRegistry(registry);
+                }
+            }
+            return false;
+        }
+        TypeElement validatedReturn = elements.getTypeElement(VALIDATED_RETURN);
+        if (validatedReturn != null) {
+            for (Element method : roundEnv.getElementsAnnotatedWith(validatedReturn)) {
+                AnnotationMirror annotation = findAnnotation(method, validatedReturn);
+                // only checked, return values are resolved from the annotation at runtime
+                normalize((String) value(elements.getElementValuesWithDefaults(annotation), "value"), method,
+                        annotation);
+            }
+        }
+        TypeElement validatedParam = elements.getTypeElement(VALIDATED_PARAM);
+        if (validatedParam == null) {
+            return false;
+        }
+        for (Element element : roundEnv.getElementsAnnotatedWith(validatedParam)) {
+            VariableElement parameter = (VariableElement) element;
+            ExecutableElement method = (ExecutableElement) parameter.getEnclosingElement();
+            AnnotationMirror annotation = findAnnotation(parameter, validatedParam);
+            Map<? extends ExecutableElement, ? extends AnnotationValue> values =
+                    elements.getElementValuesWithDefaults(annotation);
+            if (!((String) value(values, "ref")).isEmpty()) {
+                // catalog schemas are only known at runtime
+                if (!((String) value(values, "value")).isEmpty()) {
+                    messager.printMessage(Diagnostic.Kind.ERROR, "Set either value or ref", parameter, annotation);
+                }
+                unregistered.add(methodKey(method));
+                continue;
+            }
+            String normalized = normalize((String) value(values, "value"), parameter, annotation);
+            if ((Integer) value(values, "maxErrors") < 0) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "maxErrors must not be negative", parameter, annotation);
+            }
+            if ((Integer) value(values, "parallelAbove") < 0) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "parallelAbove must not be negative", parameter,
+                        annotation);
+            }
+            if (normalized == null || !hasDefaultOptions(values)) {
+                unregistered.add(methodKey(method));
+                continue;
+            }
+            int schema = schemas.computeIfAbsent(normalized, key -> schemas.size());
+            methods.computeIfAbsent(methodKey(method), key -> new ArrayList<>())
+                    .add(new Param(method.getParameters().indexOf(parameter), schema,
+                            (Boolean) value(values, "throwException"), (Boolean) value(values, "cacheResult")));
+        }
+        return false;
+    }
+
+    /**
+     * @return the schema as compact JSON, or null after reporting why it cannot be used.
+     */
+    private String normalize(String schema, Element element, AnnotationMirror annotation) {
+        try {
+            JsonNode schemaNode = objectMapper.readTree(schema);
+            if (schemaNode == null || !schemaNode.isObject()) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "JSON schema must be a JSON object: " + schema,
+                        element, annotation);
+                return null;
+            }
+            SchemaFactories.FACTORY.getSchema(schemaNode, SchemaFactories.newConfig(false, true))
+                    .initializeValidators();
+            String normalized = objectMapper.writeValueAsString(schemaNode);
+            if (normalized.length() > MAX_SCHEMA_LENGTH) {
+                messager.printMessage(Diagnostic.Kind.NOTE, "JSON schema too large for the registry, "
+                        + "it is loaded from the annotation at runtime", element, annotation);
+                return null;
+            }
+            return normalized;
+        } catch (Exception e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Invalid JSON schema: " + e.getMessage(), element,
+                    annotation);
+            return null;
+        }
+    }
+
+    /**
+     * Schema variants with other options, streamed collections and raw JSON arguments are resolved from the
+     * annotation at runtime.
+     */
+    private static boolean hasDefaultOptions(Map<? extends ExecutableElement, ? extends AnnotationValue> values) {
+        return !(Boolean) value(values, "failFast") && (Boolean) value(values, "typeLoose")
+                && (Integer) value(values, "maxErrors") == 0 && !(Boolean) value(values, "streamItems")
+                && !(Boolean) value(values, "json");
+    }
+
+    private static AnnotationMirror findAnnotation(Element element, TypeElement annotationType) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (annotation.getAnnotationType().asElement().equals(annotationType)) {
+                return annotation;
+            }
+        }
+        throw new IllegalStateException("No @" + annotationType.getSimpleName() + " on " + element);
+    }
+
+    private static Object value(Map<? extends ExecutableElement, ? extends AnnotationValue> values, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value : values.entrySet()) {
+            if (value.getKey().getSimpleName().contentEquals(name)) {
+                return value.getValue().getValue();
+            }
+        }
+        throw new IllegalStateException("No attribute " + name);
+    }
+
+    /**
+     * Same format as {@code SchemaRegistry.methodKey(Method)}, built from the source model.
+     */
+    private String methodKey(ExecutableElement method) {
+        TypeElement declaringType = (TypeElement) method.getEnclosingElement();
+        return elements.getBinaryName(declaringType) + "#" + method.getSimpleName()
+                + method.getParameters().stream()
+                .map(parameter -> className(types.erasure(parameter.asType())))
+                .collect(Collectors.joining(",", "(", ")"));
+    }
+
+    private String className(TypeMirror type) {
+        return switch (type.getKind()) {
+            case ARRAY -> "[" + descriptor(((ArrayType) type).getComponentType());
+            case DECLARED -> elements.getBinaryName((TypeElement) ((DeclaredType) type).asElement()).toString();
+            default -> type.getKind().name().toLowerCase();
+        };
+    }
+
+    private String descriptor(TypeMirror type) {
+        return switch (type.getKind()) {
+            case ARRAY -> "[" + descriptor(((ArrayType) type).getComponentType());
+            case DECLARED -> "L" + className(type) + ";";
+            case BOOLEAN -> "Z";
+            case BYTE -> "B";
+            case CHAR -> "C";
+            case SHORT -> "S";
+            case INT -> "I";
+            case LONG -> "J";
+            case FLOAT -> "F";
+            case DOUBLE -> "D";
+            default -> throw new IllegalArgumentException("Unexpected parameter type " + type);
+        };
+    }
+
+    /**
+     * {@value #REGISTRY_NAME} in the longest package common to the registered methods, or null after reporting
+     * that the unnamed package would clash with the registry of other modules.
+     */
+    private String defaultRegistry() {
+        String[] common = null;
+        int length = 0;
+        for (String methodKey : methods.keySet()) {
+            String className = methodKey.substring(0, methodKey.indexOf('#'));
+            String[] segments = className.substring(0, Math.max(0, className.lastIndexOf('.'))).split("\\.");
+            if (common == null) {
+                common = segments;
+                length = segments.length;
+            }
+            int matching = 0;
+            while (matching < Math.min(length, segments.length) && common[matching].equals(segments[matching])) {
+                matching++;
+            }
+            length = matching;
+        }
+        if (common == null || length == 0 || common[0].isEmpty()) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "The validated methods share no package to generate the "
+                    + "schema registry in, set -A" + REGISTRY_OPTION + "=<class>");
+            return null;
+        }
+        return String.join(".", Arrays.asList(common).subList(0, length)) + "." + REGISTRY_NAME;
+    }
+
+    private void writeRegistry(String className) {
+        int lastDot = className.lastIndexOf('.');
+        String packageName = lastDot < 0 ? "" : className.substring(0, lastDot);
+        String simpleName = className.substring(lastDot + 1);
+        try {
+            try (Writer writer = filer.createSourceFile(className).openWriter()) {
+                writer.write(registrySource(packageName, simpleName));
+            }
+            try (Writer writer = filer.createResource(StandardLocation.CLASS_OUTPUT, "",
+                    "META-INF/services/" + REGISTRY_INTERFACE).openWriter()) {
+                writer.write(className + "\n");
+            }
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Could not write " + className + ": " + e.getMessage());
+        }
+    }
+
+    private String registrySource(String packageName, String simpleName) {
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("import ").append(REGISTRY_INTERFACE).append(";\n\n")
+                .append("import java.util.List;\n\n")
+                .append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n")
+                .append("public final class ").append(simpleName).append(" implements SchemaRegistry {\n\n")
+                .append("    private static final List<String> SCHEMAS = List.of(");
+        String separator = "\n            ";
+        for (String schema : schemas.keySet()) {
+            source.append(separator).append(literal(schema));
+            separator = ",\n            ";
+        }
+        source.append(");\n\n")
+                .append("    private static final List<MethodEntry> METHODS = List.of(");
+        separator = "\n            ";
+        for (Map.Entry<String, List<Param>> method : methods.entrySet()) {
+            List<Param> params = new ArrayList<>(method.getValue());
+            params.sort(Comparator.comparingInt(Param::index));
+            source.append(separator).append("new MethodEntry(").append(literal(method.getKey()))
+                    .append(", new int[]{").append(join(params, param -> String.valueOf(param.index())))
+                    .append("}, new int[]{").append(join(params, param -> String.valueOf(param.schema())))
+                    .append("}, new boolean[]{").append(join(params, param -> String.valueOf(param.throwException())))
+                    .append("}, new boolean[]{").append(join(params, param -> String.valueOf(param.cacheResult())))
+                    .append("})");
+            separator = ",\n            ";
+        }
+        return source.append(");\n\n")
+                .append("    @Override\n")
+                .append("    public List<String> schemas() {\n")
+                .append("        return SCHEMAS;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public List<MethodEntry> methods() {\n")
+                .append("        return METHODS;\n")
+                .append("    }\n")
+                .append("}\n")
+                .toString();
+    }
+
+    private static String join(List<Param> params, Function<Param, String> field) {
+        return params.stream().map(field).collect(Collectors.joining(", "));
+    }
+
+    private static String literal(String value) {
+        StringBuilder literal = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> literal.append("\\\"");
+                case '\\' -> literal.append("\\\\");
+                case '\n' -> literal.append("\\n");
+                case '\r' -> literal.append("\\r");
+                case '\t' -> literal.append("\\t");
+                default -> {
+                    if (c < 0x20 || c > 0x7e) {
+                        literal.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        literal.append(c);
+                    }
+                }
+            }
+        }
+        return literal.append('"').toString();
+    }
+}
@@ -0,0 +1,140 @@
+package com.eldar.jsonschema.processor;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit_test")
+class ValidationSchemaProcessorTest {
+
+    private static final String VALIDATED_PARAM = """
+            package com.eldar.jsonschema.validators.annotations;
+            @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)
+            @java.lang.annotation.Target(java.lang.annotation.ElementType.PARAMETER)
+            public @interface ValidatedParam {
+                String value() default "";
+                String ref() default "";
+                boolean throwException() default false;
+                boolean cacheResult() default false;
+                boolean failFast() default false;
+                boolean typeLoose() default true;
+                int maxErrors() default 0;
+                boolean streamItems() default false;
+                int parallelAbove() default 0;
+                boolean json() default false;
+            }
+            """;
+
+    private static final String SCHEMA_REGISTRY = """
+            package com.eldar.jsonschema.validators.registry;
+            public interface SchemaRegistry {
+                java.util.List<String> schemas();
+                java.util.List<MethodEntry> methods();
+                record MethodEntry(String methodKey, int[] paramIndexes, int[] schemaIndexes, boolean[] throwExceptions, boolean[] cacheResults) {
+                }
+            }
+            """;
+
+    @TempDir
+    Path output;
+
+    @Test
+    void testProcessor_ValidSchemas_GeneratesDeduplicatedRegistry() throws Exception {
+        DiagnosticCollector<JavaFileObject> diagnostics = compile("""
+                package com.acme;
+                import com.eldar.jsonschema.validators.annotations.ValidatedParam;
+                public class Api {
+                    public String find(@ValidatedParam("{ \\"type\\": \\"string\\" }") String id, int limit,
+                                       @ValidatedParam(value = "{\\"type\\":\\"string\\"}", throwException = true) String[] tags) {
+                        return id;
+                    }
+                }
+                """);
+
+        assertTrue(diagnostics.getDiagnostics().stream().noneMatch(d -> d.getKind() == Diagnostic.Kind.ERROR),
+                diagnostics.getDiagnostics()::toString);
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{output.toUri().toURL()})) {
+            Object registry = loader.loadClass("com.acme." + ValidationSchemaProcessor.REGISTRY_NAME).getConstructor().newInstance();
+            assertEquals(List.of("{\"type\":\"string\"}"), registry.getClass().getMethod("schemas").invoke(registry));
+            List<?> methods = (List<?>) registry.getClass().getMethod("methods").invoke(registry);
+            assertEquals(1, methods.size());
+            assertTrue(methods.get(0).toString().contains("com.acme.Api#find(java.lang.String,int,[Ljava.lang.String;)"));
+        }
+        assertEquals("com.acme." + ValidationSchemaProcessor.REGISTRY_NAME, Files.readString(
+                output.resolve("META-INF/services/com.eldar.jsonschema.validators.registry.SchemaRegistry")).trim());
+    }
+
+    @Test
+    void testProcessor_InvalidSchema_FailsCompilation() throws Exception {
+        DiagnosticCollector<JavaFileObject> diagnostics = compile("""
+                package com.acme;
+                import com.eldar.jsonschema.validators.annotations.ValidatedParam;
+                public class Api {
+                    public String find(@ValidatedParam("{\\"type\\":\\"string\\",\\"pattern\\":\\"[\\"}") String id) {
+                        return id;
+                    }
+                }
+                """);
+
+        assertTrue(diagnostics.getDiagnostics().stream().anyMatch(d -> d.getKind() == Diagnostic.Kind.ERROR
+                && d.getMessage(null).startsWith("Invalid JSON schema")), diagnostics.getDiagnostics()::toString);
+        assertFalse(Files.exists(output.resolve("com/acme/GeneratedSchemaRegistry.class")));
+    }
+
+    @Test
+    void testProcessor_UnnamedPackage_RequiresRegistryOption() throws Exception {
+        DiagnosticCollector<JavaFileObject> diagnostics = compile("""
+                import com.eldar.jsonschema.validators.annotations.ValidatedParam;
+                public class Api {
+                    public String find(@ValidatedParam("{\\"type\\":\\"string\\"}") String id) {
+                        return id;
+                    }
+                }
+                """);
+
+        assertTrue(diagnostics.getDiagnostics().stream().anyMatch(d -> d.getKind() == Diagnostic.Kind.ERROR
+                && d.getMessage(null).contains("-Avalidation.registry")), diagnostics.getDiagnostics()::toString);
+    }
+
+    private DiagnosticCollector<JavaFileObject> compile(String source) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
+            fileManager.setLocationFromPaths(StandardLocation.CLASS_OUTPUT, List.of(output));
+            fileManager.setLocationFromPaths(StandardLocation.SOURCE_OUTPUT, List.of(output));
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, null,
+                    null, List.of(source("ValidatedParam", VALIDATED_PARAM), source("SchemaRegistry", SCHEMA_REGISTRY),
+                            source("Api", source)));
+            task.setProcessors(List.of(new ValidationSchemaProcessor()));
+            task.call();
+        }
+        return diagnostics;
+    }
+
+    private static JavaFileObject source(String name, String code) {
+        return new SimpleJavaFileObject(URI.create("string:///" + name + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return code;
+            }
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package com.eldar.jsonschema.spring;
+
+import com.eldar.jsonschema.validators.mode.ModeRules;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Reads the {@link com.eldar.jsonschema.validators.mode.ValidationModes} rules from the {@link Environment}:
+ * <pre>
+ * validation.mode.default=always
+ * validation.mode.escalation=60s
+ * validation.mode.rules[com.acme.orders]=sampled:10
+ * validation.mode.rules[com.acme.orders.OrderApi#find]=off
+ * </pre>
+ * The brackets keep the case of class names.
+ */
+@RequiredArgsConstructor
+public class EnvironmentModeRules implements Supplier<ModeRules> {
+
+    public static final String PREFIX = "validation.mode";
+
+    private final Environment environment;
+
+    @Override
+    public ModeRules get() {
+        Binder binder = Binder.get(environment);
+        return new ModeRules(
+                binder.bind(PREFIX + ".default", String.class).orElse(ModeRules.NONE.defaultMode()),
+                binder.bind(PREFIX + ".escalation", Duration.class).orElse(ModeRules.DEFAULT_ESCALATION),
+                binder.bind(PREFIX + ".rules", Bindable.mapOf(String.class, String.class)).orElse(Map.of()));
+    }
+}
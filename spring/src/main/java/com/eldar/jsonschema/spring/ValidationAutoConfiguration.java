@@ -0,0 +1,138 @@
+package com.eldar.jsonschema.spring;
+
+import com.eldar.jsonschema.validators.ValidatorService;
+import com.eldar.jsonschema.validators.aspect.ValidationAspect;
+import com.eldar.jsonschema.validators.cache.CaffeineSchemaCache;
+import com.eldar.jsonschema.validators.cache.ValidationResultCache;
+import com.eldar.jsonschema.validators.catalog.SchemaCatalog;
+import com.eldar.jsonschema.validators.metrics.MicrometerValidationMetrics;
+import com.eldar.jsonschema.validators.mode.ValidationModes;
+import com.eldar.jsonschema.validators.overload.OverloadController;
+import com.eldar.jsonschema.validators.overload.OverloadPolicy;
+import com.eldar.jsonschema.validators.profile.KeywordProfiler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ResourceLoader;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Registers {@link ValidationAspect} as a Spring AOP aspect, along with the {@link ValidatorService},
+ * {@link ValidationModes} and {@link ValidationWarmUp} it works with. An {@link Executor} bean named
+ * {@code validationExecutor} validates the arguments of asynchronous methods, and a {@link MeterRegistry}
+ * bean gets the validation metrics, with meters of their own for {@code validation.metrics.max-schemas}
+ * schemas. The schemas under {@code validation.schemas.locations}
+ * ({@code classpath:} or {@code file:} directories) are loaded into the {@link SchemaCatalog} at startup, and
+ * {@code validation.stackless-rejections=true} makes the rejections handled by the aspect skip their stack trace.
+ * Setting {@code validation.overload.budget} (a duration) adds an {@link OverloadController}, tuned by
+ * {@code validation.overload.max-in-flight}, {@code degrade-interval}, {@code restore-after} and
+ * {@code restore-ratio}.
+ * The {@link KeywordProfiler} of the service is a bean too, exported over JMX with the modes when
+ * {@code spring.jmx.enabled=true}; {@code validation.profiler.enabled=true} starts it with the application.
+ * <p>
+ * Do not combine with AspectJ weaving of the same classes, which would validate every call twice.
+ */
+@AutoConfiguration(afterName = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
+@EnableAspectJAutoProxy
+public class ValidationAutoConfiguration {
+
+    static final String SCHEMA_LOCATIONS = "validation.schemas.locations";
+    static final String OVERLOAD = "validation.overload";
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ValidatorService validatorService(Environment environment, ResourceLoader resourceLoader) {
+        List<String> locations = Binder.get(environment)
+                .bind(SCHEMA_LOCATIONS, Bindable.listOf(String.class))
+                .orElse(List.of());
+        ValidatorService validatorService = new ValidatorService(new CaffeineSchemaCache(),
+                new ValidationResultCache(), SchemaCatalog.load(resourceLoader.getClassLoader(), locations));
+        validatorService.setStacklessRejections(
+                environment.getProperty("validation.stackless-rejections", Boolean.class, false));
+        return validatorService;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ValidationModes validationModes(Environment environment) {
+        return new ValidationModes(new EnvironmentModeRules(environment));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public KeywordProfiler keywordProfiler(ValidatorService validatorService, Environment environment) {
+        KeywordProfiler profiler = validatorService.getProfiler();
+        if (environment.getProperty("validation.profiler.enabled", Boolean.class, false)) {
+            profiler.start();
+        }
+        return profiler;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(OVERLOAD + ".budget")
+    public OverloadController overloadController(Environment environment, ValidatorService validatorService) {
+        Binder binder = Binder.get(environment);
+        OverloadPolicy policy = OverloadPolicy.of(binder.bind(OVERLOAD + ".budget", Duration.class).get())
+                .withMaxInFlight(binder.bind(OVERLOAD + ".max-in-flight", Integer.class).orElse(0))
+                .withDegradeInterval(binder.bind(OVERLOAD + ".degrade-interval", Duration.class)
+                        .orElse(OverloadPolicy.DEFAULT_DEGRADE_INTERVAL))
+                .withRestoreAfter(binder.bind(OVERLOAD + ".restore-after", Duration.class)
+                        .orElse(OverloadPolicy.DEFAULT_RESTORE_AFTER))
+                .withRestoreRatio(binder.bind(OVERLOAD + ".restore-ratio", Double.class)
+                        .orElse(OverloadPolicy.DEFAULT_RESTORE_RATIO));
+        return new OverloadController(policy, validatorService);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ValidationAspect validationAspect(ValidatorService validatorService, ValidationModes validationModes,
+                                             @Qualifier("validationExecutor") ObjectProvider<Executor> validationExecutor,
+                                             ObjectProvider<OverloadController> overloadController) {
+        ValidationAspect validationAspect = new ValidationAspect(validatorService);
+        validationAspect.setValidationModes(validationModes);
+        validationExecutor.ifAvailable(validationAspect::setAsyncExecutor);
+        overloadController.ifAvailable(validationAspect::setOverloadController);
+        return validationAspect;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ValidationWarmUp validationWarmUp(ListableBeanFactory beanFactory, ValidationAspect validationAspect,
+                                             Environment environment) {
+        return new ValidationWarmUp(beanFactory, validationAspect,
+                environment.getProperty("validation.warm-up.enabled", Boolean.class, true),
+                environment.getProperty("validation.warm-up.fail-on-error", Boolean.class, false));
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterRegistry.class)
+    static class MetricsConfiguration {
+
+        @Bean
+        @ConditionalOnBean(MeterRegistry.class)
+        @ConditionalOnMissingBean
+        public MicrometerValidationMetrics micrometerValidationMetrics(MeterRegistry meterRegistry,
+                                                                       ValidatorService validatorService,
+                                                                       Environment environment) {
+            return new MicrometerValidationMetrics(meterRegistry, validatorService,
+                    environment.getProperty("validation.metrics.max-schemas", Integer.class,
+                            MicrometerValidationMetrics.DEFAULT_MAX_SCHEMAS));
+        }
+    }
+}
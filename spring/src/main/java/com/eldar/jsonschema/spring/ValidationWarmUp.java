@@ -0,0 +1,98 @@
+package com.eldar.jsonschema.spring;
+
+import com.eldar.jsonschema.validators.annotations.ValidatedMethod;
+import com.eldar.jsonschema.validators.annotations.ValidatedParam;
+import com.eldar.jsonschema.validators.annotations.ValidatedReturn;
+import com.eldar.jsonschema.validators.aspect.ValidationAspect;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Once every singleton is created, finds the bean methods carrying {@link ValidatedMethod},
+ * {@link ValidatedParam} or {@link ValidatedReturn} and builds their validation plans in parallel, so the
+ * schemas are parsed and compiled before the first request rather than on it.
+ * <p>
+ * Broken schemas are logged; with {@code validation.warm-up.fail-on-error=true} they abort startup.
+ * The whole phase can be turned off with {@code validation.warm-up.enabled=false}.
+ */
+@Slf4j
+public class ValidationWarmUp implements SmartInitializingSingleton {
+
+    private final ListableBeanFactory beanFactory;
+    private final ValidationAspect validationAspect;
+    private final boolean enabled;
+    private final boolean failOnError;
+
+    public ValidationWarmUp(ListableBeanFactory beanFactory, ValidationAspect validationAspect,
+                            boolean enabled, boolean failOnError) {
+        this.beanFactory = beanFactory;
+        this.validationAspect = validationAspect;
+        this.enabled = enabled;
+        this.failOnError = failOnError;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        Set<Method> methods = findValidatedMethods();
+        List<String> failures = methods.parallelStream()
+                .map(this::prepare)
+                .filter(Objects::nonNull)
+                .toList();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Validation warm-up prepared {} methods in {} ms, {} failed", methods.size(), elapsedMillis,
+                failures.size());
+        if (!failures.isEmpty() && failOnError) {
+            throw new IllegalStateException("Invalid validation schemas: " + String.join("; ", failures));
+        }
+    }
+
+    private Set<Method> findValidatedMethods() {
+        Set<Method> methods = new LinkedHashSet<>();
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            Class<?> beanType = beanFactory.getType(beanName, false);
+            if (beanType != null) {
+                ReflectionUtils.doWithMethods(ClassUtils.getUserClass(beanType), methods::add,
+                        ValidationWarmUp::isValidated);
+            }
+        }
+        return methods;
+    }
+
+    private String prepare(Method method) {
+        try {
+            validationAspect.prepare(method);
+            return null;
+        } catch (RuntimeException e) {
+            log.error("Validation warm-up failed for method: {}", method, e);
+            return method.getDeclaringClass().getSimpleName() + "." + method.getName() + ": " + e.getMessage();
+        }
+    }
+
+    private static boolean isValidated(Method method) {
+        if (method.isAnnotationPresent(ValidatedMethod.class) || method.isAnnotationPresent(ValidatedReturn.class)) {
+            return true;
+        }
+        for (Annotation[] annotations : method.getParameterAnnotations()) {
+            for (Annotation annotation : annotations) {
+                if (annotation.annotationType() == ValidatedParam.class) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
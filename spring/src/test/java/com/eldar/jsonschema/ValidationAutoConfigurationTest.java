@@ -0,0 +1,44 @@
+package com.eldar.jsonschema;
+
+import com.eldar.jsonschema.exception.UnProcessableObject;
+import com.eldar.jsonschema.spring.ValidationAutoConfiguration;
+import com.eldar.jsonschema.validators.ValidatorService;
+import com.eldar.jsonschema.validators.annotations.ValidatedParam;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit_test")
+class ValidationAutoConfigurationTest {
+
+    @Test
+    void testAutoConfiguration_ProxiesValidatedBeans() {
+        try (AnnotationConfigApplicationContext context =
+                     new AnnotationConfigApplicationContext(ApiConfiguration.class, ValidationAutoConfiguration.class)) {
+            // the four built-in schemas plus the one on Api, compiled by the warm-up
+            assertEquals(5, context.getBean(ValidatorService.class).getSchemaCacheStats().estimatedSize());
+
+            Api api = context.getBean(Api.class);
+            assertEquals("abc", api.find("abc"));
+            assertThrows(UnProcessableObject.class, () -> api.find("too long for the schema"));
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class ApiConfiguration {
+        @Bean
+        Api api() {
+            return new Api();
+        }
+    }
+
+    public static class Api {
+        public String find(@ValidatedParam(value = "{\"type\":\"string\",\"maxLength\":8}", throwException = true) String id) {
+            return id;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.eldar.jsonschema;
+
+import com.eldar.jsonschema.spring.EnvironmentModeRules;
+import com.eldar.jsonschema.validators.mode.ModeSwitch;
+import com.eldar.jsonschema.validators.mode.ValidationMode;
+import com.eldar.jsonschema.validators.mode.ValidationModes;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit_test")
+class ValidationModesTest {
+
+    @Test
+    void testSwitchFor_MostSpecificRuleWins() throws Exception {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("validation.mode.rules[com.eldar]", "off");
+        properties.put("validation.mode.rules[com.eldar.jsonschema.ValidationModesTest$Api]", "sampled:0");
+        properties.put("validation.mode.rules[com.eldar.jsonschema.ValidationModesTest$Api#find]", "always");
+        ValidationModes modes = new ValidationModes(rules(properties));
+
+        assertEquals(ValidationMode.ALWAYS, modes.switchFor(method("find")).getMode());
+        assertEquals(ValidationMode.SAMPLED, modes.switchFor(method("list")).getMode());
+        assertEquals(ValidationMode.OFF, modes.switchFor(ValidationModesTest.class.getDeclaredMethod("method", String.class)).getMode());
+        assertEquals(ValidationMode.ALWAYS, modes.switchFor(Object.class.getMethod("hashCode")).getMode());
+    }
+
+    @Test
+    void testSetMode_AppliedToExistingSwitchesAndSurvivesRefresh() throws Exception {
+        ValidationModes modes = new ValidationModes(rules(Map.of("validation.mode.default", "off")));
+        ModeSwitch modeSwitch = modes.switchFor(method("find"));
+        assertFalse(modeSwitch.shouldValidate());
+
+        modes.setMode("com.eldar.jsonschema", "always");
+        modes.refresh();
+        assertTrue(modeSwitch.shouldValidate());
+
+        modes.clearMode("com.eldar.jsonschema");
+        assertFalse(modeSwitch.shouldValidate());
+        assertEquals(2, modes.getSkippedCounts().get("com.eldar.jsonschema.ValidationModesTest$Api#find(java.lang.String)"));
+        assertThrows(IllegalArgumentException.class, () -> modes.setMode("com.eldar", "sampled:200"));
+    }
+
+    @Test
+    void testSampled_FailureEscalatesToEveryCall() throws Exception {
+        ValidationModes modes = new ValidationModes(rules(Map.of("validation.mode.default", "sampled:0",
+                "validation.mode.escalation", "1h")));
+        ModeSwitch modeSwitch = modes.switchFor(method("find"));
+        assertFalse(modeSwitch.shouldValidate());
+
+        modeSwitch.failed();
+
+        assertTrue(modeSwitch.shouldValidate());
+        assertEquals(ValidationMode.ALWAYS, modeSwitch.getMode());
+    }
+
+    private static Method method(String name) throws NoSuchMethodException {
+        return Api.class.getMethod(name, String.class);
+    }
+
+    private static EnvironmentModeRules rules(Map<String, Object> properties) {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+        return new EnvironmentModeRules(environment);
+    }
+
+    public static class Api {
+        public String find(String id) {
+            return id;
+        }
+
+        public String list(String filter) {
+            return filter;
+        }
+    }
+}
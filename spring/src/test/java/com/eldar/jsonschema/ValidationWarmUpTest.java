@@ -0,0 +1,81 @@
+package com.eldar.jsonschema;
+
+import com.eldar.jsonschema.validators.ValidatorService;
+import com.eldar.jsonschema.validators.annotations.ValidatedParam;
+import com.eldar.jsonschema.validators.annotations.ValidatedReturn;
+import com.eldar.jsonschema.validators.aspect.ValidationAspect;
+import com.eldar.jsonschema.spring.ValidationWarmUp;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit_test")
+class ValidationWarmUpTest {
+
+    @Test
+    void testWarmUp_ValidSchemas_CompilesThemAhead() {
+        ValidatorService validatorService = new ValidatorService();
+        ValidationWarmUp warmUp = new ValidationWarmUp(beanFactoryWith(ValidBean.class),
+                new ValidationAspect(validatorService), true, true);
+
+        warmUp.afterSingletonsInstantiated();
+
+        // the four built-in schemas resolved by the aspect plus the one on ValidBean
+        assertEquals(5, validatorService.getSchemaCacheStats().estimatedSize());
+    }
+
+    @Test
+    void testWarmUp_ReturnSchemaOnly_CompiledAhead() {
+        ValidatorService validatorService = new ValidatorService();
+        ValidationWarmUp warmUp = new ValidationWarmUp(beanFactoryWith(ReturnBean.class),
+                new ValidationAspect(validatorService), true, true);
+
+        warmUp.afterSingletonsInstantiated();
+
+        assertEquals(5, validatorService.getSchemaCacheStats().estimatedSize());
+    }
+
+    @Test
+    void testWarmUp_BrokenSchema_FailsStartup() {
+        ValidationWarmUp warmUp = new ValidationWarmUp(beanFactoryWith(BrokenBean.class),
+                new ValidationAspect(new ValidatorService()), true, true);
+
+        assertThrows(IllegalStateException.class, warmUp::afterSingletonsInstantiated);
+    }
+
+    @Test
+    void testWarmUp_BrokenSchema_OnlyLoggedByDefault() {
+        ValidationWarmUp warmUp = new ValidationWarmUp(beanFactoryWith(BrokenBean.class),
+                new ValidationAspect(new ValidatorService()), true, false);
+
+        assertDoesNotThrow(warmUp::afterSingletonsInstantiated);
+    }
+
+    private static DefaultListableBeanFactory beanFactoryWith(Class<?> beanClass) {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("bean", new RootBeanDefinition(beanClass));
+        return beanFactory;
+    }
+
+    public static class ValidBean {
+        public String shortText(@ValidatedParam("{\"type\":\"string\",\"maxLength\":8}") String text) {
+            return text;
+        }
+    }
+
+    public static class ReturnBean {
+        @ValidatedReturn("{\"type\":\"string\",\"minLength\":1}")
+        public String name() {
+            return "name";
+        }
+    }
+
+    public static class BrokenBean {
+        public String broken(@ValidatedParam("{\"type\":") String text) {
+            return text;
+        }
+    }
+}